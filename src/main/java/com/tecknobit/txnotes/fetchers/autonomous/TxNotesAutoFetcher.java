@@ -65,32 +65,45 @@ public abstract class TxNotesAutoFetcher extends TxNotesFetcher implements Routi
             public void run() {
                 super.run();
                 try {
+                    int failures = 0;
                     while (true) {
                         while (runningFetcher) {
-                            printLog("FETCHING", ANSI_GREEN);
-                            fetchTxNotesList();
-                            if (printRoutineMessages) {
-                                Collection<TxNote> notes = getTxNotesFetched();
-                                if (notes.size() > 0) {
-                                    printLog("### Transaction notes list", ANSI_RED);
-                                    for (TxNote txNote : notes)
-                                        txNote.printDetails();
-                                } else
-                                    printLog("Empty notes list");
-                                Collection<Wallet> wallets = getWallets();
-                                if (wallets.size() > 0) {
-                                    printLog("### Wallet list", ANSI_RED);
-                                    for (Wallet wallet : wallets)
-                                        wallet.printDetails();
-                                } else
-                                    printLog("Empty wallet list");
+                            long refreshTime;
+                            try {
+                                printLog("FETCHING", ANSI_GREEN);
+                                if (!callDependency(exchangeBreaker, () -> {
+                                    fetchTxNotesList();
+                                    return true;
+                                }))
+                                    exchangeBreaker.printFailure(TxNotesAutoFetcher.this);
+                                if (printRoutineMessages) {
+                                    Collection<TxNote> notes = getTxNotesFetched();
+                                    if (notes.size() > 0) {
+                                        printLog("### Transaction notes list", ANSI_RED);
+                                        for (TxNote txNote : notes)
+                                            txNote.printDetails();
+                                    } else
+                                        printLog("Empty notes list");
+                                    Collection<Wallet> wallets = getWallets();
+                                    if (wallets.size() > 0) {
+                                        printLog("### Wallet list", ANSI_RED);
+                                        for (Wallet wallet : wallets)
+                                            wallet.printDetails();
+                                    } else
+                                        printLog("Empty wallet list");
+                                }
+                                refreshTime = computeNextRefreshTime();
+                                failures = 0;
+                            } catch (RuntimeException e) {
+                                refreshTime = computeCycleBackoff(++failures);
+                                printRed("Refresh cycle failed, next attempt in " + refreshTime + " ms: " + e);
                             }
-                            sleep(fetcherPlatform.getRefreshTime());
+                            sleep(refreshTime);
                         }
                         printLog("WAITING", ANSI_RED);
                         sleep(1000);
                     }
-                } catch (Exception e) {
+                } catch (InterruptedException e) {
                     printRed(e.getMessage());
                 }
             }
@@ -103,14 +116,12 @@ public abstract class TxNotesAutoFetcher extends TxNotesFetcher implements Routi
      *
      * @return list as {@link Collection} of {@link TxNote}
      * @throws Exception when an operation fails
-     * @apiNote if {@link #autoLoadWalletList} is set to true will be automatically call {@link #loadWalletList()} method
+     * @apiNote if {@link #autoLoadWalletList} is set to true also the wallets will be automatically loaded as made by
+     * {@link #loadWalletList()} method, and the notes and the wallets will be published together
      **/
     @Override
     public Collection<TxNote> fetchTxNotesList() throws Exception {
-        Collection<TxNote> txNotes = super.fetchTxNotesList();
-        if (autoLoadWalletList)
-            loadWalletList();
-        return txNotes;
+        return refreshData(autoLoadWalletList).getTxNotes();
     }
 
     /**
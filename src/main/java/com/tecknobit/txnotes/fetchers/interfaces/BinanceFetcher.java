@@ -1,6 +1,7 @@
 package com.tecknobit.txnotes.fetchers.interfaces;
 
 import com.tecknobit.traderbot.traders.interfaces.BinanceTraderBot;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
 import com.tecknobit.txnotes.records.TxNote;
 
 import java.util.Collection;
@@ -77,6 +78,17 @@ public class BinanceFetcher extends TxNotesFetcher {
         super(new BinanceTraderBot(apiKey, secretKey, baseEndpoint, refreshTime), baseCurrency);
     }
 
+    /**
+     * Constructor to init {@link BinanceFetcher} without waiting for the creation of the {@link BinanceTraderBot}
+     *
+     * @param platformLoader: loader of the {@link BinanceTraderBot} to use
+     * @param baseCurrency    : base currency to get all amount value of traders routine es. EUR
+     * @apiNote useful with {@link TxNotesFetcherFactory}
+     **/
+    public BinanceFetcher(TxNotesLazyInit<? extends BinanceTraderBot> platformLoader, String baseCurrency) {
+        super(platformLoader, BinanceTraderBot.class.getName(), baseCurrency);
+    }
+
     /**
      * This method is used to assemble a {@link TxNote}'s list fetched from your Binance's account<br>
      * Any params required
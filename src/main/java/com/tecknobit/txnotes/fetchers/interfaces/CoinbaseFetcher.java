@@ -1,6 +1,7 @@
 package com.tecknobit.txnotes.fetchers.interfaces;
 
 import com.tecknobit.traderbot.traders.interfaces.CoinbaseTraderBot;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
 import com.tecknobit.txnotes.records.TxNote;
 
 import java.util.Collection;
@@ -144,6 +145,17 @@ public class CoinbaseFetcher extends TxNotesFetcher {
         super(new CoinbaseTraderBot(apiKey, apiSecret, passphrase, refreshTime), baseCurrency);
     }
 
+    /**
+     * Constructor to init {@link CoinbaseFetcher} without waiting for the creation of the {@link CoinbaseTraderBot}
+     *
+     * @param platformLoader: loader of the {@link CoinbaseTraderBot} to use
+     * @param baseCurrency    : base currency to get all amount value of traders routine es. EUR
+     * @apiNote useful with {@link TxNotesFetcherFactory}
+     **/
+    public CoinbaseFetcher(TxNotesLazyInit<? extends CoinbaseTraderBot> platformLoader, String baseCurrency) {
+        super(platformLoader, CoinbaseTraderBot.class.getName(), baseCurrency);
+    }
+
     /**
      * This method is used to assemble a {@link TxNote}'s list fetched from your Coinbase's account<br>
      * Any params required
@@ -0,0 +1,233 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.TxNotesSnapshot;
+import com.tecknobit.txnotes.records.Wallet;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.BUY;
+
+/**
+ * The {@code TxNotesClusterLauncher} class is useful to check a cluster of {@link TxNotesClusterNode} on the loopback
+ * address without any exchange <br>
+ * It starts some nodes that share the same accounts and checks that:
+ * <ul>
+ *     <li>each account is owned by one node only</li>
+ *     <li>when a node is closed its accounts are handed over to the other nodes with their data</li>
+ * </ul>
+ * Run it with {@code java TxNotesClusterLauncher [first port] [nodes] [accounts]}, es. {@code 7001 3 12}, the process
+ * exits with status {@code 0} when all the checks are passed
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the fetchers of the accounts have no platform, so their refreshes fail and are retried after a backoff,
+ * while the data given to them are kept and handed over; the messages are signed with a shared secret
+ **/
+
+public class TxNotesClusterLauncher {
+
+    /**
+     * {@code HEARTBEAT_INTERVAL} is instance that memorizes time in milliseconds between two heartbeats of the nodes
+     **/
+    private static final long HEARTBEAT_INTERVAL = 200;
+
+    /**
+     * {@code CHECK_TIMEOUT} is instance that memorizes max time in milliseconds to wait for a check to be passed
+     **/
+    private static final long CHECK_TIMEOUT = 15000;
+
+    /**
+     * {@code NOTE_BUY_DATE} is instance that memorizes buy date of the note given to each account
+     **/
+    private static final long NOTE_BUY_DATE = 1672531200000L;
+
+    /**
+     * Constructor to init {@link TxNotesClusterLauncher}
+     *
+     * @apiNote this class has only the {@link #main(String[])} method
+     **/
+    private TxNotesClusterLauncher() {
+    }
+
+    /**
+     * This method is used to start the nodes and to run the checks
+     *
+     * @param args: first port, number of nodes and number of accounts, all optional
+     * @throws Exception when a node cannot be started
+     **/
+    public static void main(String[] args) throws Exception {
+        int firstPort = args.length > 0 ? Integer.parseInt(args[0]) : 7001;
+        int nodesNumber = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int accountsNumber = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        if (nodesNumber < 2)
+            throw new IllegalArgumentException("At least two nodes are required to check the handover");
+        ArrayList<Integer> ports = new ArrayList<>();
+        for (int j = 0; j < nodesNumber; j++)
+            ports.add(firstPort + j);
+        ArrayList<String> accounts = new ArrayList<>();
+        for (int j = 0; j < accountsNumber; j++)
+            accounts.add("account-" + j);
+        byte[] secret = "txnotes-cluster-launcher".getBytes(StandardCharsets.UTF_8);
+        ArrayList<TxNotesClusterNode> nodes = new ArrayList<>();
+        boolean passed = false;
+        try {
+            for (int port : ports)
+                nodes.add(createNode(port, ports, secret));
+            for (TxNotesClusterNode node : nodes) {
+                for (String account : accounts)
+                    node.addAccount(account);
+                node.start();
+            }
+            passed = check("every node sees " + nodesNumber + " nodes", () -> {
+                for (TxNotesClusterNode node : nodes)
+                    if (node.getNodes().size() != nodesNumber)
+                        return false;
+                return true;
+            });
+            passed &= check("each account is owned by one node", () -> isOwnedOnce(nodes, accounts));
+            if (passed) {
+                for (TxNotesClusterNode node : nodes)
+                    for (String account : node.getOwnedAccounts())
+                        node.getFetcher(account).restoreSnapshot(createSnapshot(account));
+                TxNotesClusterNode leaving = nodes.remove(0);
+                Set<String> moved = leaving.getOwnedAccounts();
+                leaving.close();
+                out("node " + leaving.getNodeId() + " closed, accounts to hand over: " + moved);
+                passed = check("the accounts are owned again by one node", () -> isOwnedOnce(nodes, accounts));
+                passed &= check("the accounts handed over kept their data", () -> {
+                    for (String account : moved) {
+                        TxNotesFetcher fetcher = getFetcher(nodes, account);
+                        if (fetcher == null || fetcher.getSnapshot().getTxNote(account, NOTE_BUY_DATE) == null)
+                            return false;
+                    }
+                    return true;
+                });
+            }
+        } finally {
+            for (TxNotesClusterNode node : nodes) {
+                try {
+                    node.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        out(passed ? "All checks passed" : "Checks failed");
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * This method is used to create a node of the cluster
+     *
+     * @param port:   port of the node
+     * @param ports:  ports of all the nodes
+     * @param secret: secret shared by the nodes
+     * @return node as {@link TxNotesClusterNode}
+     **/
+    private static TxNotesClusterNode createNode(int port, List<Integer> ports, byte[] secret) {
+        ArrayList<InetSocketAddress> peers = new ArrayList<>();
+        for (int peer : ports)
+            peers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), peer));
+        return new TxNotesClusterNode(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), peers,
+                TxNotesClusterLauncher::createFetcher, HEARTBEAT_INTERVAL, secret);
+    }
+
+    /**
+     * This method is used to create the fetcher of an account
+     *
+     * @param account: identifier of the account
+     * @return fetcher without platform as {@link TxNotesFetcher}
+     **/
+    private static TxNotesFetcher createFetcher(String account) {
+        return new TxNotesFetcher(new TxNotesLazyInit<>(() -> {
+            throw new IllegalStateException("No exchange is available for " + account);
+        }), TxNotesClusterLauncher.class.getName(), "USDT") {
+        };
+    }
+
+    /**
+     * This method is used to create the data given to the fetcher of an account
+     *
+     * @param account: identifier of the account, used also as asset of its note
+     * @return data as {@link TxNotesSnapshot}
+     **/
+    private static TxNotesSnapshot createSnapshot(String account) {
+        TxNote txNote = new TxNote(account + "USDT", BUY, NOTE_BUY_DATE, 100, 1, 100, account, "USDT");
+        LinkedHashMap<String, TxNote> txNotes = new LinkedHashMap<>();
+        txNotes.put(account + NOTE_BUY_DATE, txNote);
+        LinkedHashMap<String, Wallet> wallets = new LinkedHashMap<>();
+        wallets.put(account, new Wallet(account, account, 100, 0, Collections.singletonList(txNote)));
+        return new TxNotesSnapshot(0, txNotes, wallets);
+    }
+
+    /**
+     * This method is used to check if each account is owned by one node only
+     *
+     * @param nodes:    nodes of the cluster
+     * @param accounts: accounts of the cluster
+     * @return whether each account is owned by one node only as boolean
+     **/
+    private static boolean isOwnedOnce(List<TxNotesClusterNode> nodes, List<String> accounts) {
+        for (String account : accounts) {
+            int owners = 0;
+            for (TxNotesClusterNode node : nodes)
+                if (node.getFetcher(account) != null)
+                    owners++;
+            if (owners != 1)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method is used to get the fetcher of an account from the node that owns it
+     *
+     * @param nodes:   nodes of the cluster
+     * @param account: identifier of the account
+     * @return fetcher as {@link TxNotesFetcher}, null if no node owns the account
+     **/
+    private static TxNotesFetcher getFetcher(List<TxNotesClusterNode> nodes, String account) {
+        for (TxNotesClusterNode node : nodes) {
+            TxNotesFetcher fetcher = node.getFetcher(account);
+            if (fetcher != null)
+                return fetcher;
+        }
+        return null;
+    }
+
+    /**
+     * This method is used to wait for a check to be passed
+     *
+     * @param description: description of the check
+     * @param check:       check to wait for
+     * @return whether the check has been passed before {@link #CHECK_TIMEOUT} as boolean
+     * @throws InterruptedException when the current thread is interrupted while waiting
+     **/
+    private static boolean check(String description, BooleanSupplier check) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + CHECK_TIMEOUT;
+        while (!check.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                out("[FAILED] " + description);
+                return false;
+            }
+            Thread.sleep(HEARTBEAT_INTERVAL);
+        }
+        out("[OK] " + description);
+        return true;
+    }
+
+    /**
+     * This method is used to print a message of the checks
+     *
+     * @param message: message to print
+     **/
+    private static void out(String message) {
+        System.out.println(message);
+    }
+
+}
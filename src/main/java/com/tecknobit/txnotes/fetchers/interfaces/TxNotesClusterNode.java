@@ -0,0 +1,945 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesHashRing;
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.TxNotesSnapshot;
+import com.tecknobit.txnotes.records.TxNotesValueSeries;
+import com.tecknobit.txnotes.records.TxNotesValueSeries.Point;
+import com.tecknobit.txnotes.records.TxNotesValueSeries.Resolution;
+import com.tecknobit.txnotes.records.Wallet;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec.*;
+
+/**
+ * The {@code TxNotesClusterNode} class is useful to share the accounts of the fetchers between more processes <br>
+ * Every process runs a node with the same list of accounts; nodes check each other with a heartbeat on a TCP
+ * socket and assign the accounts to the nodes alive with a {@link TxNotesHashRing}, so each account is fetched by
+ * one node only. When a node joins or leaves, the accounts moved are handed over to their new node with the
+ * {@link TxNotesSnapshot} of their fetcher
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote no coordination service is required: a node knows the other ones from its list of peers and from the
+ * heartbeats received. The data of a node that stops without closing are lost, the new node of its accounts will
+ * fetch them again from the exchanges
+ * @apiNote without a shared secret a node can be bound only on the loopback address and accepts messages only from
+ * the loopback address; with a shared secret each message is signed with {@link #MAC_ALGORITHM}, so the messages not
+ * signed with the same secret, too old or already received are rejected
+ * @see TxNotesFetcher
+ **/
+
+public class TxNotesClusterNode implements AutoCloseable {
+
+    /**
+     * {@code DEFAULT_HEARTBEAT_INTERVAL} is instance that memorizes default time in milliseconds between two
+     * heartbeats
+     **/
+    public static final long DEFAULT_HEARTBEAT_INTERVAL = 2000;
+
+    /**
+     * {@code PING} is instance that memorizes type of the heartbeat message
+     **/
+    private static final byte PING = 1;
+
+    /**
+     * {@code HANDOVER} is instance that memorizes type of the message with the data of an account
+     **/
+    private static final byte HANDOVER = 2;
+
+    /**
+     * {@code ACK} is instance that memorizes response of a message processed
+     **/
+    private static final byte ACK = 1;
+
+    /**
+     * {@code MAC_ALGORITHM} is instance that memorizes algorithm used to sign the messages with the shared secret
+     **/
+    public static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * {@code MAX_MESSAGE_SIZE} is instance that memorizes max size in bytes of a message
+     **/
+    public static final int MAX_MESSAGE_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * {@code MAX_HEADER_SIZE} is instance that memorizes max size in bytes of the header of a message
+     *
+     * @implNote the header is the only part read before its signature is checked, so a sender without the secret can
+     * make this node allocate at most this size
+     **/
+    private static final int MAX_HEADER_SIZE = 1024;
+
+    /**
+     * {@code MIN_MESSAGE_AGE} is instance that memorizes min time in milliseconds after which a signed message is
+     * rejected, also with short heartbeat intervals
+     **/
+    private static final long MIN_MESSAGE_AGE = 30000;
+
+    /**
+     * {@code secret} is instance that memorizes secret shared by the nodes to sign the messages
+     *
+     * @apiNote null when the node is bound on the loopback address without a secret
+     **/
+    private final byte[] secret;
+
+    /**
+     * {@code nodeId} is instance that memorizes identifier of this node, its host and port es. 127.0.0.1:7001
+     **/
+    private final String nodeId;
+
+    /**
+     * {@code address} is instance that memorizes address where this node receives the messages
+     **/
+    private final InetSocketAddress address;
+
+    /**
+     * {@code peers} is instance that memorizes address of the other nodes with their identifier as key
+     **/
+    private final ConcurrentHashMap<String, InetSocketAddress> peers = new ConcurrentHashMap<>();
+
+    /**
+     * {@code lastHeartbeats} is instance that memorizes timestamp of the last heartbeat of the other nodes with their
+     * identifier as key
+     **/
+    private final ConcurrentHashMap<String, Long> lastHeartbeats = new ConcurrentHashMap<>();
+
+    /**
+     * {@code ring} is instance helpful to assign the accounts to the nodes alive
+     **/
+    private final TxNotesHashRing ring = new TxNotesHashRing();
+
+    /**
+     * {@code accounts} is instance that memorizes accounts of the cluster
+     **/
+    private final Set<String> accounts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * {@code fetcherFactory} is instance helpful to create the fetcher of an account
+     **/
+    private final Function<String, TxNotesFetcher> fetcherFactory;
+
+    /**
+     * {@code fetchers} is instance that memorizes fetchers of the accounts owned by this node with the account as key
+     **/
+    private final ConcurrentHashMap<String, TxNotesFetcher> fetchers = new ConcurrentHashMap<>();
+
+    /**
+     * {@code refreshes} is instance that memorizes next refresh scheduled of each fetcher with the account as key
+     **/
+    private final ConcurrentHashMap<String, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+
+    /**
+     * {@code failures} is instance that memorizes number of consecutive refreshes failed for an unexpected error of
+     * each fetcher with the account as key
+     **/
+    private final ConcurrentHashMap<String, Integer> failures = new ConcurrentHashMap<>();
+
+    /**
+     * {@code refreshLocks} is instance that memorizes lock held by the refresh running of each account with the
+     * account as key
+     *
+     * @implNote an account is handed over only after its refresh running has been completed, so the data sent are
+     * the last ones fetched; the locks are kept, one for each account ever owned
+     **/
+    private final ConcurrentHashMap<String, ReentrantLock> refreshLocks = new ConcurrentHashMap<>();
+
+    /**
+     * {@code nonces} is instance that memorizes nonce of the signed messages received with their timestamp as value
+     *
+     * @implNote the nonces are removed when their messages are too old to be accepted, so a message cannot be
+     * replayed while its timestamp is valid
+     **/
+    private final ConcurrentHashMap<Long, Long> nonces = new ConcurrentHashMap<>();
+
+    /**
+     * {@code random} is instance helpful to create the nonce of the messages sent
+     **/
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * {@code heartbeatInterval} is instance that memorizes time in milliseconds between two heartbeats
+     **/
+    private final long heartbeatInterval;
+
+    /**
+     * {@code heartbeats} is instance helpful to run the heartbeats
+     *
+     * @implNote it is not shared with the refreshes, so a refresh paced by the exchange cannot delay a heartbeat
+     **/
+    private final ScheduledExecutorService heartbeats;
+
+    /**
+     * {@code refresher} is instance helpful to run the refreshes of the fetchers
+     **/
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * {@code connections} is instance helpful to serve the messages received
+     **/
+    private final ExecutorService connections;
+
+    /**
+     * {@code serverSocket} is instance helpful to receive the messages of the other nodes
+     **/
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Constructor to init {@link TxNotesClusterNode}
+     *
+     * @param port:           port of the loopback address where this node receives the messages
+     * @param peerPorts:      ports of the loopback address of the other nodes
+     * @param fetcherFactory: function to create the fetcher of an account
+     * @implNote {@link #DEFAULT_HEARTBEAT_INTERVAL} will be used as heartbeat interval
+     **/
+    public TxNotesClusterNode(int port, Collection<Integer> peerPorts, Function<String, TxNotesFetcher> fetcherFactory) {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), loopbackPeers(peerPorts), fetcherFactory,
+                DEFAULT_HEARTBEAT_INTERVAL);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesClusterNode}
+     *
+     * @param address:           loopback address where this node receives the messages
+     * @param peers:             address of the other nodes, nodes not in the list are added when they send a heartbeat
+     * @param fetcherFactory:    function to create the fetcher of an account
+     * @param heartbeatInterval: time in milliseconds between two heartbeats
+     * @throws IllegalArgumentException when heartbeatInterval is not positive or the address is not a loopback address
+     * @implNote a node is considered left when it does not answer for three heartbeats
+     **/
+    public TxNotesClusterNode(InetSocketAddress address, Collection<InetSocketAddress> peers,
+                              Function<String, TxNotesFetcher> fetcherFactory, long heartbeatInterval) {
+        this(address, peers, fetcherFactory, heartbeatInterval, null);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesClusterNode}
+     *
+     * @param address:           address where this node receives the messages
+     * @param peers:             address of the other nodes, nodes not in the list are added when they send a heartbeat
+     * @param fetcherFactory:    function to create the fetcher of an account
+     * @param heartbeatInterval: time in milliseconds between two heartbeats
+     * @param secret:            secret shared by all the nodes to sign the messages, null to use only the loopback
+     *                           address
+     * @throws IllegalArgumentException when heartbeatInterval is not positive, the secret is empty, or it is null and
+     *                                  the address is not a loopback address
+     * @implNote a node is considered left when it does not answer for three heartbeats
+     **/
+    public TxNotesClusterNode(InetSocketAddress address, Collection<InetSocketAddress> peers,
+                              Function<String, TxNotesFetcher> fetcherFactory, long heartbeatInterval, byte[] secret) {
+        if (heartbeatInterval <= 0)
+            throw new IllegalArgumentException("Heartbeat interval must be positive");
+        if (secret == null) {
+            if (address.getAddress() == null || !address.getAddress().isLoopbackAddress())
+                throw new IllegalArgumentException("A shared secret is required to receive messages on " + address);
+        } else if (secret.length == 0)
+            throw new IllegalArgumentException("Shared secret cannot be empty");
+        this.secret = secret == null ? null : secret.clone();
+        this.address = address;
+        nodeId = nodeId(address);
+        for (InetSocketAddress peer : peers)
+            if (!nodeId(peer).equals(nodeId))
+                this.peers.put(nodeId(peer), peer);
+        this.fetcherFactory = fetcherFactory;
+        this.heartbeatInterval = heartbeatInterval;
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> daemonThread(runnable,
+                "txnotes-cluster-heartbeat"));
+        refresher = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                runnable -> daemonThread(runnable, "txnotes-cluster-refresher"));
+        connections = Executors.newCachedThreadPool(runnable -> daemonThread(runnable, "txnotes-cluster-connection"));
+        ring.addNode(nodeId);
+    }
+
+    /**
+     * This method is used to create the address of the peers on the loopback address
+     *
+     * @param peerPorts: ports of the peers
+     * @return address of the peers as {@link ArrayList} of {@link InetSocketAddress}
+     **/
+    private static ArrayList<InetSocketAddress> loopbackPeers(Collection<Integer> peerPorts) {
+        ArrayList<InetSocketAddress> peers = new ArrayList<>();
+        for (int port : peerPorts)
+            peers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return peers;
+    }
+
+    /**
+     * This method is used to create the identifier of a node
+     *
+     * @param address: address of the node
+     * @return identifier as {@link String}
+     **/
+    private static String nodeId(InetSocketAddress address) {
+        return address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * This method is used to create a daemon thread
+     *
+     * @param runnable: task of the thread
+     * @param name:     name of the thread
+     * @return thread as {@link Thread}
+     **/
+    private static Thread daemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * This method is used to add an account to the cluster
+     *
+     * @param account: identifier of the account
+     * @apiNote all the nodes must have the same accounts
+     **/
+    public void addAccount(String account) {
+        if (accounts.add(account) && serverSocket != null)
+            rebalance();
+    }
+
+    /**
+     * This method is used to remove an account from the cluster, its fetcher is stopped
+     *
+     * @param account: identifier of the account
+     **/
+    public void removeAccount(String account) {
+        if (accounts.remove(account) && serverSocket != null)
+            rebalance();
+    }
+
+    /**
+     * This method is used to start receiving messages, heartbeats and refreshes of the accounts owned <br>
+     * Any params required
+     *
+     * @throws IOException when the address cannot be bound
+     **/
+    public synchronized void start() throws IOException {
+        if (serverSocket != null)
+            return;
+        ServerSocket socket = new ServerSocket();
+        socket.bind(address);
+        serverSocket = socket;
+        connections.execute(this::acceptConnections);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method is used to accept the connections of the other nodes <br>
+     * Any params required
+     **/
+    private void acceptConnections() {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try {
+                Socket connection = socket.accept();
+                connections.execute(() -> serveConnection(connection));
+            } catch (IOException | RejectedExecutionException e) {
+                if (socket.isClosed())
+                    return;
+            }
+        }
+    }
+
+    /**
+     * This method is used to serve a message of another node
+     *
+     * @param connection: connection of the message
+     * @implNote the messages not signed with {@link #secret}, too old, already received or, without a secret, not
+     * sent from the loopback address are rejected without answer; the body of a message is read only after the
+     * signature of its header has been checked. The accounts handed over while this node is closing are rejected,
+     * so the sender keeps them
+     **/
+    private void serveConnection(Socket connection) {
+        try (Socket socket = connection;
+             DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream output = new DataOutputStream(socket.getOutputStream())) {
+            socket.setSoTimeout((int) Math.max(heartbeatInterval * 3, 1000));
+            if (secret == null && !socket.getInetAddress().isLoopbackAddress())
+                return;
+            int headerLength = input.readInt();
+            if (headerLength <= 0 || headerLength > MAX_HEADER_SIZE)
+                return;
+            byte[] header = new byte[headerLength];
+            input.readFully(header);
+            byte[] headerSignature = null;
+            if (secret != null) {
+                headerSignature = sign(header);
+                if (!verify(input, headerSignature))
+                    return;
+            }
+            DataInputStream content = new DataInputStream(new ByteArrayInputStream(header));
+            byte type = content.readByte();
+            String host = content.readUTF();
+            int port = content.readInt();
+            long timestamp = content.readLong();
+            long nonce = content.readLong();
+            int bodyLength = content.readInt();
+            if (bodyLength < 0 || bodyLength > MAX_MESSAGE_SIZE)
+                return;
+            if (secret != null) {
+                if (Math.abs(System.currentTimeMillis() - timestamp) > getMessageWindow())
+                    return;
+                if (nonces.putIfAbsent(nonce, timestamp) != null)
+                    return;
+            }
+            byte[] body = new byte[bodyLength];
+            input.readFully(body);
+            if (secret != null && !verify(input, sign(headerSignature, body)))
+                return;
+            String sender = host + ":" + port;
+            if (!sender.equals(nodeId)) {
+                peers.putIfAbsent(sender, new InetSocketAddress(host, port));
+                lastHeartbeats.put(sender, System.currentTimeMillis());
+            }
+            if (type == HANDOVER) {
+                if (serverSocket == null)
+                    return;
+                content = new DataInputStream(new ByteArrayInputStream(body));
+                String account = content.readUTF();
+                byte[] state = new byte[content.readInt()];
+                content.readFully(state);
+                receiveAccount(account, state);
+            }
+            output.writeByte(ACK);
+            output.flush();
+        } catch (IOException | RuntimeException ignored) {
+            // the sender will retry with the next heartbeat
+        }
+    }
+
+    /**
+     * This method is used to read a signature and to check it
+     *
+     * @param input:    stream where read the signature
+     * @param expected: signature expected
+     * @return whether the signature read is the one expected as boolean
+     * @throws IOException when the signature cannot be read
+     * @implNote a signature with a length different from the one of {@link #MAC_ALGORITHM} is rejected without
+     * reading it
+     **/
+    private static boolean verify(DataInputStream input, byte[] expected) throws IOException {
+        int length = input.readInt();
+        if (length != expected.length)
+            return false;
+        byte[] signature = new byte[length];
+        input.readFully(signature);
+        return MessageDigest.isEqual(signature, expected);
+    }
+
+    /**
+     * This method is used to get the time in milliseconds after which a signed message is rejected <br>
+     * Any params required
+     *
+     * @return time as long
+     **/
+    private long getMessageWindow() {
+        return Math.max(heartbeatInterval * 3, MIN_MESSAGE_AGE);
+    }
+
+    /**
+     * This method is used to sign a message with {@link #secret}
+     *
+     * @param parts: parts of the message to sign
+     * @return signature as byte array
+     **/
+    private byte[] sign(byte[]... parts) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+            for (byte[] part : parts)
+                mac.update(part);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method is used to send a message to another node
+     *
+     * @param peer:    address of the node
+     * @param type:    type of the message
+     * @param account: account handed over, null for a heartbeat
+     * @param state:   data of the account handed over
+     * @return whether the node has processed the message as boolean
+     * @implNote the message is sent as a header, with a new nonce and the size of the body, and a body; when
+     * {@link #secret} is set both are signed, the signature of the body includes the one of the header
+     **/
+    private boolean send(InetSocketAddress peer, byte type, String account, byte[] state) {
+        int timeout = (int) Math.max(heartbeatInterval, 500);
+        try (Socket socket = new Socket()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            if (type == HANDOVER) {
+                try (DataOutputStream content = new DataOutputStream(bytes)) {
+                    content.writeUTF(account);
+                    content.writeInt(state.length);
+                    content.write(state);
+                }
+            }
+            byte[] body = bytes.toByteArray();
+            bytes = new ByteArrayOutputStream();
+            try (DataOutputStream content = new DataOutputStream(bytes)) {
+                content.writeByte(type);
+                content.writeUTF(address.getAddress().getHostAddress());
+                content.writeInt(address.getPort());
+                content.writeLong(System.currentTimeMillis());
+                content.writeLong(random.nextLong());
+                content.writeInt(body.length);
+            }
+            byte[] header = bytes.toByteArray();
+            socket.connect(peer, timeout);
+            socket.setSoTimeout(type == HANDOVER ? timeout * 10 : timeout);
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            output.writeInt(header.length);
+            output.write(header);
+            byte[] headerSignature = null;
+            if (secret != null) {
+                headerSignature = sign(header);
+                output.writeInt(headerSignature.length);
+                output.write(headerSignature);
+            }
+            output.write(body);
+            if (secret != null) {
+                byte[] bodySignature = sign(headerSignature, body);
+                output.writeInt(bodySignature.length);
+                output.write(bodySignature);
+            }
+            output.flush();
+            return new DataInputStream(socket.getInputStream()).readByte() == ACK;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to check the other nodes and move the accounts when the nodes alive change <br>
+     * Any params required
+     *
+     * @implNote the nonces of the messages too old to be accepted are removed
+     **/
+    private void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            long messageWindow = getMessageWindow();
+            nonces.values().removeIf(timestamp -> Math.abs(now - timestamp) > messageWindow);
+            for (Map.Entry<String, InetSocketAddress> peer : peers.entrySet())
+                if (send(peer.getValue(), PING, null, null))
+                    lastHeartbeats.put(peer.getKey(), now);
+            ArrayList<String> nodes = new ArrayList<>();
+            nodes.add(nodeId);
+            for (Map.Entry<String, Long> heartbeat : lastHeartbeats.entrySet())
+                if (System.currentTimeMillis() - heartbeat.getValue() <= heartbeatInterval * 3)
+                    nodes.add(heartbeat.getKey());
+            if (serverSocket != null)
+                ring.setNodes(nodes);
+            rebalance();
+        } catch (RuntimeException ignored) {
+            // the next heartbeat will try again
+        }
+    }
+
+    /**
+     * This method is used to start the fetchers of the accounts owned and to hand over the other ones <br>
+     * Any params required
+     *
+     * @implNote accounts that cannot be handed over are kept and handed over with the next heartbeat, the accounts
+     * are sent without holding the lock of this node, so two nodes can hand over accounts to each other
+     **/
+    private void rebalance() {
+        LinkedHashMap<String, String> owners = new LinkedHashMap<>();
+        HashMap<String, TxNotesFetcher> leaving = new HashMap<>();
+        synchronized (this) {
+            for (String account : accounts) {
+                String owner = ring.getNode(account);
+                if (nodeId.equals(owner)) {
+                    if (!fetchers.containsKey(account) && serverSocket != null)
+                        startFetcher(account, fetcherFactory.apply(account));
+                } else if (fetchers.containsKey(account) && owner != null) {
+                    owners.put(account, owner);
+                    leaving.put(account, stopFetcher(account));
+                }
+            }
+            for (String account : new ArrayList<>(fetchers.keySet()))
+                if (!accounts.contains(account))
+                    stopFetcher(account);
+        }
+        for (Map.Entry<String, String> owner : owners.entrySet()) {
+            String account = owner.getKey();
+            TxNotesFetcher fetcher = leaving.get(account);
+            if (!handOver(account, owner.getValue(), fetcher)) {
+                synchronized (this) {
+                    if (!fetchers.containsKey(account))
+                        startFetcher(account, fetcher);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to start refreshing the fetcher of an account
+     *
+     * @param account: identifier of the account
+     * @param fetcher: fetcher of the account
+     **/
+    private void startFetcher(String account, TxNotesFetcher fetcher) {
+        fetchers.put(account, fetcher);
+        scheduleRefresh(account, fetcher, 0);
+    }
+
+    /**
+     * This method is used to schedule the next refresh of a fetcher
+     *
+     * @param account: identifier of the account
+     * @param fetcher: fetcher to refresh
+     * @param delay:   time in milliseconds before the refresh
+     * @implNote the refresh holds the lock of the account in {@link #refreshLocks} and it is skipped when the fetcher
+     * has been stopped meanwhile
+     **/
+    private void scheduleRefresh(String account, TxNotesFetcher fetcher, long delay) {
+        try {
+            refreshes.put(account, refresher.schedule(() -> {
+                long refreshTime;
+                ReentrantLock refreshLock = getRefreshLock(account);
+                refreshLock.lock();
+                try {
+                    if (fetchers.get(account) != fetcher)
+                        return;
+                    fetcher.callDependency(fetcher.getExchangeBreaker(), () -> {
+                        fetcher.loadAllData();
+                        return true;
+                    });
+                    refreshTime = fetcher.computeNextRefreshTime();
+                    failures.remove(account);
+                } catch (InterruptedException e) {
+                    // the refresh has been cancelled
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    refreshTime = TxNotesFetcher.computeCycleBackoff(failures.merge(account, 1, Integer::sum));
+                } finally {
+                    refreshLock.unlock();
+                }
+                synchronized (this) {
+                    if (fetchers.get(account) == fetcher)
+                        scheduleRefresh(account, fetcher, refreshTime);
+                }
+            }, delay, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException ignored) {
+            // the node has been closed
+        }
+    }
+
+    /**
+     * This method is used to get the lock held by the refresh of an account
+     *
+     * @param account: identifier of the account
+     * @return lock as {@link ReentrantLock}
+     **/
+    private ReentrantLock getRefreshLock(String account) {
+        return refreshLocks.computeIfAbsent(account, key -> new ReentrantLock());
+    }
+
+    /**
+     * This method is used to stop the fetcher of an account
+     *
+     * @param account: identifier of the account
+     * @return fetcher stopped as {@link TxNotesFetcher}, null if this node had not the account
+     **/
+    private TxNotesFetcher stopFetcher(String account) {
+        ScheduledFuture<?> refresh = refreshes.remove(account);
+        if (refresh != null)
+            refresh.cancel(false);
+        failures.remove(account);
+        return fetchers.remove(account);
+    }
+
+    /**
+     * This method is used to hand over an account to another node
+     *
+     * @param account: identifier of the account
+     * @param owner:   identifier of the new node of the account
+     * @param fetcher: fetcher of the account, already stopped
+     * @return whether the account has been handed over as boolean
+     * @implNote the data are encoded after the refresh running, if any, has been completed
+     **/
+    private boolean handOver(String account, String owner, TxNotesFetcher fetcher) {
+        InetSocketAddress peer = peers.get(owner);
+        if (peer == null)
+            return false;
+        byte[] state;
+        ReentrantLock refreshLock = getRefreshLock(account);
+        refreshLock.lock();
+        try {
+            fetcher.disableTieredStorage();
+            state = encodeState(fetcher);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+        return send(peer, HANDOVER, account, state);
+    }
+
+    /**
+     * This method is used to restore the data of an account handed over by another node
+     *
+     * @param account: identifier of the account
+     * @param state:   data of the account encoded with {@link #encodeState(TxNotesFetcher)}
+     * @throws IOException when the data are not valid
+     * @implNote the data are restored before the fetcher of the account is started, so its first refresh starts from
+     * the data handed over; the deletions handed over are applied also to a fetcher already started
+     **/
+    private synchronized void receiveAccount(String account, byte[] state) throws IOException {
+        TxNotesFetcher fetcher = fetchers.get(account);
+        boolean started = fetcher != null;
+        if (!started)
+            fetcher = fetcherFactory.apply(account);
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(state))) {
+            byte[] txNotes = new byte[input.readInt()];
+            input.readFully(txNotes);
+            byte[] wallets = new byte[input.readInt()];
+            input.readFully(wallets);
+            ArrayList<String> txNotesDeleted = new ArrayList<>();
+            readKeys(input, txNotesDeleted);
+            ArrayList<String> walletsDeleted = new ArrayList<>();
+            readKeys(input, walletsDeleted);
+            LinkedHashMap<String, TxNote> notes = new LinkedHashMap<>();
+            for (TxNote txNote : decodeTxNotes(txNotes))
+                notes.put(txNote.getBaseAsset() + txNote.getBuyDateTimestamp(), txNote);
+            HashMap<String, TxNotesValueSeries> valueSeries = readValueSeries(input);
+            LinkedHashMap<String, Wallet> walletsMap = new LinkedHashMap<>();
+            for (Wallet wallet : decodeWallets(wallets)) {
+                wallet.setValueSeries(valueSeries.get(wallet.getIndex()));
+                walletsMap.put(wallet.getIndex(), wallet);
+            }
+            fetcher.restoreSnapshot(new TxNotesSnapshot(0, notes, walletsMap), txNotesDeleted, walletsDeleted);
+        }
+        if (!started)
+            startFetcher(account, fetcher);
+    }
+
+    /**
+     * This method is used to encode the data of the fetcher of an account
+     *
+     * @param fetcher: fetcher to encode
+     * @return data encoded as byte array
+     * @throws IOException when the data cannot be encoded
+     * @implNote wallets are encoded without their notes, that are rebuilt by {@link TxNotesFetcher#restoreSnapshot(TxNotesSnapshot)},
+     * and their {@link TxNotesValueSeries} are encoded after the keys deleted
+     **/
+    private static byte[] encodeState(TxNotesFetcher fetcher) throws IOException {
+        TxNotesSnapshot snapshot = fetcher.getSnapshot();
+        ArrayList<Wallet> wallets = new ArrayList<>();
+        for (Wallet wallet : snapshot.getWallets())
+            wallets.add(new Wallet(wallet.getIndex(), wallet.getName(), wallet.getLastPrice(), wallet.getTrend()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            byte[] txNotes = encodeTxNotes(snapshot.getTxNotes());
+            output.writeInt(txNotes.length);
+            output.write(txNotes);
+            byte[] walletsPayload = encodeWallets(wallets);
+            output.writeInt(walletsPayload.length);
+            output.write(walletsPayload);
+            writeKeys(output, fetcher.txNotesDeleted);
+            writeKeys(output, fetcher.walletsDeleted);
+            writeValueSeries(output, snapshot.getWallets());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This method is used to write the {@link TxNotesValueSeries} of a list of wallets
+     *
+     * @param output:  stream where write the series
+     * @param wallets: wallets of the series, the ones without a series are skipped
+     * @throws IOException when the series cannot be written
+     **/
+    private static void writeValueSeries(DataOutputStream output, Collection<Wallet> wallets) throws IOException {
+        ArrayList<Wallet> series = new ArrayList<>();
+        for (Wallet wallet : wallets)
+            if (wallet.getValueSeries() != null)
+                series.add(wallet);
+        output.writeInt(series.size());
+        for (Wallet wallet : series) {
+            TxNotesValueSeries valueSeries = wallet.getValueSeries();
+            output.writeUTF(wallet.getIndex());
+            for (Resolution resolution : Resolution.values()) {
+                List<Point> points = valueSeries.getPoints(resolution);
+                output.writeInt(valueSeries.getCapacity(resolution));
+                output.writeInt(points.size());
+                for (Point point : points) {
+                    output.writeLong(point.getTimestamp());
+                    output.writeDouble(point.getBalance());
+                    output.writeDouble(point.getQuantity());
+                    output.writeDouble(point.getIncomePercent());
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to read the {@link TxNotesValueSeries} of the wallets
+     *
+     * @param input: stream where read the series
+     * @return series as {@link HashMap} with the index of their wallet as key
+     * @throws IOException when the series cannot be read
+     **/
+    private static HashMap<String, TxNotesValueSeries> readValueSeries(DataInputStream input) throws IOException {
+        HashMap<String, TxNotesValueSeries> valueSeries = new HashMap<>();
+        int size = input.readInt();
+        Resolution[] resolutions = Resolution.values();
+        for (int j = 0; j < size; j++) {
+            String index = input.readUTF();
+            int[] capacities = new int[resolutions.length];
+            ArrayList<ArrayList<Point>> resolutionPoints = new ArrayList<>();
+            for (int k = 0; k < resolutions.length; k++) {
+                capacities[k] = input.readInt();
+                int pointsNumber = input.readInt();
+                ArrayList<Point> points = new ArrayList<>(pointsNumber);
+                for (int p = 0; p < pointsNumber; p++)
+                    points.add(new Point(input.readLong(), input.readDouble(), input.readDouble(), input.readDouble()));
+                resolutionPoints.add(points);
+            }
+            TxNotesValueSeries series = new TxNotesValueSeries(capacities[Resolution.MINUTE.ordinal()],
+                    capacities[Resolution.HOUR.ordinal()], capacities[Resolution.DAY.ordinal()]);
+            for (int k = 0; k < resolutions.length; k++)
+                series.restorePoints(resolutions[k], resolutionPoints.get(k));
+            valueSeries.put(index, series);
+        }
+        return valueSeries;
+    }
+
+    /**
+     * This method is used to write a list of keys
+     *
+     * @param output: stream where write the keys
+     * @param keys:   keys to write
+     * @throws IOException when the keys cannot be written
+     **/
+    private static void writeKeys(DataOutputStream output, List<String> keys) throws IOException {
+        ArrayList<String> copy;
+        synchronized (keys) {
+            copy = new ArrayList<>(keys);
+        }
+        output.writeInt(copy.size());
+        for (String key : copy)
+            output.writeUTF(key);
+    }
+
+    /**
+     * This method is used to read a list of keys
+     *
+     * @param input: stream where read the keys
+     * @param keys:  list where add the keys not already in it
+     * @throws IOException when the keys cannot be read
+     **/
+    private static void readKeys(DataInputStream input, List<String> keys) throws IOException {
+        int size = input.readInt();
+        for (int j = 0; j < size; j++) {
+            String key = input.readUTF();
+            synchronized (keys) {
+                if (!keys.contains(key))
+                    keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Method to get {@link #nodeId} instance <br>
+     * Any params required
+     *
+     * @return {@link #nodeId} instance as {@link String}
+     **/
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * This method is used to get the node that owns an account
+     *
+     * @param account: identifier of the account
+     * @return identifier of the node as {@link String}
+     **/
+    public String getOwner(String account) {
+        return ring.getNode(account);
+    }
+
+    /**
+     * This method is used to get the fetcher of an account owned by this node
+     *
+     * @param account: identifier of the account
+     * @return fetcher as {@link TxNotesFetcher}, null if the account is not owned by this node
+     **/
+    public TxNotesFetcher getFetcher(String account) {
+        return fetchers.get(account);
+    }
+
+    /**
+     * This method is used to get the accounts owned by this node <br>
+     * Any params required
+     *
+     * @return accounts as {@link Set} of {@link String}
+     **/
+    public Set<String> getOwnedAccounts() {
+        return new TreeSet<>(fetchers.keySet());
+    }
+
+    /**
+     * This method is used to get the accounts of the cluster <br>
+     * Any params required
+     *
+     * @return accounts as {@link Set} of {@link String}
+     **/
+    public Set<String> getAccounts() {
+        return new TreeSet<>(accounts);
+    }
+
+    /**
+     * This method is used to get the nodes alive of the cluster, this node included <br>
+     * Any params required
+     *
+     * @return identifiers of the nodes as {@link Set} of {@link String}
+     **/
+    public Set<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * This method is used to hand over all the accounts owned to the other nodes alive and to stop this node <br>
+     * Any params required
+     *
+     * @throws IOException when the socket cannot be closed
+     **/
+    @Override
+    public void close() throws IOException {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        heartbeats.shutdownNow();
+        refresher.shutdownNow();
+        if (ring.getNodes().size() > 1) {
+            ring.removeNode(nodeId);
+            rebalance();
+        }
+        synchronized (this) {
+            for (String account : new ArrayList<>(fetchers.keySet()))
+                stopFetcher(account);
+        }
+        if (socket != null)
+            socket.close();
+        connections.shutdownNow();
+    }
+
+}
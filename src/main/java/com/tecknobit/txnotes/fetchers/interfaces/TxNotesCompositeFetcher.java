@@ -0,0 +1,267 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.TxNotesSnapshot;
+import com.tecknobit.txnotes.records.Wallet;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.tecknobit.txnotes.records.TxNotesSnapshot.EMPTY_SNAPSHOT;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The {@code TxNotesCompositeFetcher} class is useful to fetch all transactions from more exchange's accounts at the
+ * same time, es. Binance and Coinbase <br>
+ * Each platform is refreshed concurrently by its own {@link TxNotesFetcher}, so a refresh lasts as the slowest
+ * platform, then notes are merged in a single {@link Wallet} for each asset, keeping the platform where each
+ * note comes from
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote a platform that fails during a refresh is isolated by its {@link TxNotesFetcher#getExchangeBreaker()} and
+ * its last snapshot published is merged in place of the new one
+ * @see TxNotesFetcher
+ **/
+
+public class TxNotesCompositeFetcher implements AutoCloseable {
+
+    /**
+     * {@code fetchers} is instance that memorizes fetchers of each platform with the platform name as key
+     **/
+    private final LinkedHashMap<String, TxNotesFetcher> fetchers;
+
+    /**
+     * {@code executor} is instance helpful to refresh the platforms concurrently
+     **/
+    private final ExecutorService executor;
+
+    /**
+     * {@code snapshot} is instance that memorizes the last {@link TxNotesSnapshot} merged
+     **/
+    private volatile TxNotesSnapshot snapshot = EMPTY_SNAPSHOT;
+
+    /**
+     * {@code walletSources} is instance that memorizes wallets of each platform with asset index as key
+     **/
+    private volatile Map<String, Map<String, Wallet>> walletSources = new HashMap<>();
+
+    /**
+     * {@code txNoteSources} is instance that memorizes platform name of each {@link TxNote} merged
+     **/
+    private volatile Map<TxNote, String> txNoteSources = new IdentityHashMap<>();
+
+    /**
+     * Constructor to init {@link TxNotesCompositeFetcher}
+     *
+     * @param fetchers: fetchers of each platform with the platform name as key es. Binance
+     * @throws IllegalArgumentException when no fetcher is given or when fetchers have different base currencies
+     **/
+    public TxNotesCompositeFetcher(Map<String, TxNotesFetcher> fetchers) {
+        if (fetchers.isEmpty())
+            throw new IllegalArgumentException("At least a fetcher is required");
+        String baseCurrency = null;
+        for (TxNotesFetcher fetcher : fetchers.values()) {
+            if (baseCurrency == null)
+                baseCurrency = fetcher.getBaseCurrency();
+            else if (!baseCurrency.equals(fetcher.getBaseCurrency()))
+                throw new IllegalArgumentException("Fetchers must have the same base currency");
+        }
+        this.fetchers = new LinkedHashMap<>(fetchers);
+        executor = Executors.newFixedThreadPool(fetchers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "txnotes-composite-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Constructor to init {@link TxNotesCompositeFetcher}
+     *
+     * @param fetchers: fetchers of each platform, the platform name will be the class name of the fetcher es.
+     *                  BinanceFetcher
+     * @throws IllegalArgumentException when no fetcher is given or when fetchers have different base currencies
+     **/
+    public TxNotesCompositeFetcher(TxNotesFetcher... fetchers) {
+        this(namedFetchers(fetchers));
+    }
+
+    /**
+     * This method is used to name the fetchers with their class name
+     *
+     * @param fetchers: fetchers to name
+     * @return fetchers with their name as key as {@link LinkedHashMap}
+     **/
+    private static LinkedHashMap<String, TxNotesFetcher> namedFetchers(TxNotesFetcher... fetchers) {
+        LinkedHashMap<String, TxNotesFetcher> namedFetchers = new LinkedHashMap<>();
+        for (TxNotesFetcher fetcher : fetchers) {
+            String name = fetcher.getClass().getSimpleName();
+            String platform = name;
+            for (int j = 2; namedFetchers.containsKey(platform); j++)
+                platform = name + j;
+            namedFetchers.put(platform, fetcher);
+        }
+        return namedFetchers;
+    }
+
+    /**
+     * This method is used to refresh all the platforms concurrently and merge their data <br>
+     * Any params required
+     *
+     * @return merged data as {@link TxNotesSnapshot}
+     * @throws InterruptedException when the current thread is interrupted while waiting the platforms
+     **/
+    public TxNotesSnapshot refresh() throws InterruptedException {
+        ArrayList<Future<Boolean>> refreshes = new ArrayList<>();
+        for (TxNotesFetcher fetcher : fetchers.values()) {
+            refreshes.add(executor.submit(() -> fetcher.callDependency(fetcher.getExchangeBreaker(), () -> {
+                fetcher.loadAllData();
+                return true;
+            })));
+        }
+        for (Future<Boolean> refresh : refreshes) {
+            try {
+                refresh.get();
+            } catch (ExecutionException ignored) {
+                // failures are recorded by the exchange breaker of the fetcher
+            }
+        }
+        return merge();
+    }
+
+    /**
+     * This method is used to merge the last snapshots published by the platforms <br>
+     * Any params required
+     *
+     * @return merged data as {@link TxNotesSnapshot}
+     **/
+    private synchronized TxNotesSnapshot merge() {
+        LinkedHashMap<String, TxNote> mergedTxNotes = new LinkedHashMap<>();
+        IdentityHashMap<TxNote, String> mergedSources = new IdentityHashMap<>();
+        HashMap<String, Map<String, Wallet>> mergedWalletSources = new HashMap<>();
+        LinkedHashMap<String, ArrayList<TxNote>> assetNotes = new LinkedHashMap<>();
+        LinkedHashMap<String, Wallet> referenceWallets = new LinkedHashMap<>();
+        for (Map.Entry<String, TxNotesFetcher> entry : fetchers.entrySet()) {
+            String platform = entry.getKey();
+            TxNotesSnapshot platformSnapshot = entry.getValue().getSnapshot();
+            for (TxNote txNote : platformSnapshot.getTxNotes()) {
+                String key = txNote.getBaseAsset() + txNote.getBuyDateTimestamp();
+                if (mergedTxNotes.containsKey(key))
+                    key = platform + ":" + key;
+                mergedTxNotes.put(key, txNote);
+                mergedSources.put(txNote, platform);
+            }
+            for (Wallet wallet : platformSnapshot.getWallets()) {
+                String index = wallet.getIndex();
+                mergedWalletSources.computeIfAbsent(index, k -> new LinkedHashMap<>()).put(platform, wallet);
+                referenceWallets.putIfAbsent(index, wallet);
+                assetNotes.computeIfAbsent(index, k -> new ArrayList<>()).addAll(wallet.getTxNotes());
+            }
+        }
+        LinkedHashMap<String, Wallet> mergedWallets = new LinkedHashMap<>();
+        for (Map.Entry<String, ArrayList<TxNote>> entry : assetNotes.entrySet()) {
+            Wallet reference = referenceWallets.get(entry.getKey());
+            mergedWallets.put(entry.getKey(), new Wallet(reference.getIndex(), reference.getName(),
+                    reference.getLastPrice(), reference.getTrend(), entry.getValue()));
+        }
+        for (Map.Entry<String, Map<String, Wallet>> entry : mergedWalletSources.entrySet())
+            entry.setValue(unmodifiableMap(entry.getValue()));
+        walletSources = mergedWalletSources;
+        txNoteSources = mergedSources;
+        snapshot = new TxNotesSnapshot(snapshot.getVersion() + 1, mergedTxNotes, mergedWallets);
+        return snapshot;
+    }
+
+    /**
+     * Method to get {@link #snapshot} instance <br>
+     * Any params required
+     *
+     * @return {@link #snapshot} instance as {@link TxNotesSnapshot}
+     **/
+    public TxNotesSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * This method is used to get the merged list of {@link TxNote} of all the platforms <br>
+     * Any params required
+     *
+     * @return list as {@link Collection} of {@link TxNote}
+     **/
+    public Collection<TxNote> getTxNotesFetched() {
+        return snapshot.getTxNotes();
+    }
+
+    /**
+     * This method is used to get the merged list of {@link Wallet} of all the platforms, one for each asset <br>
+     * Any params required
+     *
+     * @return list as {@link Collection} of {@link Wallet}
+     * @implNote last price and trend of each wallet are the ones of the first platform that holds the asset
+     **/
+    public Collection<Wallet> getWallets() {
+        return snapshot.getWallets();
+    }
+
+    /**
+     * This method is used to get a single merged {@link Wallet}
+     *
+     * @param index: index of the wallet to fetch es. BTC
+     * @return wallet as {@link Wallet} custom object, null if not found
+     **/
+    public Wallet getWalletByIndex(String index) {
+        return snapshot.getWallet(index);
+    }
+
+    /**
+     * This method is used to get the wallets of each platform that hold an asset
+     *
+     * @param index: index of the wallet to fetch es. BTC
+     * @return wallets with the platform name as key as {@link Map}, empty if no platform holds the asset
+     **/
+    public Map<String, Wallet> getWalletSources(String index) {
+        return walletSources.getOrDefault(index, Collections.emptyMap());
+    }
+
+    /**
+     * This method is used to get the platform where a {@link TxNote} comes from
+     *
+     * @param txNote: merged tx note
+     * @return platform name as {@link String}, null if the note has not been merged by the last refresh
+     **/
+    public String getTxNoteSource(TxNote txNote) {
+        return txNoteSources.get(txNote);
+    }
+
+    /**
+     * This method is used to get the fetcher of a platform
+     *
+     * @param platform: name of the platform
+     * @return fetcher as {@link TxNotesFetcher}, null if not found
+     **/
+    public TxNotesFetcher getFetcher(String platform) {
+        return fetchers.get(platform);
+    }
+
+    /**
+     * This method is used to get the names of the platforms <br>
+     * Any params required
+     *
+     * @return names of the platforms as {@link Set} of {@link String}
+     **/
+    public Set<String> getPlatforms() {
+        return Collections.unmodifiableSet(fetchers.keySet());
+    }
+
+    /**
+     * This method is used to stop the threads used to refresh the platforms <br>
+     * Any params required
+     **/
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
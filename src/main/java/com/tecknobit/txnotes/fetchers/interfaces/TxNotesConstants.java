@@ -54,6 +54,56 @@ public class TxNotesConstants {
      **/
     public static final String ALLOW_ALL_TXS_NOTE_OPE = "allow_all_txs_ope";
 
+    /**
+     * {@code WIRE_FORMAT_KEY} is instance that memorizes wire format key
+     **/
+    public static final String WIRE_FORMAT_KEY = "wire_format";
+
+    /**
+     * {@code WIRE_FORMATS_KEY} is instance that memorizes wire formats supported key
+     **/
+    public static final String WIRE_FORMATS_KEY = "wire_formats";
+
+    /**
+     * {@code NEGOTIATE_OPE} request
+     **/
+    public static final String NEGOTIATE_OPE = "negotiate_ope";
+
+    /**
+     * {@code JSON_WIRE_FORMAT} is instance that memorizes JSON wire format value
+     **/
+    public static final String JSON_WIRE_FORMAT = "json";
+
+    /**
+     * {@code BINARY_WIRE_FORMAT} is instance that memorizes binary wire format value
+     **/
+    public static final String BINARY_WIRE_FORMAT = "binary";
+
+    /**
+     * {@code COMPRESSION_KEY} is instance that memorizes compression key
+     **/
+    public static final String COMPRESSION_KEY = "compression";
+
+    /**
+     * {@code COMPRESSIONS_KEY} is instance that memorizes compressions supported key
+     **/
+    public static final String COMPRESSIONS_KEY = "compressions";
+
+    /**
+     * {@code DEFLATE_COMPRESSION} is instance that memorizes deflate compression value
+     **/
+    public static final String DEFLATE_COMPRESSION = "deflate";
+
+    /**
+     * {@code PAYLOAD_KEY} is instance that memorizes compressed payload key
+     **/
+    public static final String PAYLOAD_KEY = "payload";
+
+    /**
+     * {@code TIMESTAMP_KEY} key
+     **/
+    public static final String TIMESTAMP_KEY = "timestamp";
+
     /**
      * Constructor to avoid instantiation
      **/
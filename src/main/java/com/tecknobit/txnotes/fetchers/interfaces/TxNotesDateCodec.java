@@ -0,0 +1,92 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.tecknobit.traderbot.records.portfolio.Transaction.getDateTimestamp;
+
+/**
+ * The {@code TxNotesDateCodec} class is useful to format and parse the dates used by TxNotes library. <br>
+ * It is thread-safe: formatting uses immutable {@link DateTimeFormatter} and parsed dates are memorized in a bounded
+ * cache, so the same date used many times is parsed once.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesDateCodec {
+
+    /**
+     * {@code DATE_PATTERN} is instance that memorizes pattern of the dates used by TxNotes library
+     **/
+    public static final String DATE_PATTERN = "dd/MM/yyyy HH:mm:ss";
+
+    /**
+     * {@code PARSE_CACHE_SIZE} is instance that memorizes max number of parsed dates memorized
+     **/
+    public static final int PARSE_CACHE_SIZE = 1024;
+
+    /**
+     * {@code formatter} is instance helpful to format and parse dates with {@link #DATE_PATTERN}
+     **/
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
+    /**
+     * {@code parsedDates} is instance that memorizes the last dates parsed with their timestamp as value
+     **/
+    private static final Map<String, Long> parsedDates = new LinkedHashMap<>(PARSE_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > PARSE_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Constructor to avoid instantiation
+     **/
+    private TxNotesDateCodec() {
+    }
+
+    /**
+     * This method is used to format a timestamp as date
+     *
+     * @param timestamp: timestamp to format es. 1656623302000
+     * @return date as {@link String} formatted with {@link #DATE_PATTERN}
+     **/
+    public static String formatDate(long timestamp) {
+        return formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+    }
+
+    /**
+     * This method is used to get the timestamp of a date
+     *
+     * @param date: date to parse
+     * @return timestamp of the date as long
+     * @implNote when the date does not respect {@link #DATE_PATTERN} it will be parsed by {@code TraderBot} library, so
+     * when the date is not valid, or it is null, the value returned will be -1 as default
+     **/
+    public static long parseDate(String date) {
+        if (date == null)
+            return -1;
+        synchronized (parsedDates) {
+            Long timestamp = parsedDates.get(date);
+            if (timestamp != null)
+                return timestamp;
+        }
+        long timestamp;
+        try {
+            timestamp = LocalDateTime.parse(date, formatter).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            timestamp = getDateTimestamp(date);
+        }
+        synchronized (parsedDates) {
+            parsedDates.put(date, timestamp);
+        }
+        return timestamp;
+    }
+
+}
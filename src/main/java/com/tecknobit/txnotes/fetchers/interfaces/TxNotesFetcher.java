@@ -4,17 +4,51 @@ import com.tecknobit.traderbot.records.portfolio.MarketCoin;
 import com.tecknobit.traderbot.records.portfolio.Transaction;
 import com.tecknobit.traderbot.routines.interfaces.TraderBotConstants;
 import com.tecknobit.traderbot.routines.interfaces.TraderCoreRoutines;
+import com.tecknobit.traderbot.traders.interfaces.BinanceTraderBot;
+import com.tecknobit.traderbot.traders.interfaces.CoinbaseTraderBot;
 import com.tecknobit.txnotes.fetchers.autonomous.TxNotesAutoFetcher;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesCircuitBreaker;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesColdStorage;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesCurrencyConverter;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesEvent;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesEvent.EventType;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesEventPublisher;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesRefreshScheduler;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesRequestGovernor;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesRequestGovernor.RequestType;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesSalesStatistics;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesSalesStatistics.SalesSummary;
 import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.TxNotesFixedPoint;
+import com.tecknobit.txnotes.records.TxNotesIndex;
+import com.tecknobit.txnotes.records.TxNotesQuery;
+import com.tecknobit.txnotes.records.TxNotesQuery.SortField;
+import com.tecknobit.txnotes.records.TxNotesSnapshot;
+import com.tecknobit.txnotes.records.TxNotesValueSeries;
+import com.tecknobit.txnotes.records.TxNotesWalletIndex;
+import com.tecknobit.txnotes.records.TxNotesWalletIndex.WalletMetric;
 import com.tecknobit.txnotes.records.Wallet;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.tecknobit.apimanager.trading.CryptocurrencyTool.getCryptocurrencySymbol;
-import static com.tecknobit.traderbot.records.portfolio.Transaction.getDateTimestamp;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.BUY;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+import static com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesRequestGovernor.RequestType.*;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesDateCodec.parseDate;
+import static com.tecknobit.txnotes.records.TxNotesSnapshot.EMPTY_SNAPSHOT;
 
 /**
  * The {@code TxNotesFetcher} class is useful to fetch all transactions from exchange's account <br>
@@ -27,10 +61,39 @@ import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Sid
 
 public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
 
+    /**
+     * {@code MIN_CYCLE_BACKOFF} is instance that memorizes time in milliseconds to wait after the first refresh cycle
+     * failed for an unexpected error
+     **/
+    public static final long MIN_CYCLE_BACKOFF = 1000;
+
+    /**
+     * {@code MAX_CYCLE_BACKOFF} is instance that memorizes max time in milliseconds to wait after a refresh cycle
+     * failed for an unexpected error
+     **/
+    public static final long MAX_CYCLE_BACKOFF = 300000;
+
+    /**
+     * {@code platformLoader} is instance helpful to get the {@link TraderCoreRoutines} to use to fetch transactions
+     *
+     * @implNote the platform can be created lazily, so it must be read with {@link #getFetcherPlatform()}
+     **/
+    protected final TxNotesLazyInit<? extends TraderCoreRoutines> platformLoader;
+
     /**
      * {@code fetcherPlatform} is instance of {@link TraderCoreRoutines} to use to fetch transactions
+     *
+     * @implNote it is assigned when {@link #platformLoader} has created the platform, so it is null until then
+     * @deprecated the platform can be created lazily, use {@link #getFetcherPlatform()} instead
+     **/
+    @Deprecated
+    protected volatile TraderCoreRoutines fetcherPlatform;
+
+    /**
+     * {@code platformName} is instance that memorizes name of the class of the platform es. the name of
+     * {@code BinanceTraderBot}
      **/
-    protected final TraderCoreRoutines fetcherPlatform;
+    protected final String platformName;
 
     /**
      * {@code txNotes} is instance of list with {@link TxNote} as value and {@link Long} representing the buy date as key
@@ -63,6 +126,123 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     protected String baseCurrency;
 
+    /**
+     * {@code snapshot} is instance that memorizes the last {@link TxNotesSnapshot} published
+     *
+     * @implNote readers must use this instance instead of {@link #txNotes} and {@link #wallets} to get a consistent
+     * view while a refresh is running
+     **/
+    protected volatile TxNotesSnapshot snapshot = EMPTY_SNAPSHOT;
+
+    /**
+     * {@code refreshLock} is instance helpful to run one refresh cycle at a time
+     *
+     * @implNote the changes made outside a refresh cycle are published with {@link #publishChanges()}, that does not
+     * publish a {@link #snapshot} while a cycle is running
+     **/
+    protected final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * {@code pendingChanges} is instance that memorizes flag that indicates if there are changes made outside a refresh
+     * cycle that have not been published yet
+     **/
+    private final AtomicBoolean pendingChanges = new AtomicBoolean();
+
+    /**
+     * {@code walletIndex} is instance that memorizes the {@link Wallet} of the last {@link #snapshot} sorted by their
+     * aggregated values
+     **/
+    protected final TxNotesWalletIndex walletIndex = new TxNotesWalletIndex();
+
+    /**
+     * {@code salesStatistics} is instance that memorizes the statistics of the sales in {@link #txNotes}
+     *
+     * @implNote it is updated by {@link #putTxNote(String, TxNote)}, {@link #putTxNoteIfAbsent(String, TxNote)},
+     * {@link #replaceTxNote(String, TxNote)} and {@link #removeTxNote(String)}, so {@link #txNotes} must be changed
+     * only with these methods
+     **/
+    protected final TxNotesSalesStatistics salesStatistics = new TxNotesSalesStatistics();
+
+    /**
+     * {@code txNotesIndex} is instance that memorizes the {@link TxNote} of {@link #txNotes} sorted by status, base
+     * asset and dates
+     *
+     * @implNote it is updated by the same methods that update {@link #salesStatistics}
+     **/
+    protected final TxNotesIndex txNotesIndex = new TxNotesIndex();
+
+    /**
+     * {@code refreshScheduler} is instance helpful to adapt the refresh time to the activity of the account
+     *
+     * @apiNote default value is null, so the refresh time of {@link #getFetcherPlatform()} is used
+     **/
+    protected volatile TxNotesRefreshScheduler refreshScheduler;
+
+    /**
+     * {@code newTxNotesFetched} is instance that memorizes number of new {@link TxNote} fetched since the last
+     * refresh time computed
+     **/
+    protected final AtomicInteger newTxNotesFetched = new AtomicInteger();
+
+    /**
+     * {@code transactionsSymbols} is instance that memorizes number of symbols found in the last transactions list,
+     * used to charge the weight of the next list to {@link #requestGovernor}
+     **/
+    protected volatile int transactionsSymbols;
+
+    /**
+     * {@code maxPriceChange} is instance that memorizes max price change percent of the wallets since the last
+     * refresh time computed
+     **/
+    protected volatile double maxPriceChange;
+
+    /**
+     * {@code requestGovernor} is instance helpful to pace the requests made to the exchange of {@link #getFetcherPlatform()}
+     *
+     * @implNote by default it is the governor shared by all fetchers of the same exchange, null to disable the pacing
+     **/
+    protected volatile TxNotesRequestGovernor requestGovernor;
+
+    /**
+     * {@code exchangeBreaker} is instance helpful to isolate the failures of the exchange of {@link #getFetcherPlatform()}
+     **/
+    protected final TxNotesCircuitBreaker exchangeBreaker = new TxNotesCircuitBreaker("exchange");
+
+    /**
+     * {@code currencyConverter} is instance helpful to convert the values from {@link #baseCurrency} to
+     * {@link #displayCurrency}
+     **/
+    protected final TxNotesCurrencyConverter currencyConverter;
+
+    /**
+     * {@code displayCurrency} is instance that memorizes currency used to show the values es. USDT
+     *
+     * @apiNote default value is {@link #baseCurrency}
+     **/
+    protected volatile String displayCurrency;
+
+    /**
+     * {@code eventPublisher} is instance helpful to publish the changes of {@link #txNotes} and {@link #wallets} as
+     * {@link TxNotesEvent}
+     *
+     * @implNote events are published by the same methods that update {@link #salesStatistics} and by
+     * {@link #loadWalletList()}
+     **/
+    protected volatile TxNotesEventPublisher eventPublisher = new TxNotesEventPublisher();
+
+    /**
+     * {@code coldStorage} is instance helpful to keep the closed sells out of the heap
+     *
+     * @apiNote default value is null, so all the notes stay in {@link #txNotes}
+     **/
+    protected volatile TxNotesColdStorage coldStorage;
+
+    /**
+     * {@code archiveAge} is instance that memorizes time in milliseconds after the sell when a {@link TxNote} is moved
+     * in {@link #coldStorage}
+     **/
+    protected volatile long archiveAge;
+
     /**
      * Constructor to init {@link TxNotesAutoFetcher}
      *
@@ -70,19 +250,99 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * @implNote these keys will NOT store by library anywhere.
      **/
     public TxNotesFetcher(TraderCoreRoutines fetcherPlatform, String baseCurrency) {
-        this.fetcherPlatform = fetcherPlatform;
+        this(TxNotesLazyInit.completed(fetcherPlatform), getPlatformName(fetcherPlatform), baseCurrency);
+    }
+
+    /**
+     * This method is used to get the name of the exchange of a platform
+     *
+     * @param fetcherPlatform: platform to fetch transactions
+     * @return name of the class of the platform as {@link String}, es. the name of {@code BinanceTraderBot} also for
+     * its subclasses, so the platforms of the same exchange share the same {@link TxNotesRequestGovernor}
+     **/
+    private static String getPlatformName(TraderCoreRoutines fetcherPlatform) {
+        if (fetcherPlatform instanceof BinanceTraderBot)
+            return BinanceTraderBot.class.getName();
+        if (fetcherPlatform instanceof CoinbaseTraderBot)
+            return CoinbaseTraderBot.class.getName();
+        return fetcherPlatform.getClass().getName();
+    }
+
+    /**
+     * Constructor to init {@link TxNotesFetcher} with a platform created lazily
+     *
+     * @param platformLoader: loader of the fetcher platform to fetch transactions
+     * @param platformName:   name of the class of the platform es. the name of {@code BinanceTraderBot}
+     * @param baseCurrency:   base currency to get all amount value of traders routine es. EUR
+     * @implNote the platform is created with the first request or with {@link #initialize(Executor)}
+     **/
+    protected TxNotesFetcher(TxNotesLazyInit<? extends TraderCoreRoutines> platformLoader, String platformName,
+                             String baseCurrency) {
+        this.platformLoader = platformLoader;
+        this.platformName = platformName;
+        platformLoader.getFuture().thenAccept(platform -> fetcherPlatform = platform);
         this.baseCurrency = baseCurrency;
+        displayCurrency = baseCurrency;
+        currencyConverter = new TxNotesCurrencyConverter(baseCurrency);
+        requestGovernor = TxNotesRequestGovernor.getGovernor(platformName);
+    }
+
+    /**
+     * This method is used to get the platform to use to fetch transactions <br>
+     * Any params required
+     *
+     * @return platform as {@link TraderCoreRoutines}
+     * @throws IllegalStateException when the platform cannot be created
+     * @implNote if the platform has not been created yet it will be created in the current thread, if it is being
+     * created in background the current thread waits for it
+     **/
+    protected TraderCoreRoutines getFetcherPlatform() {
+        try {
+            return platformLoader.get();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Fetcher platform cannot be initialized", e);
+        }
+    }
+
+    /**
+     * This method is used to start in background the initialization of the fetcher, es. the creation of the
+     * platform, without waiting for it
+     *
+     * @param executor: executor where run the initialization
+     * @return whether the initialization has been started by this call as boolean
+     * @implNote use {@link #getReadiness()} to know when the initialization is completed
+     **/
+    public boolean initialize(Executor executor) {
+        return platformLoader.start(executor);
+    }
+
+    /**
+     * This method is used to get the readiness of the fetcher <br>
+     * Any params required
+     *
+     * @return future completed when the fetcher is initialized as {@link CompletableFuture}, it is completed
+     * exceptionally if the initialization fails
+     * @implNote the future does not start the initialization, use {@link #initialize(Executor)} to start it; after a
+     * failure the initialization can be started again and a new future is returned
+     **/
+    public CompletableFuture<Void> getReadiness() {
+        return platformLoader.getFuture().thenApply(platform -> null);
     }
 
     /**
      * This method is used to load all data that {@link TxNotesFetcher} has processed. <br>
-     * Methods that have been called are {@link #fetchTxNotesList()} and {@link #loadWalletList()} <br>
+     * The same operations of {@link #fetchTxNotesList()} and {@link #loadWalletList()} are made <br>
      * Any params required
+     *
+     * @implNote a single {@link #snapshot} is published at the end, so the notes and the wallets published are
+     * always of the same cycle
      **/
     public void loadAllData() throws Exception {
-        fetcherPlatform.refreshLatestPrice();
-        fetchTxNotesList();
-        loadWalletList();
+        governRequest(LATEST_PRICES);
+        getFetcherPlatform().refreshLatestPrice();
+        refreshData(true);
     }
 
     /**
@@ -93,27 +353,72 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * @throws Exception when an operation fails
      **/
     public Collection<TxNote> fetchTxNotesList() throws Exception {
-        for (Transaction transaction : fetcherPlatform.getTransactionsList(baseCurrency,
+        return refreshData(false).getTxNotes();
+    }
+
+    /**
+     * This method is used to refresh the data and to publish them with a single {@link TxNotesSnapshot}
+     *
+     * @param loadWallets: whether also the wallets must be loaded as made by {@link #loadWalletList()}
+     * @return snapshot published as {@link TxNotesSnapshot}
+     * @throws Exception when an operation fails
+     * @implNote the events of the wallets are published after the snapshot, the cycle holds {@link #refreshLock} so
+     * the changes made meanwhile by other threads are published with this snapshot or with the next one
+     **/
+    protected TxNotesSnapshot refreshData(boolean loadWallets) throws Exception {
+        ArrayList<TxNotesEvent> events;
+        TxNotesSnapshot published;
+        refreshLock.lock();
+        try {
+            pendingChanges.set(false);
+            refreshTxNotes();
+            events = loadWallets ? refreshWallets() : new ArrayList<>();
+            published = publishSnapshot();
+        } finally {
+            refreshLock.unlock();
+        }
+        publishPendingChanges();
+        for (TxNotesEvent event : events)
+            eventPublisher.publish(event);
+        return published;
+    }
+
+    /**
+     * This method is used to fetch the transactions from your exchange's account and to update {@link #txNotes}
+     * without publishing them <br>
+     * Any params required
+     *
+     * @throws Exception when an operation fails
+     **/
+    protected void refreshTxNotes() throws Exception {
+        int chargedSymbols = Math.max(1, transactionsSymbols);
+        governRequest(TRANSACTIONS, chargedSymbols);
+        HashSet<String> symbols = new HashSet<>();
+        for (Transaction transaction : getFetcherPlatform().getTransactionsList(baseCurrency,
                 "dd/MM/yyyy HH:mm:ss", true)) {
             String symbol = transaction.getSymbol();
+            symbols.add(symbol);
             TraderBotConstants.Side status = transaction.getSide();
             long timestamp = transaction.getTransactionTimestamp();
             String txKey = transaction.getBaseAsset() + timestamp;
-            double lastPrice = fetcherPlatform.getLastPrice(symbol).getLastPrice();
-            if (!txNotesDeleted.contains(txKey) && txNotes.get(txKey) == null) {
+            governRequest(LAST_PRICE);
+            double lastPrice = getFetcherPlatform().getLastPrice(symbol).getLastPrice();
+            if (!txNotesDeleted.contains(txKey) && txNotes.get(txKey) == null && !isTxNoteArchived(txKey)) {
                 double value = transaction.getValue();
                 double quantity = transaction.getQuantity();
+                boolean sold = status.equals(SELL);
                 TxNote txNote = new TxNote(symbol, status, timestamp, value, quantity, lastPrice,
-                        transaction.getBaseAsset(), transaction.getQuoteAsset());
-                if (status.equals(SELL)) {
-                    txNote.setSellDate(timestamp);
-                    txNote.setSellPrice(value / quantity);
-                }
-                txNotes.put(txKey, txNote);
+                        sold ? value / quantity : 0, sold ? timestamp : 0, transaction.getBaseAsset(),
+                        transaction.getQuoteAsset());
+                putTxNote(txKey, txNote);
+                newTxNotesFetched.incrementAndGet();
             }
         }
+        transactionsSymbols = symbols.size();
+        if (symbols.size() > chargedSymbols)
+            governRequest(TRANSACTIONS, symbols.size() - chargedSymbols);
         mergeTxNotesList();
-        return txNotes.values();
+        archiveTxNotes();
     }
 
     /**
@@ -143,24 +448,26 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
                         double soldInitialBalance = soldTx.getInitialBalance();
                         double soldQuantity = soldTx.getQuantity();
                         double boughtQuantity = boughtTx.getQuantity();
-                        double lastPrice = fetcherPlatform.getLastPrice(boughtSymbol).getLastPrice();
+                        governRequest(LAST_PRICE);
+                        double lastPrice = getFetcherPlatform().getLastPrice(boughtSymbol).getLastPrice();
                         boolean replaceSoldTx = true;
-                        if (soldQuantity < boughtQuantity) {
-                            txNotes.replace(txNoteKey, new TxNote(boughtSymbol,
+                        int soldComparison = TxNotesFixedPoint.compare(soldQuantity, boughtQuantity);
+                        if (soldComparison < 0) {
+                            replaceTxNote(txNoteKey, new TxNote(boughtSymbol,
                                     BUY,
                                     boughtTimestamp,
-                                    boughtTx.getInitialBalance() - soldInitialBalance,
-                                    boughtQuantity - soldQuantity,
+                                    TxNotesFixedPoint.subtract(boughtTx.getInitialBalance(), soldInitialBalance),
+                                    TxNotesFixedPoint.subtract(boughtQuantity, soldQuantity),
                                     lastPrice,
                                     baseAsset,
                                     quoteAsset
                             ));
-                        } else if (soldQuantity == boughtQuantity)
-                            txNotes.remove(txNoteKey);
+                        } else if (soldComparison == 0)
+                            removeTxNote(txNoteKey);
                         else
                             replaceSoldTx = false;
                         if (replaceSoldTx) {
-                            txNotes.replace(txNoteKey, new TxNote(boughtSymbol,
+                            replaceTxNote(txNoteKey, new TxNote(boughtSymbol,
                                     SELL,
                                     boughtTimestamp,
                                     soldInitialBalance,
@@ -179,15 +486,354 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
         }
     }
 
+    /**
+     * This method is used to insert a {@link TxNote} in {@link #txNotes}
+     *
+     * @param key:    key of the tx note, base asset and buy date
+     * @param txNote: tx note to insert, it replaces the one with the same key
+     **/
+    protected void putTxNote(String key, TxNote txNote) {
+        TxNote oldTxNote = txNotes.put(key, txNote);
+        salesStatistics.replaceTxNote(oldTxNote, txNote);
+        txNotesIndex.replaceTxNote(key, oldTxNote, txNote);
+        eventPublisher.publish(TxNotesEvent.txNoteChanged(key, txNote, oldTxNote));
+    }
+
+    /**
+     * This method is used to insert a {@link TxNote} in {@link #txNotes} only if its key is not used yet
+     *
+     * @param key:    key of the tx note, base asset and buy date
+     * @param txNote: tx note to insert
+     * @return whether the tx note has been inserted as boolean
+     **/
+    protected boolean putTxNoteIfAbsent(String key, TxNote txNote) {
+        if (txNotes.putIfAbsent(key, txNote) != null)
+            return false;
+        salesStatistics.addTxNote(txNote);
+        txNotesIndex.addTxNote(key, txNote);
+        eventPublisher.publish(TxNotesEvent.txNoteChanged(key, txNote, null));
+        return true;
+    }
+
+    /**
+     * This method is used to replace a {@link TxNote} in {@link #txNotes}
+     *
+     * @param key:    key of the tx note to replace
+     * @param txNote: tx note that replaces the current one, it is inserted only if the key is used
+     **/
+    protected void replaceTxNote(String key, TxNote txNote) {
+        TxNote oldTxNote = txNotes.replace(key, txNote);
+        if (oldTxNote != null) {
+            salesStatistics.replaceTxNote(oldTxNote, txNote);
+            txNotesIndex.replaceTxNote(key, oldTxNote, txNote);
+            eventPublisher.publish(TxNotesEvent.txNoteChanged(key, txNote, oldTxNote));
+        }
+    }
+
+    /**
+     * This method is used to remove a {@link TxNote} from {@link #txNotes}
+     *
+     * @param key: key of the tx note to remove
+     * @return tx note removed as {@link TxNote}, null if the key was not used
+     **/
+    protected TxNote removeTxNote(String key) {
+        TxNote txNote = txNotes.remove(key);
+        if (txNote != null)
+            salesStatistics.removeTxNote(txNote);
+        else {
+            TxNotesColdStorage storage = coldStorage;
+            if (storage == null || (txNote = storage.remove(key)) == null)
+                return null;
+            salesStatistics.removeArchivedTxNote(txNote);
+        }
+        txNotesIndex.removeTxNote(key, txNote);
+        eventPublisher.publish(TxNotesEvent.txNoteDeleted(key, txNote));
+        return txNote;
+    }
+
+    /**
+     * This method is used to get a {@link TxNote} from {@link #txNotes} or from {@link #coldStorage}
+     *
+     * @param key: key of the tx note, base asset and buy date
+     * @return tx note as {@link TxNote}, null if not found
+     **/
+    protected TxNote getTxNote(String key) {
+        TxNote txNote = txNotes.get(key);
+        if (txNote == null) {
+            TxNotesColdStorage storage = coldStorage;
+            if (storage != null)
+                txNote = storage.read(key);
+        }
+        return txNote;
+    }
+
+    /**
+     * This method is used to get if a {@link TxNote} has been moved in {@link #coldStorage}
+     *
+     * @param key: key of the tx note, base asset and buy date
+     * @return whether the tx note is archived as boolean
+     **/
+    protected boolean isTxNoteArchived(String key) {
+        TxNotesColdStorage storage = coldStorage;
+        return storage != null && storage.contains(key);
+    }
+
+    /**
+     * This method is used to move the closed sells older than {@link #archiveAge} from {@link #txNotes} to
+     * {@link #coldStorage} <br>
+     * Any params required
+     *
+     * @return number of tx notes moved as int
+     * @implNote the notes moved are still counted by {@link #salesStatistics} and by the wallets and are returned by
+     * {@link #queryTxNotes()}, but they are not included in the {@link #snapshot}
+     **/
+    public synchronized int archiveTxNotes() {
+        TxNotesColdStorage storage = coldStorage;
+        if (storage == null)
+            return 0;
+        long archiveDate = System.currentTimeMillis() - archiveAge;
+        int archivedTxNotes = 0;
+        for (Map.Entry<String, TxNote> entry : txNotes.entrySet()) {
+            TxNote txNote = entry.getValue();
+            long sellDate = txNote.getSellDateTimestamp();
+            if (txNote.getStatus() == SELL && sellDate > 0 && sellDate <= archiveDate) {
+                String key = entry.getKey();
+                storage.write(key, txNote);
+                txNotes.remove(key, txNote);
+                salesStatistics.archiveTxNote(txNote);
+                txNotesIndex.archiveTxNote(key, txNote);
+                archivedTxNotes++;
+            }
+        }
+        return archivedTxNotes;
+    }
+
+    /**
+     * This method is used to enable the tiered storage of the {@link TxNote}
+     *
+     * @param segmentFile: local file where the closed sells will be moved
+     * @param archiveAge:  time in milliseconds after the sell when a {@link TxNote} is moved, es. 2592000000 (30 days)
+     * @throws IOException              when the file cannot be opened
+     * @throws IllegalArgumentException when archiveAge is negative
+     * @implNote notes are moved at the end of each {@link #fetchTxNotesList()}, a tiered storage already enabled is
+     * disabled first
+     **/
+    public synchronized void enableTieredStorage(File segmentFile, long archiveAge) throws IOException {
+        if (archiveAge < 0)
+            throw new IllegalArgumentException("Archive age cannot be negative");
+        disableTieredStorage();
+        TxNotesColdStorage storage = new TxNotesColdStorage(segmentFile);
+        txNotesIndex.setArchive(storage);
+        this.archiveAge = archiveAge;
+        coldStorage = storage;
+    }
+
+    /**
+     * This method is used to disable the tiered storage, all the {@link TxNote} archived are moved back in
+     * {@link #txNotes} <br>
+     * Any params required
+     *
+     * @throws IOException when the segment file cannot be closed
+     **/
+    public synchronized void disableTieredStorage() throws IOException {
+        TxNotesColdStorage storage = coldStorage;
+        if (storage == null)
+            return;
+        for (String key : storage.getKeys()) {
+            TxNote txNote = storage.read(key);
+            txNotes.put(key, txNote);
+            salesStatistics.restoreTxNote(txNote);
+            txNotesIndex.replaceTxNote(key, txNote, txNote);
+        }
+        coldStorage = null;
+        txNotesIndex.setArchive(null);
+        storage.close();
+        publishChanges();
+    }
+
+    /**
+     * Method to get {@link #coldStorage} instance <br>
+     * Any params required
+     *
+     * @return {@link #coldStorage} instance as {@link TxNotesColdStorage}, null if the tiered storage is not enabled
+     **/
+    public TxNotesColdStorage getColdStorage() {
+        return coldStorage;
+    }
+
+    /**
+     * This method is used to create a new query on the {@link TxNote} fetched <br>
+     * Any params required
+     *
+     * @return query as {@link TxNotesQuery}
+     * @implNote the query reads {@link #txNotesIndex}, so it returns the current notes also while a refresh is
+     * running, es. {@code queryTxNotes().asset("BTC").status(SELL).sortBy(SELL_DATE, true).limit(50)}
+     **/
+    public TxNotesQuery queryTxNotes() {
+        return txNotesIndex.query();
+    }
+
+    /**
+     * This method is used to subscribe to the changes of {@link #txNotes} and {@link #wallets}
+     *
+     * @param subscriber: subscriber of the changes
+     * @implNote each subscriber receives only the events published after its subscription
+     **/
+    public void subscribe(Flow.Subscriber<? super TxNotesEvent> subscriber) {
+        eventPublisher.subscribe(subscriber);
+    }
+
+    /**
+     * Method to get {@link #eventPublisher} instance <br>
+     * Any params required
+     *
+     * @return {@link #eventPublisher} instance as {@link TxNotesEventPublisher}
+     **/
+    public TxNotesEventPublisher getEventPublisher() {
+        return eventPublisher;
+    }
+
+    /**
+     * Method to set {@link #eventPublisher} instance
+     *
+     * @param eventPublisher: publisher to use, es. with a different buffer capacity
+     * @throws IllegalArgumentException when eventPublisher is null
+     * @implNote subscribers of the current publisher are not moved to the new one
+     **/
+    public void setEventPublisher(TxNotesEventPublisher eventPublisher) {
+        if (eventPublisher == null)
+            throw new IllegalArgumentException("Event publisher cannot be null");
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * This method is used to get the statistics of the sales <br>
+     * Any params required
+     *
+     * @return statistics as {@link SalesSummary}
+     * @implNote statistics are updated with each {@link TxNote} changed, so this method does not scan the notes
+     **/
+    public SalesSummary getSalesSummary() {
+        return salesStatistics.getSummary();
+    }
+
     /**
      * This method is used to get list of {@link TxNote} already fetched
      *
      * @return list as {@link Collection} of {@link TxNote}
      * @implNote this method avoid the loading of the list if you need to use list already fetched but with past loading
-     * cycle values
+     * cycle values, the list returned is the read-only view of the last {@link #snapshot} published
      **/
     public Collection<TxNote> getTxNotesFetched() {
-        return txNotes.values();
+        return snapshot.getTxNotes();
+    }
+
+    /**
+     * This method is used to publish a new {@link TxNotesSnapshot} with the current {@link #txNotes} and
+     * {@link #wallets} values <br>
+     * Any params required
+     *
+     * @return snapshot published as {@link TxNotesSnapshot}
+     **/
+    protected synchronized TxNotesSnapshot publishSnapshot() {
+        snapshot = new TxNotesSnapshot(snapshot.getVersion() + 1, new LinkedHashMap<>(txNotes),
+                new LinkedHashMap<>(wallets));
+        walletIndex.update(snapshot.getWallets());
+        return snapshot;
+    }
+
+    /**
+     * This method is used to publish the changes made outside a refresh cycle, es. a {@link TxNote} deleted <br>
+     * Any params required
+     *
+     * @implNote when a refresh cycle is running the {@link #snapshot} is not published by this method, because it
+     * would pair the notes merged only in part with the wallets of the previous cycle, so the changes are published at
+     * the end of the cycle
+     **/
+    protected void publishChanges() {
+        pendingChanges.set(true);
+        publishPendingChanges();
+    }
+
+    /**
+     * This method is used to publish a new {@link #snapshot} if there are changes not published yet and no refresh
+     * cycle is running <br>
+     * Any params required
+     **/
+    private void publishPendingChanges() {
+        while (pendingChanges.get() && refreshLock.tryLock()) {
+            try {
+                if (pendingChanges.getAndSet(false))
+                    publishSnapshot();
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * This method is used to restore the data of a {@link TxNotesSnapshot}, es. published by another process
+     *
+     * @param snapshot: snapshot to restore
+     * @implNote notes and wallets already loaded or deleted are not replaced, wallets are rebuilt with the notes of
+     * their asset; the data will be refreshed by the next {@link #loadAllData()}
+     **/
+    public void restoreSnapshot(TxNotesSnapshot snapshot) {
+        restoreSnapshot(snapshot, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * This method is used to restore the data of a {@link TxNotesSnapshot} and the deletions made by another process
+     *
+     * @param snapshot:       snapshot to restore
+     * @param txNotesDeleted: keys of the {@link TxNote} deleted by the other process
+     * @param walletsDeleted: indexes of the {@link Wallet} deleted by the other process
+     * @implNote the deletions are applied first, so the notes and the wallets deleted are removed also when they are
+     * already loaded by this fetcher; then notes and wallets already loaded or deleted are not replaced, wallets are
+     * rebuilt with the notes of their asset; the data will be refreshed by the next {@link #loadAllData()}
+     **/
+    public synchronized void restoreSnapshot(TxNotesSnapshot snapshot, Collection<String> txNotesDeleted,
+                                             Collection<String> walletsDeleted) {
+        for (String key : txNotesDeleted) {
+            if (!this.txNotesDeleted.contains(key))
+                this.txNotesDeleted.add(key);
+            removeTxNote(key);
+        }
+        for (String index : walletsDeleted) {
+            if (!this.walletsDeleted.contains(index))
+                this.walletsDeleted.add(index);
+            Wallet wallet = wallets.remove(index);
+            if (wallet != null)
+                eventPublisher.publish(TxNotesEvent.walletChanged(EventType.WALLET_DELETED, wallet));
+        }
+        HashMap<String, ArrayList<TxNote>> assetNotes = new HashMap<>();
+        for (TxNote txNote : snapshot.getTxNotes()) {
+            String key = txNote.getBaseAsset() + txNote.getBuyDateTimestamp();
+            if (!txNotesDeleted.contains(key) && !isTxNoteArchived(key)) {
+                putTxNoteIfAbsent(key, txNote);
+                assetNotes.computeIfAbsent(txNote.getBaseAsset(), asset -> new ArrayList<>()).add(txNotes.get(key));
+            }
+        }
+        for (Wallet wallet : snapshot.getWallets()) {
+            String index = wallet.getIndex();
+            if (!walletsDeleted.contains(index) && !wallets.containsKey(index)) {
+                Wallet restoredWallet = new Wallet(index, wallet.getName(), wallet.getLastPrice(), wallet.getTrend(),
+                        assetNotes.getOrDefault(index, new ArrayList<>()));
+                restoredWallet.setValueSeries(wallet.getValueSeries());
+                wallets.put(index, restoredWallet);
+            }
+        }
+        publishChanges();
+    }
+
+    /**
+     * Method to get {@link #snapshot} instance <br>
+     * Any params required
+     *
+     * @return {@link #snapshot} instance as {@link TxNotesSnapshot}
+     **/
+    public TxNotesSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -200,7 +846,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     @Override
     public TxNote fetchTxNote(String asset, long checkDate) {
-        return txNotes.get(asset + checkDate);
+        return getTxNote(asset + checkDate);
     }
 
     /**
@@ -213,7 +859,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     @Override
     public TxNote fetchTxNote(String asset, String checkDate) {
-        return txNotes.get(asset + getDateTimestamp(checkDate));
+        return fetchTxNote(asset, parseDate(checkDate));
     }
 
     /**
@@ -239,11 +885,11 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     @Override
     public TxNote fetchTxNoteSold(String asset, long checkDate) {
-        for (TxNote txNote : txNotes.values())
-            if (txNote.getStatus().equals(SELL) && txNote.getBaseAsset().equals(asset)
-                    && txNote.getSellDateTimestamp() == checkDate)
-                return txNote;
-        return null;
+        Iterator<TxNote> sold = queryTxNotes().asset(asset)
+                .soldBetween(checkDate, checkDate)
+                .sortBy(SortField.SELL_DATE, false)
+                .iterator();
+        return sold.hasNext() ? sold.next() : null;
     }
 
     /**
@@ -256,11 +902,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     @Override
     public TxNote fetchTxNoteSold(String asset, String checkDate) {
-        for (TxNote txNote : txNotes.values())
-            if (txNote.getStatus().equals(SELL) && txNote.getBaseAsset().equals(asset)
-                    && txNote.getSellDate().equals(checkDate))
-                return txNote;
-        return null;
+        return fetchTxNoteSold(asset, parseDate(checkDate));
     }
 
     /**
@@ -283,15 +925,18 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * @param removeDate: timestamp of the date to delete from {@link #txNotes} list
      * @return result of deletion as boolean
      * @implNote if a {@link TxNote} corresponds with removeDate param its timestamp will be inserted
-     * in {@link #txNotesDeleted} list so to not be reinserted anymore in {@link #txNotes} main list
+     * in {@link #txNotesDeleted} list so to not be reinserted anymore in {@link #txNotes} main list, the deletion is
+     * published with {@link #publishChanges()}
      * @apiNote this method search only for the buy date of a transaction
      **/
     @Override
     public boolean deleteTxNote(String asset, long removeDate) {
         if (!txNotesDeleted.contains(asset + removeDate)) {
-            boolean delete = txNotes.remove(asset + removeDate) != null;
-            if (delete)
+            boolean delete = removeTxNote(asset + removeDate) != null;
+            if (delete) {
                 txNotesDeleted.add(asset + removeDate);
+                publishChanges();
+            }
             return delete;
         }
         return false;
@@ -309,7 +954,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      **/
     @Override
     public boolean deleteTxNote(String asset, String removeDate) {
-        return deleteTxNote(asset, getDateTimestamp(removeDate));
+        return deleteTxNote(asset, parseDate(removeDate));
     }
 
     /**
@@ -353,7 +998,27 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * Any params required
      **/
     public void loadWalletList() {
-        wallets.clear();
+        ArrayList<TxNotesEvent> events;
+        refreshLock.lock();
+        try {
+            events = refreshWallets();
+            publishSnapshot();
+        } finally {
+            refreshLock.unlock();
+        }
+        publishPendingChanges();
+        for (TxNotesEvent event : events)
+            eventPublisher.publish(event);
+    }
+
+    /**
+     * This method is used to load the wallets by current {@link TxNote} details in {@link #wallets} without
+     * publishing them <br>
+     * Any params required
+     *
+     * @return events of the wallets changed to publish after the snapshot as {@link ArrayList} of {@link TxNotesEvent}
+     **/
+    protected ArrayList<TxNotesEvent> refreshWallets() {
         HashMap<String, ArrayList<TxNote>> notes = new HashMap<>();
         for (TxNote txNote : txNotes.values()) {
             String index = txNote.getBaseAsset();
@@ -365,24 +1030,177 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
                     walletNotes.add(txNote);
             }
         }
+        TxNotesColdStorage storage = coldStorage;
+        if (storage != null) {
+            for (String index : storage.getAssets())
+                if (!walletsDeleted.contains(index))
+                    notes.putIfAbsent(index, new ArrayList<>());
+        }
+        HashMap<String, Wallet> loadedWallets = new HashMap<>();
+        long refreshTimestamp = System.currentTimeMillis();
+        ArrayList<TxNotesEvent> events = new ArrayList<>();
+        boolean publishEvents = eventPublisher.hasSubscribers();
         for (String index : notes.keySet()) {
-            MarketCoin market = fetcherPlatform.getLastPrice(index + baseCurrency);
-            wallets.put(index, new Wallet(index,
+            governRequest(LAST_PRICE);
+            MarketCoin market = getFetcherPlatform().getLastPrice(index + baseCurrency);
+            Wallet pastWallet = wallets.get(index);
+            if (pastWallet != null && pastWallet.getLastPrice() != 0) {
+                double priceChange = Math.abs((market.getLastPrice() - pastWallet.getLastPrice())
+                        / pastWallet.getLastPrice() * 100);
+                if (priceChange > maxPriceChange)
+                    maxPriceChange = priceChange;
+            }
+            Wallet wallet = new Wallet(index,
                     market.getLastPrice(),
                     market.getPriceChangePercent(),
                     notes.get(index)
-            ));
+            );
+            if (storage != null)
+                wallet.setArchivedTxNotes(storage.getTxNotesNumber(index), storage.getIncomePercent(index));
+            wallet.carryCostBases(pastWallet);
+            TxNotesValueSeries valueSeries = pastWallet != null ? pastWallet.getValueSeries() : null;
+            if (valueSeries == null)
+                valueSeries = new TxNotesValueSeries();
+            valueSeries.record(refreshTimestamp, wallet);
+            wallet.setValueSeries(valueSeries);
+            loadedWallets.put(index, wallet);
+            if (publishEvents)
+                collectWalletEvents(pastWallet, wallet, events);
+        }
+        if (publishEvents) {
+            for (Wallet wallet : wallets.values())
+                if (!loadedWallets.containsKey(wallet.getIndex()))
+                    events.add(TxNotesEvent.walletChanged(EventType.WALLET_DELETED, wallet));
+        }
+        wallets.keySet().retainAll(loadedWallets.keySet());
+        wallets.putAll(loadedWallets);
+        refreshConversionRates();
+        return events;
+    }
+
+    /**
+     * This method is used to collect the events of a {@link Wallet} loaded
+     *
+     * @param pastWallet: wallet loaded by the previous refresh, null if not loaded
+     * @param wallet:     wallet loaded
+     * @param events:     list where the events are collected
+     **/
+    private void collectWalletEvents(Wallet pastWallet, Wallet wallet, ArrayList<TxNotesEvent> events) {
+        if (pastWallet == null) {
+            events.add(TxNotesEvent.walletChanged(EventType.WALLET_UPDATED, wallet));
+            return;
+        }
+        if (pastWallet.getLastPrice() != wallet.getLastPrice() || pastWallet.getTrend() != wallet.getTrend())
+            events.add(TxNotesEvent.walletChanged(EventType.PRICE_UPDATED, wallet));
+        List<TxNote> walletTxNotes = wallet.getTxNotes();
+        boolean updated = pastWallet.getTxNotes().size() != walletTxNotes.size();
+        for (int j = 0; j < walletTxNotes.size() && !updated; j++)
+            updated = !pastWallet.containsTxNote(walletTxNotes.get(j));
+        if (updated)
+            events.add(TxNotesEvent.walletChanged(EventType.WALLET_UPDATED, wallet));
+    }
+
+    /**
+     * This method is used to refresh the conversion rates cached by {@link #currencyConverter} <br>
+     * Any params required
+     *
+     * @implNote a rate that cannot be fetched keeps its last value
+     **/
+    public void refreshConversionRates() {
+        for (String currency : currencyConverter.getCurrencies()) {
+            double rate = fetchConversionRate(currency);
+            if (rate > 0)
+                currencyConverter.setRate(currency, rate);
         }
     }
 
+    /**
+     * This method is used to fetch from the exchange the value of one unit of {@link #baseCurrency} in a currency
+     *
+     * @param currency: currency of the rate es. USDT
+     * @return rate as double, -1 if it cannot be fetched
+     * @implNote the direct pair is tried first, then the inverse pair, then the cross rate through the assets of the
+     * {@link #wallets}
+     **/
+    protected double fetchConversionRate(String currency) {
+        double price = fetchPairPrice(baseCurrency + currency);
+        if (price > 0)
+            return price;
+        price = fetchPairPrice(currency + baseCurrency);
+        if (price > 0)
+            return 1 / price;
+        for (Wallet wallet : wallets.values()) {
+            price = fetchPairPrice(wallet.getIndex() + currency);
+            if (price > 0 && wallet.getLastPrice() > 0)
+                return price / wallet.getLastPrice();
+        }
+        return -1;
+    }
+
+    /**
+     * This method is used to fetch the last price of a pair
+     *
+     * @param symbol: symbol of the pair es. BTCUSDT
+     * @return last price as double, -1 if the pair is not available
+     * @implNote the reason why the pair is not available is printed with the routine messages of the platform
+     **/
+    private double fetchPairPrice(String symbol) {
+        try {
+            governRequest(LAST_PRICE);
+            MarketCoin market = getFetcherPlatform().getLastPrice(symbol);
+            if (market != null)
+                return market.getLastPrice();
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            getFetcherPlatform().printRed("Last price of " + symbol + " is not available: " + e);
+        }
+        return -1;
+    }
+
     /**
      * This method is used to get list of your account wallets by current {@link TxNote} details <br>
      * Any params required
      *
      * @return list as {@link Collection} of {@link Wallet} custom object
+     * @implNote the list returned is the read-only view of the last {@link #snapshot} published
      **/
     public Collection<Wallet> getWallets() {
-        return wallets.values();
+        return snapshot.getWallets();
+    }
+
+    /**
+     * Method to get {@link #walletIndex} instance <br>
+     * Any params required
+     *
+     * @return {@link #walletIndex} instance as {@link TxNotesWalletIndex}
+     **/
+    public TxNotesWalletIndex getWalletIndex() {
+        return walletIndex;
+    }
+
+    /**
+     * This method is used to get the wallets with the highest value of a metric
+     *
+     * @param metric: metric to sort by
+     * @param limit:  max number of wallets to get
+     * @return wallets sorted from the highest value as {@link ArrayList} of {@link Wallet}
+     **/
+    public ArrayList<Wallet> getTopWallets(WalletMetric metric, int limit) {
+        return walletIndex.getTopWallets(metric, limit);
+    }
+
+    /**
+     * This method is used to get a page of the wallets sorted by a metric
+     *
+     * @param metric:     metric to sort by
+     * @param descending: whether the wallets are sorted from the highest value
+     * @param page:       number of the page, starting from 0
+     * @param pageSize:   number of wallets for each page
+     * @return wallets of the page as {@link ArrayList} of {@link Wallet}
+     **/
+    public ArrayList<Wallet> getWalletsPage(WalletMetric metric, boolean descending, int page, int pageSize) {
+        return walletIndex.getWalletsPage(metric, descending, page, pageSize);
     }
 
     /**
@@ -404,7 +1222,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
     public Wallet getWalletByName(String name) {
         String index = getCryptocurrencySymbol(name);
         if (index != null)
-            return wallets.get(index);
+            return getWalletByIndex(index);
         return null;
     }
 
@@ -413,14 +1231,18 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      *
      * @param index: index of the wallet to remove es. BTC
      * @return wallet as {@link Wallet} custom object
+     * @implNote the deletion is published with {@link #publishChanges()}
      **/
     public boolean removeWalletByIndex(String index) {
         if (index != null) {
             index = index.toUpperCase();
-            boolean removed = wallets.remove(index) != null;
-            if (removed)
+            Wallet wallet = wallets.remove(index);
+            if (wallet != null) {
                 walletsDeleted.add(index);
-            return removed;
+                publishChanges();
+                eventPublisher.publish(TxNotesEvent.walletChanged(EventType.WALLET_DELETED, wallet));
+            }
+            return wallet != null;
         }
         return false;
     }
@@ -450,7 +1272,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * @throws IllegalArgumentException if {@code refreshTime} value is less than 5(5s) and if is bigger than 3600(1h)
      **/
     public void setRefreshTime(int refreshTime) {
-        fetcherPlatform.setRefreshTime(refreshTime);
+        getFetcherPlatform().setRefreshTime(refreshTime);
     }
 
     /**
@@ -458,9 +1280,11 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * Any params required.
      *
      * @return time to refresh data as int
+     * @implNote if the platform has not been created yet the current thread waits for it, see
+     * {@link #getFetcherPlatform()}
      **/
     public int getRefreshTime() {
-        return fetcherPlatform.getRefreshTime();
+        return getFetcherPlatform().getRefreshTime();
     }
 
     /**
@@ -470,15 +1294,227 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * @return time to refresh data in seconds (s) format as int
      **/
     public int getRefreshTimeSeconds() {
-        return fetcherPlatform.getRefreshTimeSeconds();
+        return getFetcherPlatform().getRefreshTimeSeconds();
+    }
+
+    /**
+     * This method is used to enable the adaptive refresh time
+     *
+     * @param minRefreshTime: min refresh time in seconds, used when new transactions arrive or prices move sharply
+     * @param maxRefreshTime: max refresh time in seconds, reached when the account is quiet
+     * @throws IllegalArgumentException when refresh times are not between 5(5s) and 3600(1h) or when minRefreshTime is
+     *                                  bigger than maxRefreshTime
+     **/
+    public void enableAdaptiveRefresh(int minRefreshTime, int maxRefreshTime) {
+        enableAdaptiveRefresh(new TxNotesRefreshScheduler(minRefreshTime, maxRefreshTime));
+    }
+
+    /**
+     * This method is used to enable the adaptive refresh time
+     *
+     * @param refreshScheduler: scheduler to use to compute the refresh time
+     **/
+    public void enableAdaptiveRefresh(TxNotesRefreshScheduler refreshScheduler) {
+        if (refreshScheduler == null)
+            throw new IllegalArgumentException("Refresh scheduler cannot be null");
+        this.refreshScheduler = refreshScheduler;
+    }
+
+    /**
+     * This method is used to disable the adaptive refresh time, so the refresh time of {@link #getFetcherPlatform()}
+     * will be used <br>
+     * Any params required
+     **/
+    public void disableAdaptiveRefresh() {
+        refreshScheduler = null;
+    }
+
+    /**
+     * Method to get {@link #refreshScheduler} instance <br>
+     * Any params required
+     *
+     * @return {@link #refreshScheduler} instance as {@link TxNotesRefreshScheduler}, null if the adaptive refresh time
+     * is not enabled
+     **/
+    public TxNotesRefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
+    }
+
+    /**
+     * This method is used to get the current refresh time in seconds (s) format <br>
+     * Any params required
+     *
+     * @return current refresh time in seconds (s) format as int
+     * @implNote when the adaptive refresh time is enabled it is the last value computed by {@link #refreshScheduler}
+     **/
+    public int getCurrentRefreshTime() {
+        TxNotesRefreshScheduler scheduler = refreshScheduler;
+        if (scheduler != null)
+            return scheduler.getRefreshTime();
+        return getRefreshTimeSeconds();
+    }
+
+    /**
+     * Method to get {@link #requestGovernor} instance <br>
+     * Any params required
+     *
+     * @return {@link #requestGovernor} instance as {@link TxNotesRequestGovernor}, null if the pacing is disabled
+     **/
+    public TxNotesRequestGovernor getRequestGovernor() {
+        return requestGovernor;
+    }
+
+    /**
+     * Method to set {@link #requestGovernor} instance
+     *
+     * @param requestGovernor: governor to use, null to disable the pacing of the requests
+     * @implNote to share it with other fetchers register it with
+     * {@link TxNotesRequestGovernor#registerGovernor(String, TxNotesRequestGovernor)}
+     **/
+    public void setRequestGovernor(TxNotesRequestGovernor requestGovernor) {
+        this.requestGovernor = requestGovernor;
+    }
+
+    /**
+     * This method is used to get the budget left to make requests to the exchange <br>
+     * Any params required
+     *
+     * @return weight available as int, -1 if the pacing is disabled
+     **/
+    public int getRemainingRequestBudget() {
+        TxNotesRequestGovernor governor = requestGovernor;
+        if (governor == null)
+            return -1;
+        return governor.getRemainingBudget();
+    }
+
+    /**
+     * Method to get {@link #exchangeBreaker} instance <br>
+     * Any params required
+     *
+     * @return {@link #exchangeBreaker} instance as {@link TxNotesCircuitBreaker}
+     **/
+    public TxNotesCircuitBreaker getExchangeBreaker() {
+        return exchangeBreaker;
+    }
+
+    /**
+     * This method is used to make a call to an external dependency guarded by a {@link TxNotesCircuitBreaker}
+     *
+     * @param breaker: circuit breaker of the dependency
+     * @param call:    call to make, it returns whether it has been successful
+     * @return whether the call has been made and has been successful as boolean
+     * @throws InterruptedException when the thread is interrupted during the call, es. while {@link #governRequest}
+     *                              waits, the interruption is not recorded as failure
+     * @implNote when the circuit is open the call is skipped, exceptions thrown by the call are recorded as failures
+     * and not propagated, so the last {@link #snapshot} published keeps being served; when the call ends without a
+     * result, es. for an interruption or an {@link Error}, the trial of the breaker is released
+     **/
+    protected boolean callDependency(TxNotesCircuitBreaker breaker, Callable<Boolean> call) throws InterruptedException {
+        if (!breaker.allowRequest())
+            return false;
+        boolean recorded = false;
+        try {
+            boolean successful = call.call();
+            if (successful)
+                breaker.recordSuccess();
+            else
+                breaker.recordFailure(null);
+            recorded = true;
+            return successful;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (CancellationException e) {
+            if (Thread.interrupted()) {
+                InterruptedException interruption = new InterruptedException(e.getMessage());
+                interruption.initCause(e);
+                throw interruption;
+            }
+            breaker.recordFailure(e);
+            recorded = true;
+        } catch (Exception e) {
+            breaker.recordFailure(e);
+            recorded = true;
+        } finally {
+            if (!recorded)
+                breaker.releaseTrial();
+        }
+        return false;
+    }
+
+    /**
+     * This method is used to wait until {@link #requestGovernor} allows a request to the exchange
+     *
+     * @param type: type of the request to make
+     * @throws CancellationException when the thread is interrupted while waiting, so the request must not be made
+     * @implNote the interruption is kept on the thread, so the cycle that makes the request can stop
+     **/
+    protected void governRequest(RequestType type) {
+        governRequest(type, 1);
+    }
+
+    /**
+     * This method is used to wait until {@link #requestGovernor} allows many requests of the same type to the exchange
+     *
+     * @param type:     type of the requests to make
+     * @param requests: number of requests to make, es. the symbols queried to fetch the transactions list
+     * @throws CancellationException when the thread is interrupted while waiting, so the requests must not be made
+     * @implNote the interruption is kept on the thread, so the cycle that makes the requests can stop
+     **/
+    protected void governRequest(RequestType type, int requests) {
+        TxNotesRequestGovernor governor = requestGovernor;
+        if (governor != null) {
+            try {
+                governor.acquire(type, governor.getWeight(type) * requests);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                CancellationException cancellation = new CancellationException("Request to the exchange cancelled "
+                        + "because the thread has been interrupted");
+                cancellation.initCause(e);
+                throw cancellation;
+            }
+        }
+    }
+
+    /**
+     * This method is used to compute the time to wait before the next refresh cycle <br>
+     * Any params required
+     *
+     * @return time to wait in milliseconds as long
+     * @implNote when the adaptive refresh time is enabled it depends on new transactions and on price changes found
+     * since the last call
+     **/
+    protected long computeNextRefreshTime() {
+        TxNotesRefreshScheduler scheduler = refreshScheduler;
+        int newTxNotes = newTxNotesFetched.getAndSet(0);
+        double priceChange = maxPriceChange;
+        maxPriceChange = 0;
+        if (scheduler != null)
+            return scheduler.computeRefreshTime(newTxNotes, priceChange) * 1000L;
+        return getFetcherPlatform().getRefreshTime();
+    }
+
+    /**
+     * This method is used to compute the time to wait after a refresh cycle failed for an unexpected error, es. a
+     * platform that cannot be created
+     *
+     * @param failures: number of consecutive cycles failed
+     * @return time to wait in milliseconds as long, it starts from {@link #MIN_CYCLE_BACKOFF} and doubles at each
+     * failure up to {@link #MAX_CYCLE_BACKOFF}
+     **/
+    protected static long computeCycleBackoff(int failures) {
+        return Math.min(MAX_CYCLE_BACKOFF, MIN_CYCLE_BACKOFF << Math.min(Math.max(failures - 1, 0), 20));
     }
 
     /**
      * This method is used to get error of any requests<br>
      * Any params required
+     *
+     * @implNote if the platform has not been created yet the current thread waits for it, see
+     * {@link #getFetcherPlatform()}
      **/
     public String getErrorMessage() {
-        return fetcherPlatform.getErrorResponse();
+        return getFetcherPlatform().getErrorResponse();
     }
 
     /**
@@ -486,7 +1522,7 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * Any params required
      **/
     public void printErrorMessage() {
-        fetcherPlatform.printErrorMessage();
+        getFetcherPlatform().printErrorMessage();
     }
 
     /**
@@ -501,11 +1537,134 @@ public abstract class TxNotesFetcher implements TxNote.TxNotesListManager {
      * This method is used to set base currency for change amount value
      *
      * @param baseCurrency: base currency to get all amount value of traders routine es. EUR
+     * @implNote the values already fetched are in the previous base currency, so the {@link TxNote} and the
+     * {@link Wallet} fetched are removed and an empty {@link #snapshot} is published, the next refresh fetches them
+     * again in the new base currency; the {@link TxNote} and the wallets deleted stay deleted
      **/
-    public void setBaseCurrency(String baseCurrency) {
+    public synchronized void setBaseCurrency(String baseCurrency) {
         if (baseCurrency == null || baseCurrency.isEmpty())
             throw new IllegalArgumentException("Currency cannot be null or empty, but for example EUR or USDT");
+        if (baseCurrency.equals(this.baseCurrency))
+            return;
         this.baseCurrency = baseCurrency;
+        currencyConverter.setPivotCurrency(baseCurrency);
+        if (!currencyConverter.hasRate(displayCurrency))
+            displayCurrency = baseCurrency;
+        invalidateFetchedData();
+    }
+
+    /**
+     * This method is used to remove all the {@link TxNote} and the {@link Wallet} fetched, also the archived ones, and
+     * to publish an empty {@link #snapshot} <br>
+     * Any params required
+     *
+     * @implNote the data are removed in bulk, so a single {@link EventType#DATA_RESET} event is published instead of
+     * an event for each note; {@link #txNotesDeleted} and {@link #walletsDeleted} are kept
+     **/
+    protected void invalidateFetchedData() {
+        txNotes.clear();
+        txNotesIndex.clear();
+        salesStatistics.clear();
+        TxNotesColdStorage storage = coldStorage;
+        if (storage != null)
+            storage.clear();
+        wallets.clear();
+        publishChanges();
+        eventPublisher.publish(TxNotesEvent.dataReset());
+    }
+
+    /**
+     * Method to get {@link #displayCurrency} instance <br>
+     * Any params required
+     *
+     * @return {@link #displayCurrency} instance as {@link String}
+     **/
+    public String getDisplayCurrency() {
+        return displayCurrency;
+    }
+
+    /**
+     * This method is used to set the currency used to show the values, without fetching again the transactions
+     *
+     * @param displayCurrency: currency used to show the values es. USDT
+     * @throws IllegalArgumentException when the currency is null or empty
+     * @throws IllegalStateException    when the conversion rate is not cached and cannot be fetched
+     * @implNote the rate is fetched only the first time a currency is used, then it is refreshed with the wallets
+     **/
+    public void setDisplayCurrency(String displayCurrency) {
+        if (displayCurrency == null || displayCurrency.isEmpty())
+            throw new IllegalArgumentException("Currency cannot be null or empty, but for example EUR or USDT");
+        if (!currencyConverter.hasRate(displayCurrency)) {
+            double rate = fetchConversionRate(displayCurrency);
+            if (rate <= 0)
+                throw new IllegalStateException("Conversion rate from " + baseCurrency + " to " + displayCurrency
+                        + " is not available");
+            currencyConverter.setRate(displayCurrency, rate);
+        }
+        this.displayCurrency = displayCurrency;
+    }
+
+    /**
+     * Method to get {@link #currencyConverter} instance <br>
+     * Any params required
+     *
+     * @return {@link #currencyConverter} instance as {@link TxNotesCurrencyConverter}
+     **/
+    public TxNotesCurrencyConverter getCurrencyConverter() {
+        return currencyConverter;
+    }
+
+    /**
+     * This method is used to convert a value from {@link #baseCurrency} to {@link #displayCurrency}
+     *
+     * @param value: value in {@link #baseCurrency}
+     * @return value in {@link #displayCurrency} as double
+     **/
+    public double toDisplayCurrency(double value) {
+        return currencyConverter.convert(value, baseCurrency, displayCurrency);
+    }
+
+    /**
+     * This method is used to get the balance of a wallet in {@link #displayCurrency}
+     *
+     * @param wallet: wallet to value
+     * @return balance in {@link #displayCurrency} as double
+     **/
+    public double getDisplayBalance(Wallet wallet) {
+        return toDisplayCurrency(wallet.getBalance());
+    }
+
+    /**
+     * This method is used to get the initial balance of a wallet in {@link #displayCurrency}
+     *
+     * @param wallet: wallet to value
+     * @return initial balance in {@link #displayCurrency} as double
+     **/
+    public double getDisplayInitialBalance(Wallet wallet) {
+        return toDisplayCurrency(wallet.getInitialBalance());
+    }
+
+    /**
+     * This method is used to get the last price of a wallet in {@link #displayCurrency}
+     *
+     * @param wallet: wallet to value
+     * @return last price in {@link #displayCurrency} as double
+     **/
+    public double getDisplayLastPrice(Wallet wallet) {
+        return toDisplayCurrency(wallet.getLastPrice());
+    }
+
+    /**
+     * This method is used to get the total balance of all the wallets in {@link #displayCurrency} <br>
+     * Any params required
+     *
+     * @return total balance in {@link #displayCurrency} as double
+     **/
+    public double getDisplayTotalBalance() {
+        double balance = 0;
+        for (Wallet wallet : getWallets())
+            balance += wallet.getBalance();
+        return toDisplayCurrency(balance);
     }
 
 }
@@ -0,0 +1,257 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import com.tecknobit.traderbot.traders.interfaces.BinanceTraderBot;
+import com.tecknobit.traderbot.traders.interfaces.CoinbaseTraderBot;
+import com.tecknobit.txnotes.fetchers.interfaces.android.AndroidBinanceFetcher;
+import com.tecknobit.txnotes.fetchers.interfaces.android.AndroidCoinbaseFetcher;
+import com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWorkflow.TxNotesCredentials;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code TxNotesFetcherFactory} class is useful to create many fetchers without waiting for the creation of
+ * their exchange clients and for the login on the {@code TxNotes} server. <br>
+ * Each fetcher is returned immediately and is initialized in background on a pool with a bounded number of threads,
+ * or lazily with its first request, so the time to start many accounts depends on the parallelism and not on the
+ * number of the accounts
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote requests made to a fetcher not initialized yet wait for its initialization, use
+ * {@link TxNotesFetcher#getReadiness()} or {@link #getReadiness()} to know when the fetchers are ready
+ **/
+
+public class TxNotesFetcherFactory implements AutoCloseable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is instance that memorizes default number of fetchers initialized at the same time
+     **/
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * {@code InitMode} list of available modes to initialize the fetchers
+     **/
+    public enum InitMode {
+
+        /**
+         * {@code LAZY} mode, each fetcher is initialized with its first request in the thread that makes it
+         **/
+        LAZY,
+
+        /**
+         * {@code PARALLEL} mode, each fetcher is initialized in background as soon as it is created
+         **/
+        PARALLEL
+
+    }
+
+    /**
+     * {@code initMode} is instance that memorizes mode to initialize the fetchers
+     **/
+    private final InitMode initMode;
+
+    /**
+     * {@code executor} is instance helpful to initialize the fetchers in background
+     **/
+    private final ExecutorService executor;
+
+    /**
+     * {@code fetchers} is instance that memorizes fetchers created
+     **/
+    private final ConcurrentLinkedQueue<TxNotesFetcher> fetchers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor to init {@link TxNotesFetcherFactory} <br>
+     * Any params required
+     *
+     * @implNote {@link InitMode#PARALLEL} mode will be used with {@link #DEFAULT_PARALLELISM} threads
+     **/
+    public TxNotesFetcherFactory() {
+        this(InitMode.PARALLEL, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesFetcherFactory}
+     *
+     * @param initMode:    mode to initialize the fetchers
+     * @param parallelism: number of fetchers initialized at the same time in background
+     * @throws IllegalArgumentException when parallelism is not positive
+     **/
+    public TxNotesFetcherFactory(InitMode initMode, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        this.initMode = initMode;
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "txnotes-fetcher-init-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method is used to create a {@link BinanceFetcher}
+     *
+     * @param apiKey:       your Binance's api key
+     * @param secretKey:    your Binance's secret key
+     * @param baseCurrency: base currency to get all amount value of traders routine es. EUR
+     * @return fetcher as {@link BinanceFetcher}, it may be not initialized yet
+     * @implNote these keys will NOT store by library anywhere.
+     **/
+    public BinanceFetcher createBinanceFetcher(String apiKey, String secretKey, String baseCurrency) {
+        return register(new BinanceFetcher(new TxNotesLazyInit<>(() -> new BinanceTraderBot(apiKey, secretKey)),
+                baseCurrency));
+    }
+
+    /**
+     * This method is used to create a {@link BinanceFetcher}
+     *
+     * @param apiKey:       your Binance's api key
+     * @param secretKey:    your Binance's secret key
+     * @param baseEndpoint: base endpoint choose from {@link BinanceFetcher#BINANCE_BASE_ENDPOINTS} array
+     * @param baseCurrency: base currency to get all amount value of traders routine es. EUR
+     * @return fetcher as {@link BinanceFetcher}, it may be not initialized yet
+     * @implNote these keys will NOT store by library anywhere.
+     **/
+    public BinanceFetcher createBinanceFetcher(String apiKey, String secretKey, String baseEndpoint,
+                                               String baseCurrency) {
+        return register(new BinanceFetcher(new TxNotesLazyInit<>(() -> new BinanceTraderBot(apiKey, secretKey,
+                baseEndpoint)), baseCurrency));
+    }
+
+    /**
+     * This method is used to create a {@link CoinbaseFetcher}
+     *
+     * @param apiKey:       your Coinbase's api key
+     * @param apiSecret:    your Coinbase's secret key
+     * @param passphrase:   your Coinbase's api passphrase
+     * @param baseCurrency: base currency to get all amount value of traders routine es. EUR
+     * @return fetcher as {@link CoinbaseFetcher}, it may be not initialized yet
+     * @implNote these keys will NOT store by library anywhere.
+     **/
+    public CoinbaseFetcher createCoinbaseFetcher(String apiKey, String apiSecret, String passphrase,
+                                                 String baseCurrency) {
+        return register(new CoinbaseFetcher(new TxNotesLazyInit<>(() -> new CoinbaseTraderBot(apiKey, apiSecret,
+                passphrase)), baseCurrency));
+    }
+
+    /**
+     * This method is used to create an {@link AndroidBinanceFetcher}
+     *
+     * @param apiKey:               your Binance's api key
+     * @param secretKey:            your Binance's secret key
+     * @param credentials:          is object that contains your Tecknobit's account credentials, not your private exchange keys
+     * @param printRoutineMessages: flag to insert to print or not routine messages
+     * @param baseCurrency:         base currency to get all amount value of traders routine es. EUR
+     * @param refreshTime:          is time in seconds to set to refresh data
+     * @return fetcher as {@link AndroidBinanceFetcher}, it may be not logged in yet
+     * @implNote these keys will NOT store by library anywhere.
+     **/
+    public AndroidBinanceFetcher createAndroidBinanceFetcher(String apiKey, String secretKey,
+                                                             TxNotesCredentials credentials,
+                                                             boolean printRoutineMessages, String baseCurrency,
+                                                             int refreshTime) {
+        return register(new AndroidBinanceFetcher(new TxNotesLazyInit<>(() -> new BinanceTraderBot(apiKey,
+                secretKey)), credentials, printRoutineMessages, baseCurrency, refreshTime));
+    }
+
+    /**
+     * This method is used to create an {@link AndroidCoinbaseFetcher}
+     *
+     * @param apiKey:               your Coinbase's api key
+     * @param apiSecret:            your Coinbase's secret key
+     * @param passphrase:           your Coinbase's api passphrase
+     * @param credentials:          is object that contains your Tecknobit's account credentials, not your private exchange keys
+     * @param printRoutineMessages: flag to insert to print or not routine messages
+     * @param baseCurrency:         base currency to get all amount value of traders routine es. EUR
+     * @param refreshTime:          is time in seconds to set to refresh data
+     * @return fetcher as {@link AndroidCoinbaseFetcher}, it may be not logged in yet
+     * @implNote these keys will NOT store by library anywhere.
+     **/
+    public AndroidCoinbaseFetcher createAndroidCoinbaseFetcher(String apiKey, String apiSecret, String passphrase,
+                                                               TxNotesCredentials credentials,
+                                                               boolean printRoutineMessages, String baseCurrency,
+                                                               int refreshTime) {
+        return register(new AndroidCoinbaseFetcher(new TxNotesLazyInit<>(() -> new CoinbaseTraderBot(apiKey,
+                apiSecret, passphrase)), credentials, printRoutineMessages, baseCurrency, refreshTime));
+    }
+
+    /**
+     * This method is used to add a fetcher to the ones managed by this factory
+     *
+     * @param fetcher: fetcher to add, es. a custom fetcher created with a {@link TxNotesLazyInit}
+     * @return the same fetcher as {@link T}
+     * @implNote with {@link InitMode#PARALLEL} mode its initialization is started in background
+     **/
+    public <T extends TxNotesFetcher> T register(T fetcher) {
+        fetchers.add(fetcher);
+        if (initMode == InitMode.PARALLEL)
+            fetcher.initialize(executor);
+        return fetcher;
+    }
+
+    /**
+     * This method is used to start in background the initialization of all the fetchers not initialized yet <br>
+     * Any params required
+     *
+     * @apiNote useful with {@link InitMode#LAZY} mode to warm up the fetchers when the application is idle
+     **/
+    public void initializeAll() {
+        for (TxNotesFetcher fetcher : fetchers)
+            fetcher.initialize(executor);
+    }
+
+    /**
+     * This method is used to get the readiness of all the fetchers created <br>
+     * Any params required
+     *
+     * @return future completed when all the fetchers are initialized as {@link CompletableFuture}, it is completed
+     * exceptionally if an initialization fails
+     * @implNote with {@link InitMode#LAZY} mode the future is completed only after the first request of each fetcher
+     * or after {@link #initializeAll()}
+     **/
+    public CompletableFuture<Void> getReadiness() {
+        ArrayList<CompletableFuture<Void>> readiness = new ArrayList<>();
+        for (TxNotesFetcher fetcher : fetchers)
+            readiness.add(fetcher.getReadiness());
+        return CompletableFuture.allOf(readiness.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * This method is used to get the fetchers created <br>
+     * Any params required
+     *
+     * @return fetchers as {@link ArrayList} of {@link TxNotesFetcher}
+     **/
+    public ArrayList<TxNotesFetcher> getFetchers() {
+        return new ArrayList<>(fetchers);
+    }
+
+    /**
+     * Method to get {@link #initMode} instance <br>
+     * Any params required
+     *
+     * @return {@link #initMode} instance as {@link InitMode}
+     **/
+    public InitMode getInitMode() {
+        return initMode;
+    }
+
+    /**
+     * This method is used to stop the pool of the initializations in background <br>
+     * Any params required
+     *
+     * @implNote initializations already started are completed, fetchers not initialized yet will be initialized with
+     * their first request
+     **/
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,395 @@
+package com.tecknobit.txnotes.fetchers.interfaces;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tecknobit.txnotes.records.TxNotesJsonStream;
+import com.tecknobit.txnotes.records.TxNotesSnapshot;
+import com.tecknobit.txnotes.records.TxNotesValueSeries;
+import com.tecknobit.txnotes.records.TxNotesValueSeries.Resolution;
+import com.tecknobit.txnotes.records.Wallet;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code TxNotesSnapshotServer} class is useful to serve the last {@link TxNotesSnapshot} of a fetcher with a
+ * read-only HTTP endpoint <br>
+ * Available paths are:
+ * <ul>
+ *     <li>{@code /wallets}: all the wallets</li>
+ *     <li>{@code /wallets/{index}}: a single wallet es. /wallets/BTC</li>
+ *     <li>{@code /wallets/{index}/series/{resolution}}: the history of a wallet es. /wallets/BTC/series/hour</li>
+ *     <li>{@code /txnotes}: all the tx notes</li>
+ * </ul>
+ * Each response is serialized once for each snapshot version and served with an {@code ETag}, so a request with
+ * {@code If-None-Match} on an unchanged snapshot is answered with {@code 304 Not Modified} and no body
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote responses are written with {@link TxNotesJsonStream}, gzip is used when the client accepts it and the
+ * compressed body has its own {@code ETag}
+ * @see TxNotesFetcher#getSnapshot()
+ **/
+
+public class TxNotesSnapshotServer implements AutoCloseable {
+
+    /**
+     * {@code WALLETS_PATH} is instance that memorizes path of the wallets
+     **/
+    public static final String WALLETS_PATH = "/wallets";
+
+    /**
+     * {@code TX_NOTES_PATH} is instance that memorizes path of the tx notes
+     **/
+    public static final String TX_NOTES_PATH = "/txnotes";
+
+    /**
+     * {@code SERIES_PATH} is instance that memorizes path segment of the {@link TxNotesValueSeries} of a wallet
+     **/
+    public static final String SERIES_PATH = "series";
+
+    /**
+     * {@code snapshotSupplier} is instance helpful to get the last snapshot published
+     **/
+    private final Supplier<TxNotesSnapshot> snapshotSupplier;
+
+    /**
+     * {@code server} is instance helpful to receive the requests
+     **/
+    private final HttpServer server;
+
+    /**
+     * {@code executor} is instance helpful to serve the requests
+     **/
+    private final ExecutorService executor;
+
+    /**
+     * {@code cache} is instance that memorizes responses already serialized of the last snapshot served
+     **/
+    private volatile ResponseCache cache = new ResponseCache(null);
+
+    /**
+     * Constructor to init {@link TxNotesSnapshotServer}
+     *
+     * @param fetcher: fetcher to serve
+     * @param port:    port of the loopback address where receive the requests
+     * @throws IOException when the address cannot be bound
+     **/
+    public TxNotesSnapshotServer(TxNotesFetcher fetcher, int port) throws IOException {
+        this(fetcher::getSnapshot, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesSnapshotServer}
+     *
+     * @param snapshotSupplier: supplier of the last snapshot to serve es. {@link TxNotesCompositeFetcher#getSnapshot()}
+     * @param address:          address where receive the requests
+     * @param threads:          number of threads used to serve the requests
+     * @throws IOException              when the address cannot be bound
+     * @throws IllegalArgumentException when threads is not positive
+     **/
+    public TxNotesSnapshotServer(Supplier<TxNotesSnapshot> snapshotSupplier, InetSocketAddress address,
+                                 int threads) throws IOException {
+        if (threads <= 0)
+            throw new IllegalArgumentException("Threads must be positive");
+        this.snapshotSupplier = snapshotSupplier;
+        server = HttpServer.create(address, 0);
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "txnotes-snapshot-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::serve);
+    }
+
+    /**
+     * This method is used to start receiving the requests <br>
+     * Any params required
+     **/
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * This method is used to serve a request
+     *
+     * @param exchange: exchange of the request
+     * @throws IOException when the response cannot be sent
+     **/
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            if (!head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            ResponseCache current = getCache();
+            CachedResponse response = current.get(exchange.getRequestURI().getPath());
+            if (response == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            Headers headers = exchange.getResponseHeaders();
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            String etag = gzip ? response.gzipEtag : response.etag;
+            headers.set("ETag", etag);
+            headers.set("Vary", "Accept-Encoding");
+            headers.set("Cache-Control", "no-cache");
+            headers.set("X-Snapshot-Version", String.valueOf(current.snapshot.getVersion()));
+            if (matchesETag(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            headers.set("Content-Type", "application/json; charset=utf-8");
+            byte[] body = response.body;
+            if (gzip) {
+                body = response.getGzipBody();
+                headers.set("Content-Encoding", "gzip");
+            }
+            if (head) {
+                headers.set("Content-Length", String.valueOf(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * This method is used to get the cache of the last snapshot published <br>
+     * Any params required
+     *
+     * @return cache as {@link ResponseCache}
+     * @implNote a new cache replaces the current one only when the snapshot has been changed
+     **/
+    private ResponseCache getCache() {
+        TxNotesSnapshot snapshot = snapshotSupplier.get();
+        ResponseCache current = cache;
+        if (current.snapshot != snapshot) {
+            current = new ResponseCache(snapshot);
+            cache = current;
+        }
+        return current;
+    }
+
+    /**
+     * This method is used to check if the {@code If-None-Match} header of a request matches an ETag
+     *
+     * @param ifNoneMatch: value of the header, can be null
+     * @param etag:        ETag of the response
+     * @return whether the header matches as boolean
+     **/
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        for (String value : ifNoneMatch.split(",")) {
+            value = value.trim();
+            if (value.startsWith("W/"))
+                value = value.substring(2);
+            if (value.equals("*") || value.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method is used to get the port where the requests are received <br>
+     * Any params required
+     *
+     * @return port as int
+     **/
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * This method is used to stop receiving the requests <br>
+     * Any params required
+     **/
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * The {@code ResponseCache} class defines the responses serialized of a single snapshot
+     **/
+    private static class ResponseCache {
+
+        /**
+         * {@code snapshot} is instance that memorizes snapshot of the responses
+         **/
+        private final TxNotesSnapshot snapshot;
+
+        /**
+         * {@code responses} is instance that memorizes responses serialized with their path as key
+         **/
+        private final ConcurrentHashMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor to init {@link ResponseCache}
+         *
+         * @param snapshot: snapshot of the responses
+         **/
+        private ResponseCache(TxNotesSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * This method is used to get the response of a path
+         *
+         * @param path: path requested
+         * @return response as {@link CachedResponse}, null if the path is not available
+         * @throws UncheckedIOException when the response cannot be serialized
+         **/
+        private CachedResponse get(String path) {
+            if (path.length() > 1 && path.endsWith("/"))
+                path = path.substring(0, path.length() - 1);
+            CachedResponse response = responses.get(path);
+            if (response == null) {
+                byte[] body = serialize(path);
+                if (body == null)
+                    return null;
+                response = responses.computeIfAbsent(path, key -> new CachedResponse(body,
+                        "\"" + snapshot.getVersion() + "-" + Long.toHexString(snapshot.getPublishTimestamp()) + "\""));
+            }
+            return response;
+        }
+
+        /**
+         * This method is used to get the resolution of a path
+         *
+         * @param name: name of the resolution es. hour
+         * @return resolution as {@link Resolution}, null if not available
+         **/
+        private static Resolution getResolution(String name) {
+            for (Resolution resolution : Resolution.values())
+                if (resolution.name().equalsIgnoreCase(name))
+                    return resolution;
+            return null;
+        }
+
+        /**
+         * This method is used to serialize the response of a path
+         *
+         * @param path: path requested
+         * @return response as byte array, null if the path is not available
+         **/
+        private byte[] serialize(String path) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                if (path.equals(WALLETS_PATH))
+                    TxNotesJsonStream.writeWallets(snapshot.getWallets(), bytes);
+                else if (path.equals(TX_NOTES_PATH))
+                    TxNotesJsonStream.writeTxNotes(snapshot.getTxNotes(), bytes);
+                else if (path.startsWith(WALLETS_PATH + "/")) {
+                    String[] segments = path.substring(WALLETS_PATH.length() + 1).split("/");
+                    Wallet wallet = snapshot.getWallet(segments[0].toUpperCase());
+                    if (wallet == null)
+                        return null;
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(bytes, UTF_8));
+                    if (segments.length == 1)
+                        TxNotesJsonStream.writeWallet(wallet, writer);
+                    else if (segments.length == 3 && segments[1].equals(SERIES_PATH)) {
+                        TxNotesValueSeries valueSeries = wallet.getValueSeries();
+                        Resolution resolution = getResolution(segments[2]);
+                        if (valueSeries == null || resolution == null)
+                            return null;
+                        TxNotesJsonStream.writeValuePoints(valueSeries.getPoints(resolution), writer);
+                    } else
+                        return null;
+                    writer.flush();
+                } else
+                    return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+    }
+
+    /**
+     * The {@code CachedResponse} class defines a response serialized
+     **/
+    private static class CachedResponse {
+
+        /**
+         * {@code body} is instance that memorizes body of the response
+         **/
+        private final byte[] body;
+
+        /**
+         * {@code etag} is instance that memorizes ETag of the response
+         **/
+        private final String etag;
+
+        /**
+         * {@code gzipEtag} is instance that memorizes ETag of the response compressed with gzip
+         *
+         * @implNote it differs from {@link #etag}, the two bodies are not the same bytes so they cannot share a
+         * strong ETag
+         **/
+        private final String gzipEtag;
+
+        /**
+         * {@code gzipBody} is instance that memorizes body of the response compressed with gzip
+         *
+         * @implNote it is created only when requested the first time
+         **/
+        private volatile byte[] gzipBody;
+
+        /**
+         * Constructor to init {@link CachedResponse}
+         *
+         * @param body: body of the response
+         * @param etag: ETag of the response
+         **/
+        private CachedResponse(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+            gzipEtag = etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+
+        /**
+         * This method is used to get the body of the response compressed with gzip <br>
+         * Any params required
+         *
+         * @return body compressed as byte array
+         **/
+        private byte[] getGzipBody() {
+            byte[] compressed = gzipBody;
+            if (compressed == null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+                    output.write(body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = bytes.toByteArray();
+                gzipBody = compressed;
+            }
+            return compressed;
+        }
+
+    }
+
+}
@@ -2,8 +2,10 @@ package com.tecknobit.txnotes.fetchers.interfaces.android;
 
 import com.tecknobit.traderbot.records.account.BotDetails;
 import com.tecknobit.traderbot.traders.interfaces.CoinbaseTraderBot;
+import com.tecknobit.txnotes.fetchers.interfaces.TxNotesFetcherFactory;
 import com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesAndroidFetcher;
 import com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWorkflow;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
 import com.tecknobit.txnotes.records.TxNote;
 
 import java.util.Collection;
@@ -199,6 +201,24 @@ public class AndroidCoinbaseFetcher extends TxNotesAndroidFetcher {
                 printRoutineMessages, baseCurrency, refreshTime);
     }
 
+    /**
+     * Constructor to init {@link AndroidCoinbaseFetcher} without waiting for the login and the creation of the
+     * {@link CoinbaseTraderBot}
+     *
+     * @param platformLoader:      loader of the {@link CoinbaseTraderBot} to use
+     * @param credentials          : is object that contains your Tecknobit's account credentials, not your private exchange keys
+     * @param printRoutineMessages : flag to insert to print or not routine messages
+     * @param baseCurrency         : base currency to get all amount value of traders routine es. EUR
+     * @param refreshTime          : is time in seconds to set to refresh data
+     * @apiNote useful with {@link TxNotesFetcherFactory}
+     **/
+    public AndroidCoinbaseFetcher(TxNotesLazyInit<? extends CoinbaseTraderBot> platformLoader,
+                                  TxNotesCredentials credentials, boolean printRoutineMessages, String baseCurrency,
+                                  int refreshTime) {
+        super(platformLoader, CoinbaseTraderBot.class.getName(), featherDetails, credentials, printRoutineMessages,
+                baseCurrency, refreshTime);
+    }
+
     /**
      * This method is used to assemble a {@link TxNote}'s list fetched from your Coinbase's account<br>
      * Any params required
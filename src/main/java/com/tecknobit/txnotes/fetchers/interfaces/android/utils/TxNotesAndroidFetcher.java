@@ -11,18 +11,30 @@ import com.tecknobit.txnotes.fetchers.interfaces.TxNotesFetcher;
 import com.tecknobit.txnotes.fetchers.interfaces.android.AndroidBinanceFetcher;
 import com.tecknobit.txnotes.fetchers.interfaces.android.AndroidCoinbaseFetcher;
 import com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWorkflow.TxNotesCredentials;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesCircuitBreaker;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesEvent;
+import com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesLazyInit;
 import com.tecknobit.txnotes.records.TxNote;
 import com.tecknobit.txnotes.records.Wallet;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
 import static com.tecknobit.traderbot.routines.android.ServerRequest.response;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.*;
-import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
 import static com.tecknobit.traderbot.traders.interfaces.BinanceTraderBot.BUSD_CURRENCY;
 import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.*;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesServerRequest.RESPONSE_LOCK;
 import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesServerRequest.TX_HOST;
 import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesServerRequest.TX_PORT;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec.encodeWallets;
+import static com.tecknobit.txnotes.fetchers.interfaces.utils.TxNotesEvent.EventType.WALLET_UPDATED;
+import static com.tecknobit.txnotes.records.TxNotesJsonStream.readTxNote;
 
 /**
  * The {@code TxNotesAndroidFetcher} class is useful to fetch all transactions from exchange's account autonomously <br>
@@ -38,10 +50,34 @@ import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesSer
 
 public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCoreRoutines, AndroidBotController {
 
+    /**
+     * {@code INITIAL_HYDRATION_SIZE} is instance that memorizes number of the most recent {@link TxNote} loaded
+     * during the login, the others will be loaded in background or when their wallet is requested
+     **/
+    public static final int INITIAL_HYDRATION_SIZE = 100;
+
     /**
      * {@code txNotesWorkflow} is instance helpful to manage TxNotes Android's workflow
+     *
+     * @implNote it is null until {@link #workflowLoader} has created it, use {@link #getTxNotesWorkflow()} to read it
      **/
-    private final TxNotesWorkflow txNotesWorkflow;
+    private volatile TxNotesWorkflow txNotesWorkflow;
+
+    /**
+     * {@code loginLoader} is instance helpful to login or register on the {@code TxNotes} server only once
+     **/
+    private final TxNotesLazyInit<TxNotesServerRequest> loginLoader;
+
+    /**
+     * {@code workflowLoader} is instance helpful to create {@link #txNotesWorkflow} after the login and the creation of
+     * the platform
+     **/
+    private final TxNotesLazyInit<TxNotesWorkflow> workflowLoader;
+
+    /**
+     * {@code serverBreaker} is instance helpful to isolate the failures of the {@code TxNotes} server
+     **/
+    private final TxNotesCircuitBreaker serverBreaker = new TxNotesCircuitBreaker("TxNotes server");
 
     /**
      * {@code botDetails} is instance helpful to manage trader details
@@ -58,6 +94,17 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     private JSONObject pastWallet;
 
+    /**
+     * {@code pastWalletPayload} is instance that memorizes past wallet value sent with the binary wire format
+     **/
+    private byte[] pastWalletPayload;
+
+    /**
+     * {@code pendingTxNotes} is instance that memorizes details of the {@link TxNote} received on login but not loaded
+     * yet, with base asset as key
+     **/
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<JSONObject>> pendingTxNotes = new ConcurrentHashMap<>();
+
     /**
      * Constructor to init {@link TxNotesAndroidFetcher}
      *
@@ -70,56 +117,237 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     public TxNotesAndroidFetcher(TraderCoreRoutines fetcherPlatform, BotDetails botDetails, TxNotesCredentials txCredentials,
                                  boolean printRoutineMessages, String baseCurrency, int refreshTime) throws Exception {
-        super(fetcherPlatform, baseCurrency);
+        this(TxNotesLazyInit.completed(fetcherPlatform), fetcherPlatform.getClass().getName(), botDetails, txCredentials,
+                printRoutineMessages, baseCurrency, refreshTime);
+        workflowLoader.get();
+    }
+
+    /**
+     * Constructor to init {@link TxNotesAndroidFetcher} without waiting for the login and the creation of the platform
+     *
+     * @param platformLoader:      loader of the fetcher platform to fetch transactions
+     * @param platformName:        name of the class of the platform es. the name of {@link BinanceTraderBot}
+     * @param botDetails:          details of bot used
+     * @param txCredentials:       is object that contains your Tecknobit's account txCredentials, not your private exchange keys
+     * @param printRoutineMessages : flag to insert to print or not routine messages
+     * @param baseCurrency         : base currency to get all amount value of traders routine es. EUR
+     * @param refreshTime          : is time in seconds to set to refresh data
+     * @implNote the login is made with the first request that needs the server or with {@link #initialize(Executor)},
+     * in parallel with the creation of the platform
+     **/
+    protected TxNotesAndroidFetcher(TxNotesLazyInit<? extends TraderCoreRoutines> platformLoader, String platformName,
+                                    BotDetails botDetails, TxNotesCredentials txCredentials, boolean printRoutineMessages,
+                                    String baseCurrency, int refreshTime) {
+        super(new TxNotesLazyInit<TraderCoreRoutines>(() -> {
+            TraderCoreRoutines platform = platformLoader.get();
+            platform.setRefreshTime(refreshTime);
+            return platform;
+        }), platformName, baseCurrency);
         this.botDetails = botDetails;
         Credentials credentials = txCredentials.getCredentials();
-        initCredentials(credentials);
-        txNotesWorkflow = new TxNotesWorkflow(new TxNotesServerRequest(credentials.getIvSpec(), credentials.getSecretKey(),
-                credentials.getAuthToken(), credentials.getToken(), TX_HOST, TX_PORT), fetcherPlatform, credentials,
-                printRoutineMessages, this);
+        loginLoader = new TxNotesLazyInit<>(() -> {
+            initCredentials(credentials);
+            TxNotesServerRequest serverRequest = new TxNotesServerRequest(credentials.getIvSpec(),
+                    credentials.getSecretKey(), credentials.getAuthToken(), credentials.getToken(), TX_HOST, TX_PORT);
+            serverRequest.negotiate();
+            return serverRequest;
+        });
+        workflowLoader = new TxNotesLazyInit<>(() -> {
+            TxNotesServerRequest serverRequest = loginLoader.get();
+            TxNotesWorkflow workflow = new TxNotesWorkflow(serverRequest, getFetcherPlatform(), credentials,
+                    printRoutineMessages, this);
+            txNotesWorkflow = workflow;
+            return workflow;
+        });
         runningFetcher = false;
-        fetcherPlatform.setRefreshTime(refreshTime);
+    }
+
+    /**
+     * This method is used to start in background the login on the {@code TxNotes} server and the creation of the
+     * platform, without waiting for them
+     *
+     * @param executor: executor where run the initialization
+     * @return whether the initialization has been started by this call as boolean
+     * @implNote {@link #txNotesWorkflow} is created when both are completed successfully, after a failure it is
+     * created by the next request that needs the server
+     **/
+    @Override
+    public boolean initialize(Executor executor) {
+        boolean started = super.initialize(executor);
+        started |= loginLoader.start(executor);
+        CompletableFuture.allOf(super.getReadiness(), loginLoader.getFuture())
+                .thenRun(() -> workflowLoader.start(Runnable::run));
+        return started;
+    }
+
+    /**
+     * This method is used to get the readiness of the fetcher <br>
+     * Any params required
+     *
+     * @return future completed when the login has been made and {@link #txNotesWorkflow} has been created as
+     * {@link CompletableFuture}, it is completed exceptionally if the initialization fails
+     * @implNote the future does not start the initialization, use {@link #initialize(Executor)} to start it; it is
+     * completed exceptionally also when the login fails, so it does not wait for a workflow that cannot be created
+     **/
+    @Override
+    public CompletableFuture<Void> getReadiness() {
+        return CompletableFuture.allOf(super.getReadiness(), loginLoader.getFuture())
+                .thenCompose(ignored -> workflowLoader.getFuture())
+                .thenApply(workflow -> null);
+    }
+
+    /**
+     * This method is used to get {@link #txNotesWorkflow} <br>
+     * Any params required
+     *
+     * @return workflow as {@link TxNotesWorkflow}
+     * @throws IllegalStateException when the login or the creation of the platform fails
+     * @implNote if the workflow has not been created yet the current thread waits for it
+     **/
+    private TxNotesWorkflow getTxNotesWorkflow() {
+        TxNotesWorkflow workflow = txNotesWorkflow;
+        if (workflow != null)
+            return workflow;
+        try {
+            return workflowLoader.get();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("TxNotes workflow cannot be initialized", e);
+        }
     }
 
     /**
      * This method is used to init a {@link Credentials} object to start {@link AndroidWorkflow}
      *
      * @param credentials: is object that contains your Tecknobit's account credentials, not your private exchange keys
+     * @implNote the response of the login is read as JSON without compression, the wire format and the compression are
+     * negotiated after the login with {@link TxNotesServerRequest#negotiate()}; the login and the registration are
+     * made holding {@link TxNotesServerRequest#RESPONSE_LOCK}, so when many fetchers are initialized in parallel only the
+     * creation of the platforms runs concurrently
      **/
     @Override
     public void initCredentials(Credentials credentials) throws Exception {
         checkCredentialsValidity(credentials);
         credentials.setBotDetails(botDetails);
-        if (credentials.getToken() == null)
-            credentials.sendRegistrationRequest(TX_HOST, TX_PORT);
-        else {
-            credentials.sendLoginRequest(baseCurrency, TX_HOST, TX_PORT, null);
-            JSONArray deletedNotes = response.getJSONArray(DELETED_TX_NOTES_KEY);
+        if (credentials.getToken() == null) {
+            synchronized (RESPONSE_LOCK) {
+                credentials.sendRegistrationRequest(TX_HOST, TX_PORT);
+            }
+        } else {
+            JSONObject loginResponse;
+            synchronized (RESPONSE_LOCK) {
+                credentials.sendLoginRequest(baseCurrency, TX_HOST, TX_PORT, null);
+                loginResponse = response;
+            }
+            JSONArray deletedNotes = loginResponse.getJSONArray(DELETED_TX_NOTES_KEY);
             for (int j = 0; j < deletedNotes.length(); j++)
                 txNotesDeleted.add(deletedNotes.getString(j));
-            JSONArray txNotes = response.getJSONArray(TRANSACTIONS_KEY);
-            for (int j = 0; j < txNotes.length(); j++) {
-                JSONObject mTxNote = txNotes.getJSONObject(j);
-                String baseAsset = mTxNote.getString(BASE_ASSET_KEY);
-                long buyDate = mTxNote.getLong(BUY_DATE_KEY);
-                TxNote txNote = new TxNote(mTxNote.getString(SYMBOL_KEY),
-                        Side.valueOf(mTxNote.getString(STATUS_KEY)),
-                        buyDate,
-                        mTxNote.getDouble(INITIAL_BALANCE_KEY),
-                        mTxNote.getDouble(QUANTITY_KEY),
-                        0,
-                        baseAsset,
-                        mTxNote.getString(QUOTE_ASSET_KEY)
-                );
-                if (mTxNote.has(SELL_DATE_KEY)) {
-                    txNote.setSellPrice(mTxNote.getDouble(SELL_PRICE_KEY));
-                    txNote.setSellDate(mTxNote.getLong(SELL_DATE_KEY));
+            JSONArray txNotes = loginResponse.getJSONArray(TRANSACTIONS_KEY);
+            ArrayList<JSONObject> notes = new ArrayList<>(txNotes.length());
+            for (int j = 0; j < txNotes.length(); j++)
+                notes.add(txNotes.getJSONObject(j));
+            notes.sort(Comparator.comparingLong((JSONObject note) -> note.getLong(BUY_DATE_KEY)).reversed());
+            for (int j = 0; j < notes.size(); j++) {
+                JSONObject note = notes.get(j);
+                if (j < INITIAL_HYDRATION_SIZE)
+                    hydrateTxNote(note);
+                else {
+                    pendingTxNotes.computeIfAbsent(note.getString(BASE_ASSET_KEY),
+                            k -> new ConcurrentLinkedQueue<>()).add(note);
                 }
-                this.txNotes.put(baseAsset + buyDate, txNote);
+            }
+            publishChanges();
+            if (!pendingTxNotes.isEmpty()) {
+                new Thread() {
+                    @Override
+                    public void run() {
+                        super.run();
+                        hydrateTxNotes();
+                    }
+                }.start();
             }
         }
     }
 
+    /**
+     * This method is used to load a {@link TxNote} received on login
+     *
+     * @param txNote: tx note details as {@link JSONObject}
+     * @return tx note loaded as {@link TxNote}, null if a tx note with the same key was already loaded
+     * @implNote tx notes already fetched from the exchange are not replaced
+     **/
+    private TxNote hydrateTxNote(JSONObject txNote) {
+        TxNote note = readTxNote(txNote);
+        if (putTxNoteIfAbsent(note.getBaseAsset() + note.getBuyDateTimestamp(), note))
+            return note;
+        return null;
+    }
+
+    /**
+     * This method is used to load all the {@link TxNote} received on login but not loaded yet <br>
+     * Any params required
+     *
+     * @implNote this method is automatically called in background after the login
+     **/
+    public void hydrateTxNotes() {
+        for (String asset : pendingTxNotes.keySet())
+            hydrateTxNotes(asset);
+    }
+
+    /**
+     * This method is used to load the {@link TxNote} of an asset received on login but not loaded yet
+     *
+     * @param asset: base asset of the tx notes to load es. BTC
+     * @return number of tx notes loaded as int
+     * @implNote if the wallet of the asset has been already loaded it is replaced by a new wallet with also the tx
+     * notes loaded, the wallet already published is not changed
+     **/
+    public int hydrateTxNotes(String asset) {
+        ConcurrentLinkedQueue<JSONObject> pendingNotes = pendingTxNotes.get(asset);
+        if (pendingNotes == null)
+            return 0;
+        ArrayList<TxNote> hydratedNotes = new ArrayList<>();
+        JSONObject note;
+        while ((note = pendingNotes.poll()) != null) {
+            TxNote txNote = hydrateTxNote(note);
+            if (txNote != null)
+                hydratedNotes.add(txNote);
+        }
+        pendingTxNotes.remove(asset, pendingNotes);
+        if (!hydratedNotes.isEmpty()) {
+            Wallet wallet = wallets.computeIfPresent(asset, (index, loadedWallet) -> loadedWallet.copyWith(hydratedNotes));
+            publishChanges();
+            if (wallet != null)
+                eventPublisher.publish(TxNotesEvent.walletChanged(WALLET_UPDATED, wallet));
+        }
+        return hydratedNotes.size();
+    }
+
+    /**
+     * This method is used to get if all the {@link TxNote} received on login have been loaded <br>
+     * Any params required
+     *
+     * @return whether all tx notes have been loaded
+     **/
+    public boolean isHydrated() {
+        return pendingTxNotes.isEmpty();
+    }
+
+    /**
+     * This method is used to get a single wallet from {@link #wallets} list
+     *
+     * @param index: index of the wallet to fetch es. BTC
+     * @return wallet as {@link Wallet} custom object
+     * @implNote the {@link TxNote} of the wallet not loaded yet will be loaded before returning it
+     **/
+    @Override
+    public Wallet getWalletByIndex(String index) {
+        if (index != null)
+            hydrateTxNotes(index);
+        return super.getWalletByIndex(index);
+    }
+
     /**
      * This method is used to start {@link TxNotesWorkflow} <br>
      * Any params required
@@ -136,7 +364,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
     public void workflowHandler() {
         enableBot();
         refreshWalletList();
-        txNotesWorkflow.startWorkflow();
+        getTxNotesWorkflow().startWorkflow();
     }
 
     /**
@@ -151,31 +379,68 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
                 super.run();
                 try {
                     JSONObject currentWallet = new JSONObject();
+                    int failures = 0;
                     while (true) {
                         while (runningFetcher) {
-                            loadAllData();
-                            currentWallet.clear();
-                            for (Wallet wallet : wallets.values()) {
-                                if (canPrintRoutineMessages())
-                                    wallet.printDetails();
-                                currentWallet.put(wallet.getIndex(), wallet.getWallet());
+                            long refreshTime;
+                            try {
+                                boolean loaded = callDependency(exchangeBreaker, () -> {
+                                    loadAllData();
+                                    return true;
+                                });
+                                if (!loaded)
+                                    exchangeBreaker.printFailure(TxNotesAndroidFetcher.this);
+                                Collection<Wallet> wallets = getWallets();
+                                if (loaded && canPrintRoutineMessages())
+                                    for (Wallet wallet : wallets)
+                                        wallet.printDetails();
+                                if (getTxNotesWorkflow().isBinaryWireFormat()) {
+                                    byte[] currentPayload = encodeWallets(wallets);
+                                    if (!Arrays.equals(pastWalletPayload, currentPayload)) {
+                                        if (callDependency(serverBreaker, () -> getTxNotesWorkflow().insertWallet(currentPayload)))
+                                            pastWalletPayload = currentPayload;
+                                        else
+                                            serverBreaker.printFailure(TxNotesAndroidFetcher.this);
+                                    }
+                                } else {
+                                    currentWallet.clear();
+                                    for (Wallet wallet : wallets)
+                                        currentWallet.put(wallet.getIndex(), wallet.getWallet());
+                                    if (pastWallet == null || !pastWallet.toMap().equals(new JSONObject(currentWallet.toString()).toMap())) {
+                                        if (callDependency(serverBreaker, () -> getTxNotesWorkflow().insertWallet(currentWallet)))
+                                            pastWallet = new JSONObject(currentWallet.toString());
+                                        else
+                                            serverBreaker.printFailure(TxNotesAndroidFetcher.this);
+                                    }
+                                }
+                                refreshTime = computeNextRefreshTime();
+                                failures = 0;
+                            } catch (RuntimeException e) {
+                                refreshTime = computeCycleBackoff(++failures);
+                                printRed("Refresh cycle failed, next attempt in " + refreshTime + " ms: " + e);
                             }
-                            if (pastWallet == null || !pastWallet.toMap().equals(new JSONObject(currentWallet.toString()).toMap())) {
-                                txNotesWorkflow.insertWallet(currentWallet);
-                                pastWallet = new JSONObject(currentWallet.toString());
-                            }
-                            sleep(fetcherPlatform.getRefreshTime());
+                            sleep(refreshTime);
                         }
                         System.out.println("Bot is stopped, waiting for reactivation");
                         Thread.sleep(5000);
                     }
-                } catch (Exception e) {
+                } catch (InterruptedException e) {
                     printRed(e.getMessage());
                 }
             }
         }.start();
     }
 
+    /**
+     * Method to get {@link #serverBreaker} instance <br>
+     * Any params required
+     *
+     * @return {@link #serverBreaker} instance as {@link TxNotesCircuitBreaker}
+     **/
+    public TxNotesCircuitBreaker getServerBreaker() {
+        return serverBreaker;
+    }
+
     /**
      * This method is used to get if bot is in running mode
      *
@@ -222,13 +487,8 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public double getSalesAtLoss() {
-        if (runningFetcher) {
-            int lossSales = 0;
-            for (TxNote txNote : txNotes.values())
-                if (txNote.getStatus().equals(SELL) && txNote.getIncomePercent() < 0)
-                    lossSales++;
-            return lossSales;
-        }
+        if (runningFetcher)
+            return salesStatistics.getSummary().getSalesAtLoss();
         return -1;
     }
 
@@ -240,13 +500,8 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public double getSalesAtGain() {
-        if (runningFetcher) {
-            int gainSales = 0;
-            for (TxNote txNote : txNotes.values())
-                if (txNote.getStatus().equals(SELL) && txNote.getIncomePercent() > 0)
-                    gainSales++;
-            return gainSales;
-        }
+        if (runningFetcher)
+            return salesStatistics.getSummary().getSalesAtGain();
         return -1;
     }
 
@@ -258,13 +513,8 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public double getSalesInPair() {
-        if (runningFetcher) {
-            int pairSales = 0;
-            for (TxNote txNote : txNotes.values())
-                if (txNote.getStatus().equals(SELL) && txNote.getIncomePercent() == 0)
-                    pairSales++;
-            return pairSales;
-        }
+        if (runningFetcher)
+            return salesStatistics.getSummary().getSalesInPair();
         return -1;
     }
 
@@ -276,13 +526,8 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public double getTotalSales() {
-        if (runningFetcher) {
-            int totalSales = 0;
-            for (TxNote txNote : txNotes.values())
-                if (txNote.getStatus().equals(SELL))
-                    totalSales++;
-            return totalSales;
-        }
+        if (runningFetcher)
+            return salesStatistics.getSummary().getTotalSales();
         return -1;
     }
 
@@ -306,7 +551,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public Credentials getCredentials() {
-        return txNotesWorkflow.getCredentials();
+        return getTxNotesWorkflow().getCredentials();
     }
 
     /**
@@ -316,7 +561,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public void setPrintRoutineMessages(boolean printRoutineMessages) {
-        txNotesWorkflow.setPrintRoutineMessages(printRoutineMessages);
+        getTxNotesWorkflow().setPrintRoutineMessages(printRoutineMessages);
     }
 
     /**
@@ -326,7 +571,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public boolean canPrintRoutineMessages() {
-        return txNotesWorkflow.canPrintRoutineMessages();
+        return getTxNotesWorkflow().canPrintRoutineMessages();
     }
 
     /**
@@ -342,7 +587,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      * <a href="https://play.google.com/store/apps/details?id=com.tecknobit.txnotes">TxNotes</a>'s interface
      **/
     public boolean removeTxNote(String asset, long removeDate) {
-        if (txNotesWorkflow.deleteTxNote(asset, removeDate))
+        if (getTxNotesWorkflow().deleteTxNote(asset, removeDate))
             return deleteTxNote(asset, removeDate);
         return false;
     }
@@ -357,7 +602,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      * <a href="https://play.google.com/store/apps/details?id=com.tecknobit.txnotes">TxNotes</a>'s interface
      **/
     public void reinsertTxNotesDeleted() {
-        txNotesWorkflow.allowAllTxNotes();
+        getTxNotesWorkflow().allowAllTxNotes();
         super.allowsAllTxNotes();
     }
 
@@ -370,7 +615,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
     @Override
     public void runBot() {
         if (!runningFetcher)
-            if (txNotesWorkflow.enableBot())
+            if (getTxNotesWorkflow().enableBot())
                 enableBot();
     }
 
@@ -383,7 +628,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
     @Override
     public void stopBot() {
         if (runningFetcher)
-            if (txNotesWorkflow.disableBot())
+            if (getTxNotesWorkflow().disableBot())
                 disableBot();
     }
 
@@ -392,22 +637,23 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      *
      * @param refreshTime: is time in seconds to set to refresh data
      * @throws IllegalArgumentException if {@code refreshTime} value is less than 5(5s) and if is bigger than 3600(1h)
-     * @implNote in Android's interfaces this method updates also {@link #botDetails} instance
+     * @implNote in Android's interfaces this method updates also {@link #botDetails} instance; if the platform has not
+     * been created yet the current thread waits for it, see {@link #getFetcherPlatform()}
      * @apiNote this method is useful to interact with
      * <a href="https://play.google.com/store/apps/details?id=com.tecknobit.txnotes">TxNotes</a>'s interface
      **/
     @Override
     public void changeRefreshTime(int refreshTime) {
         if (refreshTime >= 5 && refreshTime <= 3600) {
-            if (fetcherPlatform.getRefreshTimeSeconds() != refreshTime) {
+            if (getFetcherPlatform().getRefreshTimeSeconds() != refreshTime) {
                 if (txNotesWorkflow != null) {
-                    if (txNotesWorkflow.changeRefreshTime(refreshTime)) {
+                    if (getTxNotesWorkflow().changeRefreshTime(refreshTime)) {
                         botDetails.setRefreshTime(refreshTime);
-                        fetcherPlatform.setRefreshTime(refreshTime);
+                        getFetcherPlatform().setRefreshTime(refreshTime);
                     }
                 } else {
                     botDetails.setRefreshTime(refreshTime);
-                    fetcherPlatform.setRefreshTime(refreshTime);
+                    getFetcherPlatform().setRefreshTime(refreshTime);
                 }
             }
         } else
@@ -420,14 +666,16 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      * @param baseCurrency: base currency to get all amount value of traders routine es. EUR
      * @apiNote this method is useful to interact with
      * <a href="https://play.google.com/store/apps/details?id=com.tecknobit.txnotes">TxNotes</a>'s interface
+     * @implNote the currency is applied with {@link #setBaseCurrency(String)} only when the server has accepted the
+     * change, so the fetched data are rebased on the new currency
      **/
     @Override
     public void changeBaseCurrency(String baseCurrency) {
         if (baseCurrency == null || baseCurrency.isEmpty())
             throw new IllegalArgumentException("Currency cannot be null or empty, but for example EUR or USD");
         if (!this.baseCurrency.equals(baseCurrency)) {
-            if (txNotesWorkflow.changeBaseCurrency(baseCurrency))
-                this.baseCurrency = baseCurrency;
+            if (getTxNotesWorkflow().changeBaseCurrency(baseCurrency))
+                setBaseCurrency(baseCurrency);
         }
     }
 
@@ -438,7 +686,7 @@ public class TxNotesAndroidFetcher extends TxNotesFetcher implements AndroidCore
      **/
     @Override
     public void setBaseCurrency(String baseCurrency) {
-        if (fetcherPlatform instanceof BinanceTraderBot && baseCurrency.equals(USD_CURRENCY))
+        if (BinanceTraderBot.class.getName().equals(platformName) && baseCurrency.equals(USD_CURRENCY))
             baseCurrency = BUSD_CURRENCY;
         super.setBaseCurrency(baseCurrency);
     }
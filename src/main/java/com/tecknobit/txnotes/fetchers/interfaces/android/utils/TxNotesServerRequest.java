@@ -1,8 +1,22 @@
 package com.tecknobit.txnotes.fetchers.interfaces.android.utils;
 
 import com.tecknobit.traderbot.routines.android.ServerRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import static com.tecknobit.traderbot.routines.android.AndroidWorkflow.Credentials;
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.STATUS_CODE;
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.SUCCESSFUL_RESPONSE;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * The {@code TxNotesServerRequest} class is useful to make server request for Android's bots<br>
@@ -23,6 +37,40 @@ public class TxNotesServerRequest extends ServerRequest {
      **/
     public static final int TX_PORT = 6898;
 
+    /**
+     * {@code DEFAULT_COMPRESSION_THRESHOLD} is instance that memorizes default size in characters over which payloads
+     * are compressed
+     **/
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 4096;
+
+    /**
+     * {@code RESPONSE_LOCK} is instance helpful to make one request at a time among all the Android's fetchers
+     *
+     * @implNote {@code TraderBot} library memorizes each response in the static {@code response} of
+     * {@link ServerRequest}, so every request whose response is read from there must be made holding this lock,
+     * else the fetchers of different accounts could read the response of each other
+     **/
+    static final Object RESPONSE_LOCK = new Object();
+
+    /**
+     * {@code wireFormat} is instance that memorizes wire format negotiated with the server for this connection
+     *
+     * @apiNote default value is {@code "json"}
+     **/
+    private String wireFormat = JSON_WIRE_FORMAT;
+
+    /**
+     * {@code compression} is instance that memorizes compression negotiated with the server for this connection
+     *
+     * @apiNote default value is null, so payloads are not compressed
+     **/
+    private String compression;
+
+    /**
+     * {@code compressionThreshold} is instance that memorizes size in characters over which payloads are compressed
+     **/
+    private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+
     /**
      * Constructor to init {@link TxNotesServerRequest}
      *
@@ -71,4 +119,165 @@ public class TxNotesServerRequest extends ServerRequest {
         super(host, port);
     }
 
+    /**
+     * This method is used to advertise to the server the wire formats and the compressions supported by this client
+     * and to use the ones chosen by the server <br>
+     * Any params required
+     *
+     * @return whether the server has answered to the negotiation as boolean
+     * @implNote it must be called after the login, with the tokens of the user; when the server does not answer, es.
+     * because it does not support the negotiation, the JSON wire format without compression will be used
+     * @apiNote the negotiation request and its response are never compressed
+     * @implNote the request is made holding {@link #RESPONSE_LOCK}
+     **/
+    public boolean negotiate() {
+        JSONObject capabilities = new JSONObject()
+                .put(WIRE_FORMATS_KEY, new JSONArray().put(BINARY_WIRE_FORMAT).put(JSON_WIRE_FORMAT))
+                .put(COMPRESSIONS_KEY, new JSONArray().put(DEFLATE_COMPRESSION));
+        try {
+            JSONObject negotiation;
+            synchronized (RESPONSE_LOCK) {
+                sendTokenRequest(capabilities, NEGOTIATE_OPE);
+                negotiation = readResponse();
+            }
+            if (negotiation != null && negotiation.optInt(STATUS_CODE, -1) == SUCCESSFUL_RESPONSE) {
+                setWireFormat(negotiation.optString(WIRE_FORMAT_KEY, null));
+                setCompression(negotiation.optString(COMPRESSION_KEY, null));
+                return true;
+            }
+        } catch (Exception ignored) {
+        }
+        setWireFormat(null);
+        setCompression(null);
+        return false;
+    }
+
+    /**
+     * Method to get {@link #wireFormat} instance <br>
+     * Any params required
+     *
+     * @return {@link #wireFormat} instance as {@link String}
+     **/
+    public String getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * Method to set {@link #wireFormat}
+     *
+     * @param wireFormat: wire format negotiated with the server, null or unknown values are considered as JSON
+     * @apiNote the wire format is set by {@link #negotiate()}
+     **/
+    public void setWireFormat(String wireFormat) {
+        if (BINARY_WIRE_FORMAT.equals(wireFormat))
+            this.wireFormat = BINARY_WIRE_FORMAT;
+        else
+            this.wireFormat = JSON_WIRE_FORMAT;
+    }
+
+    /**
+     * This method is used to get if the binary wire format has been negotiated <br>
+     * Any params required
+     *
+     * @return whether notes and wallets must be sent with {@link TxNotesWireCodec}
+     **/
+    public boolean isBinaryWireFormat() {
+        return BINARY_WIRE_FORMAT.equals(wireFormat);
+    }
+
+    /**
+     * Method to get {@link #compression} instance <br>
+     * Any params required
+     *
+     * @return {@link #compression} instance as {@link String}
+     **/
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * Method to set {@link #compression}
+     *
+     * @param compression: compression negotiated with the server, null or unknown values disable the compression
+     * @apiNote the compression is set by {@link #negotiate()}
+     **/
+    public void setCompression(String compression) {
+        if (DEFLATE_COMPRESSION.equals(compression))
+            this.compression = DEFLATE_COMPRESSION;
+        else
+            this.compression = null;
+    }
+
+    /**
+     * Method to get {@link #compressionThreshold} instance <br>
+     * Any params required
+     *
+     * @return {@link #compressionThreshold} instance as int
+     **/
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Method to set {@link #compressionThreshold}
+     *
+     * @param compressionThreshold: size in characters over which payloads are compressed
+     * @throws IllegalArgumentException when compressionThreshold is negative
+     **/
+    public void setCompressionThreshold(int compressionThreshold) {
+        if (compressionThreshold < 0)
+            throw new IllegalArgumentException("Compression threshold cannot be negative");
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * This method is used to compress a payload before it is encrypted and sent
+     *
+     * @param payload: payload to compress
+     * @return payload compressed as {@link JSONObject} with {@code "compression"} and
+     * {@code "payload"} keys, or the same payload when the compression has not been negotiated or
+     * the payload is smaller than {@link #compressionThreshold}
+     **/
+    public JSONObject compressPayload(JSONObject payload) {
+        if (compression == null)
+            return payload;
+        String content = payload.toString();
+        if (content.length() < compressionThreshold)
+            return payload;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length() / 4);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(bytes)) {
+            deflater.write(content.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new JSONObject()
+                .put(COMPRESSION_KEY, DEFLATE_COMPRESSION)
+                .put(PAYLOAD_KEY, Base64.getEncoder().encodeToString(bytes.toByteArray()));
+    }
+
+    /**
+     * This method is used to decompress a payload received from the server
+     *
+     * @param payload: payload to decompress
+     * @return payload decompressed as {@link JSONObject}, or the same payload when it is not compressed
+     * @throws IllegalArgumentException when the payload compressed is not valid
+     * @apiNote the response of the login must never be compressed, because it is read by {@code TraderBot} library
+     * before it can be decompressed, and the compression is negotiated only after the login
+     **/
+    public static JSONObject decompressPayload(JSONObject payload) {
+        if (payload == null || !payload.has(PAYLOAD_KEY) || !DEFLATE_COMPRESSION.equals(payload.optString(COMPRESSION_KEY)))
+            return payload;
+        byte[] compressed = Base64.getDecoder().decode(payload.getString(PAYLOAD_KEY));
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inflater.read(buffer)) != -1)
+                bytes.write(buffer, 0, read);
+            return new JSONObject(new String(bytes.toByteArray(), UTF_8));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Compressed payload is not valid", e);
+        }
+    }
+
 }
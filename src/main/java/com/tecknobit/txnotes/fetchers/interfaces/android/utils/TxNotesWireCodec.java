@@ -0,0 +1,337 @@
+package com.tecknobit.txnotes.fetchers.interfaces.android.utils;
+
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.Wallet;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code TxNotesWireCodec} class is useful to encode and decode {@link TxNote} and {@link Wallet} with the compact
+ * binary format of the {@code TxNotes} server sync. <br>
+ * The format is made up by:
+ * <ul>
+ *     <li>a version byte</li>
+ *     <li>the dictionary of the symbols and of the assets used, each one written once</li>
+ *     <li>the records, where symbols and assets are identifiers of the dictionary, timestamps are delta varints
+ *     and decimal values are fixed-width doubles</li>
+ * </ul>
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesWireCodec {
+
+    /**
+     * {@code WIRE_FORMAT_VERSION} is instance that memorizes version of the binary format
+     **/
+    public static final byte WIRE_FORMAT_VERSION = 1;
+
+    /**
+     * Constructor to avoid instantiation
+     **/
+    private TxNotesWireCodec() {
+    }
+
+    /**
+     * This method is used to encode a list of {@link TxNote}
+     *
+     * @param txNotes: list of tx notes to encode
+     * @return tx notes encoded as byte array
+     **/
+    public static byte[] encodeTxNotes(Collection<TxNote> txNotes) {
+        LinkedHashMap<String, Integer> dictionary = new LinkedHashMap<>();
+        for (TxNote txNote : txNotes)
+            fillDictionary(txNote, dictionary);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeHeader(dictionary, output);
+            writeTxNotes(txNotes, dictionary, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This method is used to decode a list of {@link TxNote}
+     *
+     * @param payload: tx notes encoded with {@link #encodeTxNotes(Collection)}
+     * @return list of tx notes as {@link ArrayList} of {@link TxNote}
+     * @throws IllegalArgumentException when the payload is not valid
+     **/
+    public static ArrayList<TxNote> decodeTxNotes(byte[] payload) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return readTxNotes(readHeader(input), input);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Tx notes payload is not valid", e);
+        }
+    }
+
+    /**
+     * This method is used to encode a list of {@link Wallet}
+     *
+     * @param wallets: list of wallets to encode
+     * @return wallets encoded as byte array
+     **/
+    public static byte[] encodeWallets(Collection<Wallet> wallets) {
+        LinkedHashMap<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Wallet wallet : wallets) {
+            putInDictionary(wallet.getIndex(), dictionary);
+            putInDictionary(wallet.getName(), dictionary);
+            for (TxNote txNote : wallet.getTxNotes())
+                fillDictionary(txNote, dictionary);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeHeader(dictionary, output);
+            writeVarInt(wallets.size(), output);
+            for (Wallet wallet : wallets) {
+                writeVarInt(dictionary.get(wallet.getIndex()), output);
+                writeVarInt(dictionary.get(wallet.getName()), output);
+                output.writeDouble(wallet.getLastPrice());
+                output.writeDouble(wallet.getTrend());
+                writeTxNotes(wallet.getTxNotes(), dictionary, output);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This method is used to decode a list of {@link Wallet}
+     *
+     * @param payload: wallets encoded with {@link #encodeWallets(Collection)}
+     * @return list of wallets as {@link ArrayList} of {@link Wallet}
+     * @throws IllegalArgumentException when the payload is not valid
+     **/
+    public static ArrayList<Wallet> decodeWallets(byte[] payload) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String[] dictionary = readHeader(input);
+            int walletsNumber = readVarInt(input);
+            ArrayList<Wallet> wallets = new ArrayList<>(walletsNumber);
+            for (int j = 0; j < walletsNumber; j++) {
+                String index = dictionary[readVarInt(input)];
+                String name = dictionary[readVarInt(input)];
+                double lastPrice = input.readDouble();
+                double trend = input.readDouble();
+                wallets.add(new Wallet(index, name, lastPrice, trend, readTxNotes(dictionary, input)));
+            }
+            return wallets;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Wallets payload is not valid", e);
+        }
+    }
+
+    /**
+     * This method is used to insert in the dictionary symbol and assets of a {@link TxNote}
+     *
+     * @param txNote:     tx note to insert
+     * @param dictionary: dictionary where insert the values
+     **/
+    private static void fillDictionary(TxNote txNote, LinkedHashMap<String, Integer> dictionary) {
+        putInDictionary(txNote.getSymbol(), dictionary);
+        putInDictionary(txNote.getBaseAsset(), dictionary);
+        putInDictionary(txNote.getQuoteAsset(), dictionary);
+    }
+
+    /**
+     * This method is used to insert a value in the dictionary
+     *
+     * @param value:      value to insert, null values are stored as empty values
+     * @param dictionary: dictionary where insert the value
+     **/
+    private static void putInDictionary(String value, LinkedHashMap<String, Integer> dictionary) {
+        dictionary.putIfAbsent(value, dictionary.size());
+    }
+
+    /**
+     * This method is used to write version and dictionary of the payload
+     *
+     * @param dictionary: dictionary to write
+     * @param output:     output where write
+     * @throws IOException when an operation fails
+     **/
+    private static void writeHeader(LinkedHashMap<String, Integer> dictionary, DataOutputStream output) throws IOException {
+        output.writeByte(WIRE_FORMAT_VERSION);
+        writeVarInt(dictionary.size(), output);
+        for (String value : dictionary.keySet()) {
+            if (value == null)
+                writeVarInt(0, output);
+            else {
+                byte[] bytes = value.getBytes(UTF_8);
+                writeVarInt(bytes.length + 1, output);
+                output.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * This method is used to read version and dictionary of the payload
+     *
+     * @param input: input from read
+     * @return dictionary as array of {@link String}
+     * @throws IOException when an operation fails or the version is not supported
+     **/
+    private static String[] readHeader(DataInputStream input) throws IOException {
+        byte version = input.readByte();
+        if (version != WIRE_FORMAT_VERSION)
+            throw new IOException("Wire format version " + version + " is not supported");
+        String[] dictionary = new String[readVarInt(input)];
+        for (int j = 0; j < dictionary.length; j++) {
+            int length = readVarInt(input);
+            if (length > 0) {
+                byte[] bytes = new byte[length - 1];
+                input.readFully(bytes);
+                dictionary[j] = new String(bytes, UTF_8);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * This method is used to write a list of {@link TxNote}
+     *
+     * @param txNotes:    list of tx notes to write
+     * @param dictionary: dictionary of the payload
+     * @param output:     output where write
+     * @throws IOException when an operation fails
+     **/
+    private static void writeTxNotes(Collection<TxNote> txNotes, LinkedHashMap<String, Integer> dictionary,
+                                     DataOutputStream output) throws IOException {
+        writeVarInt(txNotes.size(), output);
+        long previousBuyDate = 0;
+        for (TxNote txNote : txNotes) {
+            long buyDate = txNote.getBuyDateTimestamp();
+            writeVarInt(dictionary.get(txNote.getSymbol()), output);
+            writeVarInt(dictionary.get(txNote.getBaseAsset()), output);
+            writeVarInt(dictionary.get(txNote.getQuoteAsset()), output);
+            output.writeByte(txNote.getStatus().ordinal());
+            writeVarLong(buyDate - previousBuyDate, output);
+            output.writeDouble(txNote.getInitialBalance());
+            output.writeDouble(txNote.getQuantity());
+            output.writeDouble(txNote.getLastPrice());
+            long sellDate = txNote.getSellDateTimestamp();
+            output.writeBoolean(sellDate != 0);
+            if (sellDate != 0) {
+                output.writeDouble(txNote.getSellPrice());
+                writeVarLong(sellDate - buyDate, output);
+            }
+            previousBuyDate = buyDate;
+        }
+    }
+
+    /**
+     * This method is used to read a list of {@link TxNote}
+     *
+     * @param dictionary: dictionary of the payload
+     * @param input:      input from read
+     * @return list of tx notes as {@link ArrayList} of {@link TxNote}
+     * @throws IOException when an operation fails
+     **/
+    private static ArrayList<TxNote> readTxNotes(String[] dictionary, DataInputStream input) throws IOException {
+        int notesNumber = readVarInt(input);
+        ArrayList<TxNote> txNotes = new ArrayList<>(notesNumber);
+        long buyDate = 0;
+        Side[] sides = Side.values();
+        for (int j = 0; j < notesNumber; j++) {
+            String symbol = dictionary[readVarInt(input)];
+            String baseAsset = dictionary[readVarInt(input)];
+            String quoteAsset = dictionary[readVarInt(input)];
+            Side status = sides[input.readUnsignedByte()];
+            buyDate += readVarLong(input);
+            double initialBalance = input.readDouble();
+            double quantity = input.readDouble();
+            double lastPrice = input.readDouble();
+            double sellPrice = 0;
+            long sellDate = 0;
+            if (input.readBoolean()) {
+                sellPrice = input.readDouble();
+                sellDate = buyDate + readVarLong(input);
+            }
+            txNotes.add(new TxNote(symbol, status, buyDate, initialBalance, quantity, lastPrice, sellPrice, sellDate,
+                    baseAsset, quoteAsset));
+        }
+        return txNotes;
+    }
+
+    /**
+     * This method is used to write a not negative int as varint
+     *
+     * @param value:  value to write
+     * @param output: output where write
+     * @throws IOException when an operation fails
+     **/
+    private static void writeVarInt(int value, DataOutputStream output) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * This method is used to read a varint
+     *
+     * @param input: input from read
+     * @return value read as int
+     * @throws IOException when an operation fails
+     **/
+    private static int readVarInt(DataInputStream input) throws IOException {
+        return (int) readVarLong(input, 35);
+    }
+
+    /**
+     * This method is used to write a long as zigzag varint, so also negative deltas are written in few bytes
+     *
+     * @param value:  value to write
+     * @param output: output where write
+     * @throws IOException when an operation fails
+     **/
+    private static void writeVarLong(long value, DataOutputStream output) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        output.writeByte((int) zigzag);
+    }
+
+    /**
+     * This method is used to read a zigzag varint
+     *
+     * @param input: input from read
+     * @return value read as long
+     * @throws IOException when an operation fails
+     **/
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long zigzag = readVarLong(input, 70);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * This method is used to read the raw bits of a varint
+     *
+     * @param input:   input from read
+     * @param maxBits: max number of bits allowed
+     * @return raw value read as long
+     * @throws IOException when an operation fails or the varint is too long
+     **/
+    private static long readVarLong(DataInputStream input, int maxBits) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < maxBits; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Varint is too long");
+    }
+
+}
@@ -8,11 +8,17 @@ import com.tecknobit.traderbot.routines.interfaces.RoutineMessages;
 import com.tecknobit.traderbot.routines.interfaces.TraderCoreRoutines;
 import com.tecknobit.txnotes.fetchers.interfaces.TxNotesFetcher;
 import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.Wallet;
 import org.json.JSONObject;
 
-import static com.tecknobit.traderbot.routines.android.ServerRequest.response;
+import java.util.Base64;
+import java.util.Collection;
+
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.*;
-import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.ALLOW_ALL_TXS_NOTE_OPE;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.*;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesServerRequest.RESPONSE_LOCK;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesServerRequest.decompressPayload;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec.encodeWallets;
 import static java.lang.Integer.parseInt;
 
 /**
@@ -21,6 +27,9 @@ import static java.lang.Integer.parseInt;
  *
  * @author Tecknobit N7ghtm4r3
  * @apiNote origin library at: <a href="https://github.com/N7ghtm4r3/TraderBot">https://github.com/N7ghtm4r3/TraderBot</a>
+ * @implNote each request whose response is read from the static {@code response} of {@link ServerRequest} is made
+ * holding {@link TxNotesServerRequest#RESPONSE_LOCK}, so the workflows of different accounts can run in parallel
+ * but their requests are sent one at a time
  * @see AndroidWorkflow
  * @see RoutineMessages
  **/
@@ -32,6 +41,11 @@ public class TxNotesWorkflow extends AndroidWorkflow {
      **/
     private final TxNotesFetcher fetcher;
 
+    /**
+     * {@code txServerRequest} is instance to make server request with the wire format negotiated
+     **/
+    private final TxNotesServerRequest txServerRequest;
+
     /**
      * Constructor to init {@link TxNotesWorkflow}
      *
@@ -44,6 +58,7 @@ public class TxNotesWorkflow extends AndroidWorkflow {
                            boolean printRoutineMessages, TxNotesAndroidFetcher fetcher) {
         super(serverRequest, trader, credentials, printRoutineMessages);
         this.fetcher = fetcher;
+        txServerRequest = serverRequest;
     }
 
     /**
@@ -52,7 +67,9 @@ public class TxNotesWorkflow extends AndroidWorkflow {
      **/
     @Override
     protected void performRoutines() {
-        getRoutines();
+        synchronized (RESPONSE_LOCK) {
+            getRoutines();
+        }
         for (Routine routine : routines) {
             switch (routine.getRoutine()) {
                 case CHANGE_EMAIL_OPE:
@@ -126,8 +143,11 @@ public class TxNotesWorkflow extends AndroidWorkflow {
      **/
     @Override
     public boolean changeRefreshTime(int refreshTime) {
-        if (fetcher.getRefreshTimeSeconds() != refreshTime)
-            return super.changeRefreshTime(refreshTime);
+        if (fetcher.getRefreshTimeSeconds() != refreshTime) {
+            synchronized (RESPONSE_LOCK) {
+                return super.changeRefreshTime(refreshTime);
+            }
+        }
         return true;
     }
 
@@ -139,26 +159,99 @@ public class TxNotesWorkflow extends AndroidWorkflow {
      **/
     @Override
     public boolean changeBaseCurrency(String baseCurrency) {
-        if (!fetcher.getBaseCurrency().equals(baseCurrency))
-            return super.changeBaseCurrency(baseCurrency);
+        if (!fetcher.getBaseCurrency().equals(baseCurrency)) {
+            synchronized (RESPONSE_LOCK) {
+                return super.changeBaseCurrency(baseCurrency);
+            }
+        }
         return true;
     }
 
+    /**
+     * This method is used to enable the bot on the server <br>
+     * Any params required
+     *
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
+     **/
+    @Override
+    public boolean enableBot() {
+        synchronized (RESPONSE_LOCK) {
+            return super.enableBot();
+        }
+    }
+
+    /**
+     * This method is used to disable the bot on the server <br>
+     * Any params required
+     *
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
+     **/
+    @Override
+    public boolean disableBot() {
+        synchronized (RESPONSE_LOCK) {
+            return super.disableBot();
+        }
+    }
+
     /**
      * This method is used to insert wallet<br>
      *
      * @param wallet: value of wallet to insert
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
      **/
-    public void insertWallet(JSONObject wallet) {
+    public boolean insertWallet(JSONObject wallet) {
+        return sendWalletList(new JSONObject().put(TRANSACTIONS_KEY, wallet));
+    }
+
+    /**
+     * This method is used to insert wallet<br>
+     *
+     * @param wallets: list of wallets to insert
+     * @implNote wallets will be sent with {@link TxNotesWireCodec} when the binary wire format has been negotiated,
+     * else as JSON
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
+     **/
+    public boolean insertWallet(Collection<Wallet> wallets) {
+        if (isBinaryWireFormat())
+            return insertWallet(encodeWallets(wallets));
+        JSONObject wallet = new JSONObject();
+        for (Wallet mWallet : wallets)
+            wallet.put(mWallet.getIndex(), mWallet.getWallet());
+        return insertWallet(wallet);
+    }
+
+    /**
+     * This method is used to insert wallet<br>
+     *
+     * @param wallets: list of wallets encoded with {@link TxNotesWireCodec}
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
+     **/
+    public boolean insertWallet(byte[] wallets) {
+        return sendWalletList(new JSONObject()
+                .put(WIRE_FORMAT_KEY, BINARY_WIRE_FORMAT)
+                .put(TRANSACTIONS_KEY, Base64.getEncoder().encodeToString(wallets)));
+    }
+
+    /**
+     * This method is used to send a wallet list to the server
+     *
+     * @param payload: payload to send
+     * @return result of the operation as boolean, if true operation has been correctly completed wherever false not
+     **/
+    private boolean sendWalletList(JSONObject payload) {
         try {
-            serverRequest.sendTokenRequest(new JSONObject().put(TRANSACTIONS_KEY, wallet), INSERT_WALLET_LIST_OPE);
-            response = serverRequest.readResponse();
+            JSONObject response;
+            synchronized (RESPONSE_LOCK) {
+                serverRequest.sendTokenRequest(txServerRequest.compressPayload(payload), INSERT_WALLET_LIST_OPE);
+                response = decompressPayload(serverRequest.readResponse());
+                ServerRequest.response = response;
+            }
             if (response != null) {
                 switch (response.getInt(STATUS_CODE)) {
                     case SUCCESSFUL_RESPONSE:
                         if (printRoutineMessages)
                             printOperationSuccess(INSERT_WALLET_LIST_OPE);
-                        break;
+                        return true;
                     case GENERIC_ERROR_RESPONSE:
                         printOperationStatus("[" + INSERT_WALLET_LIST_OPE + "] Wallet list must be valid", false);
                         break;
@@ -170,6 +263,17 @@ public class TxNotesWorkflow extends AndroidWorkflow {
         } catch (Exception e) {
             printOperationFailed(INSERT_WALLET_LIST_OPE);
         }
+        return false;
+    }
+
+    /**
+     * This method is used to get if the binary wire format has been negotiated <br>
+     * Any params required
+     *
+     * @return whether notes and wallets are sent with {@link TxNotesWireCodec}
+     **/
+    public boolean isBinaryWireFormat() {
+        return txServerRequest.isBinaryWireFormat();
     }
 
     /**
@@ -183,9 +287,13 @@ public class TxNotesWorkflow extends AndroidWorkflow {
     public boolean deleteTxNote(String asset, long removeDate) {
         if (!fetcher.getTxNotesDeleted().contains(asset + removeDate)) {
             try {
-                serverRequest.sendServerRequest(new JSONObject().put(TRANSACTION_KEY, asset + "-" + removeDate),
-                        DELETE_TRANSACTION_OPE);
-                response = serverRequest.readResponse();
+                JSONObject response;
+                synchronized (RESPONSE_LOCK) {
+                    serverRequest.sendServerRequest(new JSONObject().put(TRANSACTION_KEY, asset + "-" + removeDate),
+                            DELETE_TRANSACTION_OPE);
+                    response = serverRequest.readResponse();
+                    ServerRequest.response = response;
+                }
                 switch (response.getInt(STATUS_CODE)) {
                     case SUCCESSFUL_RESPONSE:
                         if (printRoutineMessages)
@@ -216,8 +324,12 @@ public class TxNotesWorkflow extends AndroidWorkflow {
     public void allowAllTxNotes() {
         if (!fetcher.getTxNotesDeleted().isEmpty()) {
             try {
-                serverRequest.sendServerRequest(new JSONObject(), ALLOW_ALL_TXS_NOTE_OPE);
-                response = serverRequest.readResponse();
+                JSONObject response;
+                synchronized (RESPONSE_LOCK) {
+                    serverRequest.sendServerRequest(new JSONObject(), ALLOW_ALL_TXS_NOTE_OPE);
+                    response = serverRequest.readResponse();
+                    ServerRequest.response = response;
+                }
                 if (response.getInt(STATUS_CODE) == SUCCESSFUL_RESPONSE) {
                     if (printRoutineMessages)
                         printOperationSuccess(ALLOW_ALL_TXS_NOTE_OPE);
@@ -0,0 +1,283 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import com.tecknobit.traderbot.routines.interfaces.RoutineMessages;
+
+/**
+ * The {@code TxNotesCircuitBreaker} class is useful to isolate the failures of an external dependency, like the
+ * exchange or the {@code TxNotes} server. <br>
+ * After {@link #failureThreshold} consecutive failures the circuit opens and the calls to the dependency are skipped
+ * until the open time is elapsed, then a single trial call is allowed: when it succeeds the circuit closes, else it
+ * opens again with a doubled open time, until {@link #maxOpenTime}.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesCircuitBreaker {
+
+    /**
+     * {@code DEFAULT_FAILURE_THRESHOLD} is instance that memorizes default number of consecutive failures to open
+     * the circuit
+     **/
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    /**
+     * {@code DEFAULT_OPEN_TIME} is instance that memorizes default open time in milliseconds after the first opening
+     **/
+    public static final long DEFAULT_OPEN_TIME = 5000;
+
+    /**
+     * {@code DEFAULT_MAX_OPEN_TIME} is instance that memorizes default max open time in milliseconds
+     **/
+    public static final long DEFAULT_MAX_OPEN_TIME = 300000;
+
+    /**
+     * {@code CircuitState} list of available states of the circuit
+     **/
+    public enum CircuitState {
+
+        /**
+         * {@code CLOSED} the dependency is working and calls are allowed
+         **/
+        CLOSED,
+
+        /**
+         * {@code OPEN} the dependency is failing and calls are skipped
+         **/
+        OPEN,
+
+        /**
+         * {@code HALF_OPEN} the open time is elapsed and a trial call is running
+         **/
+        HALF_OPEN
+
+    }
+
+    /**
+     * {@code name} is instance that memorizes name of the dependency guarded
+     **/
+    private final String name;
+
+    /**
+     * {@code failureThreshold} is instance that memorizes number of consecutive failures to open the circuit
+     **/
+    private final int failureThreshold;
+
+    /**
+     * {@code openTime} is instance that memorizes open time in milliseconds after the first opening
+     **/
+    private final long openTime;
+
+    /**
+     * {@code maxOpenTime} is instance that memorizes max open time in milliseconds
+     **/
+    private final long maxOpenTime;
+
+    /**
+     * {@code state} is instance that memorizes current state of the circuit
+     **/
+    private CircuitState state = CircuitState.CLOSED;
+
+    /**
+     * {@code consecutiveFailures} is instance that memorizes number of consecutive failures
+     **/
+    private int consecutiveFailures;
+
+    /**
+     * {@code currentOpenTime} is instance that memorizes open time in milliseconds of the current opening
+     **/
+    private long currentOpenTime;
+
+    /**
+     * {@code openedAt} is instance that memorizes timestamp when the circuit has been opened
+     **/
+    private long openedAt;
+
+    /**
+     * {@code lastFailure} is instance that memorizes last failure of the dependency
+     **/
+    private Throwable lastFailure;
+
+    /**
+     * Constructor to init {@link TxNotesCircuitBreaker}
+     *
+     * @param name:             name of the dependency guarded
+     * @param failureThreshold: number of consecutive failures to open the circuit
+     * @param openTime:         open time in milliseconds after the first opening
+     * @param maxOpenTime:      max open time in milliseconds
+     * @throws IllegalArgumentException when failureThreshold or openTime are not positive or when openTime is bigger
+     *                                  than maxOpenTime
+     **/
+    public TxNotesCircuitBreaker(String name, int failureThreshold, long openTime, long maxOpenTime) {
+        if (failureThreshold <= 0)
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        if (openTime <= 0)
+            throw new IllegalArgumentException("Open time must be positive");
+        if (openTime > maxOpenTime)
+            throw new IllegalArgumentException("Open time cannot be bigger than max open time");
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openTime = openTime;
+        this.maxOpenTime = maxOpenTime;
+        currentOpenTime = openTime;
+    }
+
+    /**
+     * Constructor to init {@link TxNotesCircuitBreaker} with default values
+     *
+     * @param name: name of the dependency guarded
+     **/
+    public TxNotesCircuitBreaker(String name) {
+        this(name, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_TIME, DEFAULT_MAX_OPEN_TIME);
+    }
+
+    /**
+     * This method is used to get if a call to the dependency is allowed <br>
+     * Any params required
+     *
+     * @return whether the call is allowed as boolean
+     * @implNote when the open time is elapsed the circuit goes in {@link CircuitState#HALF_OPEN} and this call is
+     * allowed as trial, the result must be recorded with {@link #recordSuccess()} or {@link #recordFailure(Throwable)},
+     * or the trial must be released with {@link #releaseTrial()}
+     **/
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= currentOpenTime) {
+                    state = CircuitState.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * This method is used to record a successful call to the dependency <br>
+     * Any params required
+     **/
+    public synchronized void recordSuccess() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        currentOpenTime = openTime;
+    }
+
+    /**
+     * This method is used to record a failed call to the dependency
+     *
+     * @param failure: failure occurred, can be null
+     **/
+    public synchronized void recordFailure(Throwable failure) {
+        lastFailure = failure;
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN) {
+            currentOpenTime = Math.min(currentOpenTime * 2, maxOpenTime);
+            open();
+        } else if (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)
+            open();
+    }
+
+    /**
+     * This method is used to end a trial call without a result, es. because the thread has been interrupted <br>
+     * Any params required
+     *
+     * @implNote when the circuit is {@link CircuitState#HALF_OPEN} it goes back {@link CircuitState#OPEN} with the
+     * same open time, so the next call is allowed as a new trial
+     **/
+    public synchronized void releaseTrial() {
+        if (state == CircuitState.HALF_OPEN)
+            state = CircuitState.OPEN;
+    }
+
+    /**
+     * This method is used to open the circuit <br>
+     * Any params required
+     **/
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * This method is used to get the time to wait before the next trial call <br>
+     * Any params required
+     *
+     * @return time to wait in milliseconds as long, 0 if the circuit is not open
+     **/
+    public synchronized long getRemainingOpenTime() {
+        if (state != CircuitState.OPEN)
+            return 0;
+        return Math.max(0, currentOpenTime - (System.currentTimeMillis() - openedAt));
+    }
+
+    /**
+     * This method is used to get a message that describes the last failure of the dependency <br>
+     * Any params required
+     *
+     * @return message as {@link String}, null if no failure has been recorded
+     **/
+    public synchronized String getFailureMessage() {
+        if (state == CircuitState.OPEN)
+            return name + " unavailable, next attempt in " + getRemainingOpenTime() + " ms";
+        if (consecutiveFailures == 0)
+            return null;
+        if (lastFailure != null && lastFailure.getMessage() != null)
+            return name + " failure: " + lastFailure.getMessage();
+        return name + " failure";
+    }
+
+    /**
+     * This method is used to print the message that describes the last failure of the dependency
+     *
+     * @param messages: routine messages used to print the message
+     * @implNote nothing is printed when no failure has been recorded
+     **/
+    public void printFailure(RoutineMessages messages) {
+        String message = getFailureMessage();
+        if (message != null)
+            messages.printRed(message);
+    }
+
+    /**
+     * Method to get {@link #state} instance <br>
+     * Any params required
+     *
+     * @return {@link #state} instance as {@link CircuitState}
+     **/
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Method to get {@link #consecutiveFailures} instance <br>
+     * Any params required
+     *
+     * @return {@link #consecutiveFailures} instance as int
+     **/
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Method to get {@link #lastFailure} instance <br>
+     * Any params required
+     *
+     * @return {@link #lastFailure} instance as {@link Throwable}
+     **/
+    public synchronized Throwable getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Method to get {@link #name} instance <br>
+     * Any params required
+     *
+     * @return {@link #name} instance as {@link String}
+     **/
+    public String getName() {
+        return name;
+    }
+
+}
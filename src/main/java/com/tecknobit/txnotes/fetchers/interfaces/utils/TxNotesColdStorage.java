@@ -0,0 +1,671 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.TxNotesIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec.decodeTxNotes;
+import static com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec.encodeTxNotes;
+
+/**
+ * The {@code TxNotesColdStorage} class is useful to keep the {@link TxNote} that will not change anymore out of the
+ * heap. <br>
+ * Notes are appended to a local segment file encoded with {@link com.tecknobit.txnotes.fetchers.interfaces.android.utils.TxNotesWireCodec},
+ * only the dates and the position of each note, sorted in primitive arrays for each base asset, and the aggregated
+ * values of each asset stay in memory, and a note is read back from the file only when it is requested
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the segment is a cache of the current process: it is truncated when the storage is opened and deleted when
+ * it is closed; the keys of the notes must be their base asset followed by their buy date, as the keys used by the
+ * fetchers, so they are not memorized
+ **/
+
+public class TxNotesColdStorage implements AutoCloseable, TxNotesIndex.Archive {
+
+    /**
+     * {@code DEFAULT_CACHE_SIZE} is instance that memorizes default number of notes read kept in memory
+     **/
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * {@code COMPACTION_MIN_BYTES} is instance that memorizes min bytes of notes removed before the segment is
+     * compacted
+     **/
+    public static final long COMPACTION_MIN_BYTES = 1024 * 1024;
+
+    /**
+     * {@code COMPACTION_RATIO} is instance that memorizes min ratio between the bytes of notes removed and the length
+     * of the segment before the segment is compacted
+     **/
+    public static final double COMPACTION_RATIO = 0.5;
+
+    /**
+     * {@code file} is instance that memorizes file of the segment
+     **/
+    private final File file;
+
+    /**
+     * {@code segment} is instance helpful to write and read the segment
+     **/
+    private final RandomAccessFile segment;
+
+    /**
+     * {@code assetSegments} is instance that memorizes the notes stored of each base asset with the asset as key
+     **/
+    private final HashMap<String, AssetSegment> assetSegments = new HashMap<>();
+
+    /**
+     * {@code cache} is instance that memorizes the notes read most recently
+     **/
+    private final LinkedHashMap<String, TxNote> cache;
+
+    /**
+     * {@code size} is instance that memorizes number of notes stored
+     **/
+    private int size;
+
+    /**
+     * {@code garbageBytes} is instance that memorizes bytes of the segment used by notes removed
+     **/
+    private long garbageBytes;
+
+    /**
+     * Constructor to init {@link TxNotesColdStorage}
+     *
+     * @param file: file of the segment
+     * @throws IOException when the file cannot be opened
+     * @implNote {@link #DEFAULT_CACHE_SIZE} will be used as cache size
+     **/
+    public TxNotesColdStorage(File file) throws IOException {
+        this(file, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesColdStorage}
+     *
+     * @param file:      file of the segment
+     * @param cacheSize: number of notes read kept in memory
+     * @throws IOException              when the file cannot be opened
+     * @throws IllegalArgumentException when cacheSize is negative
+     **/
+    public TxNotesColdStorage(File file, int cacheSize) throws IOException {
+        if (cacheSize < 0)
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        this.file = file;
+        segment = new RandomAccessFile(file, "rw");
+        segment.setLength(0);
+        cache = new LinkedHashMap<String, TxNote>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TxNote> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * This method is used to move a {@link TxNote} in the segment
+     *
+     * @param key:    key of the tx note, base asset and buy date
+     * @param txNote: tx note to move
+     * @throws IllegalArgumentException when a note with the same key is already stored or the key is not the base
+     *                                  asset followed by the buy date of the note
+     **/
+    public synchronized void write(String key, TxNote txNote) {
+        String asset = txNote.getBaseAsset();
+        long buyDate = txNote.getBuyDateTimestamp();
+        if (!key.equals(asset + buyDate))
+            throw new IllegalArgumentException("Key " + key + " is not the base asset and the buy date of the tx note");
+        AssetSegment assetSegment = assetSegments.get(asset);
+        if (assetSegment != null && assetSegment.find(buyDate) >= 0)
+            throw new IllegalArgumentException("Tx note " + key + " is already stored");
+        byte[] record = encodeTxNotes(Collections.singletonList(txNote));
+        long offset;
+        try {
+            offset = segment.length();
+            segment.seek(offset);
+            segment.writeInt(record.length);
+            segment.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (assetSegment == null) {
+            assetSegment = new AssetSegment();
+            assetSegments.put(asset, assetSegment);
+        }
+        assetSegment.insert(buyDate, txNote.getSellDateTimestamp(), offset);
+        assetSegment.incomePercent += txNote.getIncomePercent();
+        size++;
+    }
+
+    /**
+     * This method is used to read a {@link TxNote} from the segment
+     *
+     * @param key: key of the tx note
+     * @return tx note as {@link TxNote}, null if not stored
+     * @implNote each call returns a new instance, except for the notes still in {@link #cache}
+     **/
+    public synchronized TxNote read(String key) {
+        TxNote txNote = cache.get(key);
+        if (txNote != null)
+            return txNote;
+        for (Map.Entry<String, AssetSegment> assetSegment : assetSegments.entrySet()) {
+            String asset = assetSegment.getKey();
+            long buyDate = parseBuyDate(key, asset);
+            if (buyDate != -1) {
+                int position = assetSegment.getValue().find(buyDate);
+                if (position >= 0)
+                    return readRecord(key, assetSegment.getValue().offsets[position]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method is used to read a {@link TxNote} from the segment
+     *
+     * @param key:    key of the tx note
+     * @param offset: position of the note in the segment
+     * @return tx note as {@link TxNote}
+     **/
+    private TxNote readRecord(String key, long offset) {
+        TxNote txNote = cache.get(key);
+        if (txNote != null)
+            return txNote;
+        try {
+            segment.seek(offset);
+            byte[] record = new byte[segment.readInt()];
+            segment.readFully(record);
+            txNote = decodeTxNotes(record).get(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.put(key, txNote);
+        return txNote;
+    }
+
+    /**
+     * This method is used to get the buy date of a key
+     *
+     * @param key:   key of the tx note
+     * @param asset: base asset to check
+     * @return buy date as long, -1 if the key is not of the asset
+     **/
+    private static long parseBuyDate(String key, String asset) {
+        if (key.length() <= asset.length() || !key.startsWith(asset))
+            return -1;
+        try {
+            return Long.parseLong(key, asset.length(), key.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * This method is used to remove a {@link TxNote} from the segment
+     *
+     * @param key: key of the tx note
+     * @return tx note removed as {@link TxNote}, null if not stored
+     * @implNote the space used by the note in the file is reused when the segment is compacted with
+     * {@link #compact()}, that is done automatically when {@link #garbageBytes} exceed {@link #COMPACTION_MIN_BYTES}
+     * and {@link #COMPACTION_RATIO} of the segment
+     **/
+    public synchronized TxNote remove(String key) {
+        TxNote txNote = read(key);
+        if (txNote == null)
+            return null;
+        String asset = txNote.getBaseAsset();
+        AssetSegment assetSegment = assetSegments.get(asset);
+        int position = assetSegment.find(txNote.getBuyDateTimestamp());
+        long offset = assetSegment.offsets[position];
+        assetSegment.delete(position);
+        cache.remove(key);
+        size--;
+        if (assetSegment.size == 0)
+            assetSegments.remove(asset);
+        else
+            assetSegment.incomePercent -= txNote.getIncomePercent();
+        try {
+            segment.seek(offset);
+            garbageBytes += Integer.BYTES + segment.readInt();
+            if (garbageBytes >= COMPACTION_MIN_BYTES && garbageBytes >= segment.length() * COMPACTION_RATIO)
+                compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return txNote;
+    }
+
+    /**
+     * This method is used to compact the segment moving the notes stored over the space of the notes removed <br>
+     * Any params required
+     *
+     * @throws IOException when the segment cannot be written
+     * @implNote the notes are moved in order of position, so each note is written before or over its current position
+     * and the segment stays readable also when the compaction is interrupted
+     **/
+    public synchronized void compact() throws IOException {
+        AssetSegment[] owners = new AssetSegment[size];
+        long[] offsets = new long[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (AssetSegment assetSegment : assetSegments.values()) {
+            for (int j = 0; j < assetSegment.size; j++) {
+                owners[count] = assetSegment;
+                positions[count] = j;
+                offsets[count++] = assetSegment.offsets[j];
+            }
+        }
+        Integer[] order = new Integer[count];
+        for (int j = 0; j < count; j++)
+            order[j] = j;
+        Arrays.sort(order, Comparator.comparingLong(record -> offsets[record]));
+        long writeOffset = 0;
+        byte[] buffer = new byte[0];
+        for (int record : order) {
+            segment.seek(offsets[record]);
+            int length = segment.readInt();
+            if (offsets[record] != writeOffset) {
+                if (buffer.length < length)
+                    buffer = new byte[length];
+                segment.readFully(buffer, 0, length);
+                segment.seek(writeOffset);
+                segment.writeInt(length);
+                segment.write(buffer, 0, length);
+                owners[record].offsets[positions[record]] = writeOffset;
+            }
+            writeOffset += Integer.BYTES + length;
+        }
+        segment.setLength(writeOffset);
+        garbageBytes = 0;
+    }
+
+    /**
+     * This method is used to get if a {@link TxNote} is stored
+     *
+     * @param key: key of the tx note
+     * @return whether the tx note is stored as boolean
+     **/
+    public synchronized boolean contains(String key) {
+        for (Map.Entry<String, AssetSegment> assetSegment : assetSegments.entrySet()) {
+            long buyDate = parseBuyDate(key, assetSegment.getKey());
+            if (buyDate != -1 && assetSegment.getValue().find(buyDate) >= 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method is used to get the keys of the notes stored <br>
+     * Any params required
+     *
+     * @return keys as {@link Set} of {@link String}
+     * @implNote the keys are created at each call, so it must not be used on the hot paths
+     **/
+    public synchronized Set<String> getKeys() {
+        HashSet<String> keys = new HashSet<>(size);
+        for (Map.Entry<String, AssetSegment> assetSegment : assetSegments.entrySet()) {
+            AssetSegment notes = assetSegment.getValue();
+            for (int j = 0; j < notes.size; j++)
+                keys.add(assetSegment.getKey() + notes.buyDates[j]);
+        }
+        return keys;
+    }
+
+    /**
+     * This method is used to get number of notes stored <br>
+     * Any params required
+     *
+     * @return number of notes as int
+     **/
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * This method is used to read lazily the notes stored sorted by a date
+     *
+     * @param asset:      base asset of the notes, null for all the assets
+     * @param bySellDate: whether the notes are sorted by sell date, else by buy date
+     * @param from:       min date included
+     * @param to:         max date included
+     * @param descending: whether the notes are sorted from the latest
+     * @return notes as {@link Iterator} of {@link TxNote}
+     * @implNote the dates of the notes in the range are copied when this method is called, then each note is read
+     * when it is reached, so the notes removed while iterating are skipped
+     **/
+    @Override
+    public synchronized Iterator<TxNote> iterator(String asset, boolean bySellDate, long from, long to,
+                                                  boolean descending) {
+        ArrayList<String> assets = new ArrayList<>();
+        ArrayList<long[][]> ranges = new ArrayList<>();
+        int count = 0;
+        if (from <= to) {
+            for (Map.Entry<String, AssetSegment> assetSegment : assetSegments.entrySet()) {
+                if (asset == null || asset.equals(assetSegment.getKey())) {
+                    long[][] range = assetSegment.getValue().range(bySellDate, from, to);
+                    if (range[0].length > 0) {
+                        assets.add(assetSegment.getKey());
+                        ranges.add(range);
+                        count += range[0].length;
+                    }
+                }
+            }
+        }
+        String[] noteAssets = new String[count];
+        long[] buyDates = new long[count];
+        int[] cursors = new int[ranges.size()];
+        for (int j = 0; j < count; j++) {
+            int next = -1;
+            for (int k = 0; k < ranges.size(); k++) {
+                long[][] range = ranges.get(k);
+                if (cursors[k] < range[0].length && (next == -1
+                        || range[0][cursors[k]] < ranges.get(next)[0][cursors[next]]))
+                    next = k;
+            }
+            noteAssets[j] = assets.get(next);
+            buyDates[j] = ranges.get(next)[1][cursors[next]++];
+        }
+        return new Iterator<TxNote>() {
+
+            private int cursor = descending ? buyDates.length - 1 : 0;
+
+            private TxNote next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public TxNote next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                TxNote txNote = next;
+                next = advance();
+                return txNote;
+            }
+
+            private TxNote advance() {
+                while (cursor >= 0 && cursor < buyDates.length) {
+                    int current = cursor;
+                    cursor += descending ? -1 : 1;
+                    TxNote txNote = read(noteAssets[current] + buyDates[current]);
+                    if (txNote != null)
+                        return txNote;
+                }
+                return null;
+            }
+
+        };
+    }
+
+    /**
+     * This method is used to get the base assets of the notes stored <br>
+     * Any params required
+     *
+     * @return base assets as {@link Set} of {@link String}
+     **/
+    public synchronized Set<String> getAssets() {
+        return new HashSet<>(assetSegments.keySet());
+    }
+
+    /**
+     * This method is used to get number of notes stored of an asset
+     *
+     * @param asset: base asset of the notes es. BTC
+     * @return number of notes as int
+     **/
+    public synchronized int getTxNotesNumber(String asset) {
+        AssetSegment assetSegment = assetSegments.get(asset);
+        return assetSegment == null ? 0 : assetSegment.size;
+    }
+
+    /**
+     * This method is used to get sum of the income percent of the notes stored of an asset
+     *
+     * @param asset: base asset of the notes es. BTC
+     * @return sum of the income percent as double
+     **/
+    public synchronized double getIncomePercent(String asset) {
+        AssetSegment assetSegment = assetSegments.get(asset);
+        return assetSegment == null ? 0 : assetSegment.incomePercent;
+    }
+
+    /**
+     * This method is used to get length of the segment <br>
+     * Any params required
+     *
+     * @return length in bytes as long
+     **/
+    public synchronized long getSegmentLength() {
+        try {
+            return segment.length();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method to get {@link #garbageBytes} instance <br>
+     * Any params required
+     *
+     * @return {@link #garbageBytes} instance as long
+     **/
+    public synchronized long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Method to get {@link #file} instance <br>
+     * Any params required
+     *
+     * @return {@link #file} instance as {@link File}
+     **/
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * This method is used to remove all the {@link TxNote} stored and to truncate the segment <br>
+     * Any params required
+     *
+     * @throws UncheckedIOException when the segment cannot be truncated
+     **/
+    public synchronized void clear() {
+        assetSegments.clear();
+        cache.clear();
+        size = 0;
+        garbageBytes = 0;
+        try {
+            segment.setLength(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method is used to close and delete the segment <br>
+     * Any params required
+     *
+     * @throws IOException when the file cannot be closed
+     **/
+    @Override
+    public synchronized void close() throws IOException {
+        assetSegments.clear();
+        cache.clear();
+        size = 0;
+        segment.close();
+        if (!file.delete() && file.exists())
+            file.deleteOnExit();
+    }
+
+    /**
+     * The {@code AssetSegment} class defines the notes stored of a base asset
+     *
+     * @implNote the dates and the positions are memorized in primitive arrays sorted by buy date, with
+     * {@link #sellOrder} as second order by sell date, so each note costs few bytes of heap and no object
+     **/
+    private static class AssetSegment {
+
+        /**
+         * {@code buyDates} is instance that memorizes buy dates of the notes sorted
+         **/
+        private long[] buyDates = new long[8];
+
+        /**
+         * {@code sellDates} is instance that memorizes sell dates of the notes sorted as {@link #buyDates}
+         **/
+        private long[] sellDates = new long[8];
+
+        /**
+         * {@code offsets} is instance that memorizes positions of the notes in the segment sorted as {@link #buyDates}
+         **/
+        private long[] offsets = new long[8];
+
+        /**
+         * {@code sellOrder} is instance that memorizes indexes of {@link #buyDates} sorted by sell date
+         **/
+        private int[] sellOrder = new int[8];
+
+        /**
+         * {@code size} is instance that memorizes number of notes of the asset
+         **/
+        private int size;
+
+        /**
+         * {@code incomePercent} is instance that memorizes sum of the income percent of the notes of the asset
+         **/
+        private double incomePercent;
+
+        /**
+         * This method is used to find a note
+         *
+         * @param buyDate: buy date of the note
+         * @return index of the note as int, negative if not found
+         **/
+        private int find(long buyDate) {
+            return Arrays.binarySearch(buyDates, 0, size, buyDate);
+        }
+
+        /**
+         * This method is used to insert a note
+         *
+         * @param buyDate:  buy date of the note, not stored yet
+         * @param sellDate: sell date of the note
+         * @param offset:   position of the note in the segment
+         **/
+        private void insert(long buyDate, long sellDate, long offset) {
+            if (size == buyDates.length) {
+                int capacity = size + (size >> 1);
+                buyDates = Arrays.copyOf(buyDates, capacity);
+                sellDates = Arrays.copyOf(sellDates, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                sellOrder = Arrays.copyOf(sellOrder, capacity);
+            }
+            int position = -find(buyDate) - 1;
+            int moved = size - position;
+            System.arraycopy(buyDates, position, buyDates, position + 1, moved);
+            System.arraycopy(sellDates, position, sellDates, position + 1, moved);
+            System.arraycopy(offsets, position, offsets, position + 1, moved);
+            buyDates[position] = buyDate;
+            sellDates[position] = sellDate;
+            offsets[position] = offset;
+            for (int j = 0; j < size; j++)
+                if (sellOrder[j] >= position)
+                    sellOrder[j]++;
+            int order = sellBound(sellDate, buyDate);
+            System.arraycopy(sellOrder, order, sellOrder, order + 1, size - order);
+            sellOrder[order] = position;
+            size++;
+        }
+
+        /**
+         * This method is used to delete a note
+         *
+         * @param position: index of the note
+         **/
+        private void delete(int position) {
+            int order = sellBound(sellDates[position], buyDates[position]);
+            System.arraycopy(sellOrder, order + 1, sellOrder, order, size - order - 1);
+            int moved = size - position - 1;
+            System.arraycopy(buyDates, position + 1, buyDates, position, moved);
+            System.arraycopy(sellDates, position + 1, sellDates, position, moved);
+            System.arraycopy(offsets, position + 1, offsets, position, moved);
+            size--;
+            for (int j = 0; j < size; j++)
+                if (sellOrder[j] > position)
+                    sellOrder[j]--;
+        }
+
+        /**
+         * This method is used to get the first index of {@link #sellOrder} of a note placed after or at a date
+         *
+         * @param sellDate: sell date to search
+         * @param buyDate:  buy date to search with the same sell date
+         * @return index of {@link #sellOrder} as int
+         **/
+        private int sellBound(long sellDate, long buyDate) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int note = sellOrder[middle];
+                int comparison = Long.compare(sellDates[note], sellDate);
+                if (comparison == 0)
+                    comparison = Long.compare(buyDates[note], buyDate);
+                if (comparison < 0)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * This method is used to get the first index of {@link #buyDates} placed after or at a date
+         *
+         * @param buyDate: buy date to search
+         * @return index of {@link #buyDates} as int
+         **/
+        private int buyBound(long buyDate) {
+            int position = find(buyDate);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        /**
+         * This method is used to get the notes in a range of dates
+         *
+         * @param bySellDate: whether the range is of sell dates, else of buy dates
+         * @param from:       min date included
+         * @param to:         max date included
+         * @return dates used to sort and buy dates of the notes as long matrix
+         **/
+        private long[][] range(boolean bySellDate, long from, long to) {
+            int start;
+            int end;
+            if (bySellDate) {
+                start = sellBound(from, Long.MIN_VALUE);
+                end = to == Long.MAX_VALUE ? size : sellBound(to + 1, Long.MIN_VALUE);
+            } else {
+                start = buyBound(from);
+                end = to == Long.MAX_VALUE ? size : buyBound(to + 1);
+            }
+            int count = Math.max(0, end - start);
+            long[][] range = new long[2][count];
+            for (int j = 0; j < count; j++) {
+                int note = bySellDate ? sellOrder[start + j] : start + j;
+                range[0][j] = bySellDate ? sellDates[note] : buyDates[note];
+                range[1][j] = buyDates[note];
+            }
+            return range;
+        }
+
+    }
+
+}
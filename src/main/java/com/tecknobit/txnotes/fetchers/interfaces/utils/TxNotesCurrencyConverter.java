@@ -0,0 +1,175 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@code TxNotesCurrencyConverter} class is useful to convert values between currencies with a cached table of
+ * conversion rates. <br>
+ * Each rate is memorized as the value of one unit of the pivot currency, so the rate between any two currencies of
+ * the table is a cross rate computed with a single division, without any request to the exchange.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesCurrencyConverter {
+
+    /**
+     * {@code pivotCurrency} is instance that memorizes currency which all the rates refer to es. EUR
+     **/
+    private String pivotCurrency;
+
+    /**
+     * {@code rates} is instance that memorizes value of one unit of {@link #pivotCurrency} with the currency as key
+     **/
+    private final HashMap<String, Double> rates = new HashMap<>();
+
+    /**
+     * {@code ratesTimestamps} is instance that memorizes timestamp of the last update of each rate with the currency
+     * as key
+     **/
+    private final HashMap<String, Long> ratesTimestamps = new HashMap<>();
+
+    /**
+     * Constructor to init {@link TxNotesCurrencyConverter}
+     *
+     * @param pivotCurrency: currency which all the rates refer to es. EUR
+     **/
+    public TxNotesCurrencyConverter(String pivotCurrency) {
+        this.pivotCurrency = pivotCurrency;
+    }
+
+    /**
+     * This method is used to set the rate of a currency
+     *
+     * @param currency: currency of the rate es. USDT
+     * @param rate:     value of one unit of {@link #pivotCurrency} in the currency
+     * @throws IllegalArgumentException when rate is not positive
+     **/
+    public synchronized void setRate(String currency, double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate))
+            throw new IllegalArgumentException("Rate must be a positive value");
+        if (!currency.equals(pivotCurrency)) {
+            rates.put(currency, rate);
+            ratesTimestamps.put(currency, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * This method is used to get if the rate of a currency is cached
+     *
+     * @param currency: currency to check
+     * @return whether the rate is cached as boolean
+     **/
+    public synchronized boolean hasRate(String currency) {
+        return currency.equals(pivotCurrency) || rates.containsKey(currency);
+    }
+
+    /**
+     * This method is used to get the rate between two currencies
+     *
+     * @param fromCurrency: currency to convert from
+     * @param toCurrency:   currency to convert to
+     * @return value of one unit of fromCurrency in toCurrency as double
+     * @throws IllegalStateException when the rate of a currency is not cached
+     **/
+    public synchronized double getRate(String fromCurrency, String toCurrency) {
+        if (fromCurrency.equals(toCurrency))
+            return 1;
+        return getPivotRate(toCurrency) / getPivotRate(fromCurrency);
+    }
+
+    /**
+     * This method is used to convert a value between two currencies
+     *
+     * @param value:        value to convert
+     * @param fromCurrency: currency of the value
+     * @param toCurrency:   currency to convert to
+     * @return value converted as double
+     * @throws IllegalStateException when the rate of a currency is not cached
+     **/
+    public double convert(double value, String fromCurrency, String toCurrency) {
+        return value * getRate(fromCurrency, toCurrency);
+    }
+
+    /**
+     * This method is used to get the value of one unit of {@link #pivotCurrency} in a currency
+     *
+     * @param currency: currency of the rate
+     * @return rate as double
+     * @throws IllegalStateException when the rate is not cached
+     **/
+    private double getPivotRate(String currency) {
+        if (currency.equals(pivotCurrency))
+            return 1;
+        Double rate = rates.get(currency);
+        if (rate == null)
+            throw new IllegalStateException("Rate of " + currency + " is not available");
+        return rate;
+    }
+
+    /**
+     * This method is used to get timestamp of the last update of a rate
+     *
+     * @param currency: currency of the rate
+     * @return timestamp as long, -1 if the rate is not cached
+     **/
+    public synchronized long getRateTimestamp(String currency) {
+        return ratesTimestamps.getOrDefault(currency, -1L);
+    }
+
+    /**
+     * This method is used to get the currencies with a rate cached <br>
+     * Any params required
+     *
+     * @return currencies as {@link Set} of {@link String}, {@link #pivotCurrency} excluded
+     **/
+    public synchronized Set<String> getCurrencies() {
+        return new HashSet<>(rates.keySet());
+    }
+
+    /**
+     * This method is used to remove the rate of a currency
+     *
+     * @param currency: currency to remove
+     **/
+    public synchronized void removeRate(String currency) {
+        rates.remove(currency);
+        ratesTimestamps.remove(currency);
+    }
+
+    /**
+     * Method to get {@link #pivotCurrency} instance <br>
+     * Any params required
+     *
+     * @return {@link #pivotCurrency} instance as {@link String}
+     **/
+    public synchronized String getPivotCurrency() {
+        return pivotCurrency;
+    }
+
+    /**
+     * Method to set {@link #pivotCurrency} instance
+     *
+     * @param pivotCurrency: currency which all the rates will refer to
+     * @implNote when the rate of the new pivot currency is cached the table is converted to the new pivot, else it is
+     * cleared
+     **/
+    public synchronized void setPivotCurrency(String pivotCurrency) {
+        if (this.pivotCurrency.equals(pivotCurrency))
+            return;
+        Double pivotRate = rates.remove(pivotCurrency);
+        Long pivotTimestamp = ratesTimestamps.remove(pivotCurrency);
+        if (pivotRate == null) {
+            rates.clear();
+            ratesTimestamps.clear();
+        } else {
+            rates.replaceAll((currency, rate) -> rate / pivotRate);
+            rates.put(this.pivotCurrency, 1 / pivotRate);
+            ratesTimestamps.put(this.pivotCurrency, pivotTimestamp);
+        }
+        this.pivotCurrency = pivotCurrency;
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import com.tecknobit.txnotes.records.TxNote;
+import com.tecknobit.txnotes.records.Wallet;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+
+/**
+ * The {@code TxNotesEvent} class is useful to describe a single change of the data of a fetcher <br>
+ * Events are emitted by {@link TxNotesEventPublisher}, so the subscribers receive only what changed without
+ * comparing the lists of the fetcher by themselves
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesEvent {
+
+    /**
+     * {@code EventType} list of available types of change
+     **/
+    public enum EventType {
+
+        /**
+         * {@code TX_NOTE_ADDED} a new {@link TxNote} has been inserted
+         **/
+        TX_NOTE_ADDED,
+
+        /**
+         * {@code TX_NOTE_MERGED} a {@link TxNote} has been replaced with a not sold one, es. the quantity not sold yet
+         * after a partial sell
+         **/
+        TX_NOTE_MERGED,
+
+        /**
+         * {@code TX_NOTE_SOLD} a {@link TxNote} has been replaced with a sold one
+         **/
+        TX_NOTE_SOLD,
+
+        /**
+         * {@code TX_NOTE_DELETED} a {@link TxNote} has been removed
+         **/
+        TX_NOTE_DELETED,
+
+        /**
+         * {@code WALLET_UPDATED} a {@link Wallet} has been inserted or its notes have been changed
+         **/
+        WALLET_UPDATED,
+
+        /**
+         * {@code WALLET_DELETED} a {@link Wallet} has been removed
+         **/
+        WALLET_DELETED,
+
+        /**
+         * {@code PRICE_UPDATED} last price or trend of a {@link Wallet} have been changed
+         **/
+        PRICE_UPDATED,
+
+        /**
+         * {@code DATA_RESET} all the {@link TxNote} and the {@link Wallet} have been removed at once, es. after a change
+         * of the base currency, so the subscribers must drop their view and reload it from the snapshot
+         **/
+        DATA_RESET,
+
+        /**
+         * {@code EVENTS_DROPPED} some events have not been delivered to the subscriber because its buffer was full, so
+         * the subscriber must reload its view from the snapshot; the events received after this one may be already
+         * included in that snapshot
+         **/
+        EVENTS_DROPPED
+
+    }
+
+    /**
+     * {@code type} is instance that memorizes type of the change
+     **/
+    private final EventType type;
+
+    /**
+     * {@code key} is instance that memorizes key of the tx note or index of the wallet changed
+     **/
+    private final String key;
+
+    /**
+     * {@code txNote} is instance that memorizes tx note changed, the one removed for the deletions
+     *
+     * @apiNote null for the events of a {@link Wallet}
+     **/
+    private final TxNote txNote;
+
+    /**
+     * {@code previousTxNote} is instance that memorizes tx note replaced by {@link #txNote}
+     *
+     * @apiNote null when no tx note has been replaced
+     **/
+    private final TxNote previousTxNote;
+
+    /**
+     * {@code wallet} is instance that memorizes wallet changed, the one removed for the deletions
+     *
+     * @apiNote null for the events of a {@link TxNote}
+     **/
+    private final Wallet wallet;
+
+    /**
+     * {@code timestamp} is instance that memorizes timestamp of the change
+     **/
+    private final long timestamp;
+
+    /**
+     * Constructor to init {@link TxNotesEvent}
+     *
+     * @param type:           type of the change
+     * @param key:            key of the tx note or index of the wallet changed
+     * @param txNote:         tx note changed
+     * @param previousTxNote: tx note replaced
+     * @param wallet:         wallet changed
+     **/
+    public TxNotesEvent(EventType type, String key, TxNote txNote, TxNote previousTxNote, Wallet wallet) {
+        this.type = type;
+        this.key = key;
+        this.txNote = txNote;
+        this.previousTxNote = previousTxNote;
+        this.wallet = wallet;
+        timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * This method is used to create the event of a {@link TxNote} inserted or replaced
+     *
+     * @param key:            key of the tx note
+     * @param txNote:         tx note inserted
+     * @param previousTxNote: tx note replaced, null if the key was not used
+     * @return event as {@link TxNotesEvent}
+     **/
+    public static TxNotesEvent txNoteChanged(String key, TxNote txNote, TxNote previousTxNote) {
+        EventType type;
+        if (previousTxNote == null)
+            type = EventType.TX_NOTE_ADDED;
+        else if (txNote.getStatus() == SELL)
+            type = EventType.TX_NOTE_SOLD;
+        else
+            type = EventType.TX_NOTE_MERGED;
+        return new TxNotesEvent(type, key, txNote, previousTxNote, null);
+    }
+
+    /**
+     * This method is used to create the event of a {@link TxNote} removed
+     *
+     * @param key:    key of the tx note
+     * @param txNote: tx note removed
+     * @return event as {@link TxNotesEvent}
+     **/
+    public static TxNotesEvent txNoteDeleted(String key, TxNote txNote) {
+        return new TxNotesEvent(EventType.TX_NOTE_DELETED, key, txNote, null, null);
+    }
+
+    /**
+     * This method is used to create the event of a {@link Wallet} changed
+     *
+     * @param type:   type of the change, {@link EventType#WALLET_UPDATED}, {@link EventType#WALLET_DELETED} or
+     *                {@link EventType#PRICE_UPDATED}
+     * @param wallet: wallet changed
+     * @return event as {@link TxNotesEvent}
+     **/
+    public static TxNotesEvent walletChanged(EventType type, Wallet wallet) {
+        return new TxNotesEvent(type, wallet.getIndex(), null, null, wallet);
+    }
+
+    /**
+     * This method is used to create the event of all the data removed at once <br>
+     * Any params required
+     *
+     * @return event as {@link TxNotesEvent}
+     **/
+    public static TxNotesEvent dataReset() {
+        return new TxNotesEvent(EventType.DATA_RESET, null, null, null, null);
+    }
+
+    /**
+     * This method is used to create the event that reports to a subscriber the events it has missed <br>
+     * Any params required
+     *
+     * @return event as {@link TxNotesEvent}
+     **/
+    public static TxNotesEvent eventsDropped() {
+        return new TxNotesEvent(EventType.EVENTS_DROPPED, null, null, null, null);
+    }
+
+    /**
+     * Method to get {@link #type} instance <br>
+     * Any params required
+     *
+     * @return {@link #type} instance as {@link EventType}
+     **/
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Method to get {@link #key} instance <br>
+     * Any params required
+     *
+     * @return {@link #key} instance as {@link String}
+     **/
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Method to get {@link #txNote} instance <br>
+     * Any params required
+     *
+     * @return {@link #txNote} instance as {@link TxNote}
+     **/
+    public TxNote getTxNote() {
+        return txNote;
+    }
+
+    /**
+     * Method to get {@link #previousTxNote} instance <br>
+     * Any params required
+     *
+     * @return {@link #previousTxNote} instance as {@link TxNote}
+     **/
+    public TxNote getPreviousTxNote() {
+        return previousTxNote;
+    }
+
+    /**
+     * Method to get {@link #wallet} instance <br>
+     * Any params required
+     *
+     * @return {@link #wallet} instance as {@link Wallet}
+     **/
+    public Wallet getWallet() {
+        return wallet;
+    }
+
+    /**
+     * Method to get {@link #timestamp} instance <br>
+     * Any params required
+     *
+     * @return {@link #timestamp} instance as long
+     **/
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * Any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return type + "[" + key + "]";
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code TxNotesEventPublisher} class is useful to publish the {@link TxNotesEvent} of a fetcher to the
+ * {@link Flow.Subscriber} interested <br>
+ * Each subscriber has its own buffer bounded by {@link #bufferCapacity} and receives only the events it requested
+ * with {@link Flow.Subscription#request(long)}, so a slow subscriber does not slow down the fetcher or the other
+ * subscribers
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote when the buffer of a subscriber is full the new events are dropped for that subscriber and counted in
+ * {@link #getDroppedEvents()}, the fetcher never waits for the subscribers; the next event delivered to that
+ * subscriber is replaced with an {@link TxNotesEvent.EventType#EVENTS_DROPPED} event, so it knows that it must reload
+ * its view from the snapshot of the fetcher
+ **/
+
+public class TxNotesEventPublisher implements Flow.Publisher<TxNotesEvent>, AutoCloseable {
+
+    /**
+     * {@code publisher} is instance helpful to deliver the events to each subscriber
+     **/
+    private final SubmissionPublisher<TxNotesEvent> publisher;
+
+    /**
+     * {@code bufferCapacity} is instance that memorizes max number of events buffered for each subscriber
+     **/
+    private final int bufferCapacity;
+
+    /**
+     * {@code droppedEvents} is instance that memorizes number of events dropped because a buffer was full
+     **/
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Constructor to init {@link TxNotesEventPublisher} <br>
+     * Any params required
+     *
+     * @implNote {@link Flow#defaultBufferSize()} will be used as buffer capacity
+     **/
+    public TxNotesEventPublisher() {
+        this(Flow.defaultBufferSize());
+    }
+
+    /**
+     * Constructor to init {@link TxNotesEventPublisher}
+     *
+     * @param bufferCapacity: max number of events buffered for each subscriber
+     * @throws IllegalArgumentException when bufferCapacity is not positive
+     **/
+    public TxNotesEventPublisher(int bufferCapacity) {
+        this(ForkJoinPool.commonPool(), bufferCapacity);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesEventPublisher}
+     *
+     * @param executor:       executor used to deliver the events to the subscribers
+     * @param bufferCapacity: max number of events buffered for each subscriber
+     * @throws IllegalArgumentException when bufferCapacity is not positive
+     **/
+    public TxNotesEventPublisher(Executor executor, int bufferCapacity) {
+        if (bufferCapacity <= 0)
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    /**
+     * This method is used to add a subscriber of the events
+     *
+     * @param subscriber: subscriber to add
+     * @implNote the subscriber is wrapped in a {@link ResyncSubscriber}, so the same subscriber can be added more
+     * than once
+     **/
+    @Override
+    public void subscribe(Flow.Subscriber<? super TxNotesEvent> subscriber) {
+        publisher.subscribe(new ResyncSubscriber(subscriber));
+    }
+
+    /**
+     * This method is used to publish an event to all the subscribers
+     *
+     * @param event: event to publish
+     * @return number of events dropped by this publication as int
+     * @implNote events published when there are no subscribers are discarded
+     **/
+    public int publish(TxNotesEvent event) {
+        if (!publisher.hasSubscribers() || publisher.isClosed())
+            return 0;
+        int lag = publisher.offer(event, (subscriber, item) -> {
+            droppedEvents.increment();
+            if (subscriber instanceof ResyncSubscriber)
+                ((ResyncSubscriber) subscriber).eventsDropped.set(true);
+            return false;
+        });
+        return lag < 0 ? -lag : 0;
+    }
+
+    /**
+     * This method is used to get if there are subscribers of the events <br>
+     * Any params required
+     *
+     * @return whether there are subscribers as boolean
+     * @apiNote helpful to avoid computing events that nobody will receive
+     **/
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * This method is used to get number of subscribers of the events <br>
+     * Any params required
+     *
+     * @return number of subscribers as int
+     **/
+    public int getSubscribersNumber() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * Method to get {@link #bufferCapacity} instance <br>
+     * Any params required
+     *
+     * @return {@link #bufferCapacity} instance as int
+     **/
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * This method is used to get number of events dropped because the buffer of a subscriber was full <br>
+     * Any params required
+     *
+     * @return number of events dropped as long
+     **/
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * This method is used to complete all the subscriptions, events published after will be discarded <br>
+     * Any params required
+     **/
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    /**
+     * The {@code ResyncSubscriber} class is useful to report to a subscriber the events dropped because its buffer
+     * was full
+     *
+     * @author Tecknobit N7ghtm4r3
+     * @implNote an event is dropped only when the buffer is full, so at least one more event is delivered after the
+     * drop and it is replaced with an {@link TxNotesEvent.EventType#EVENTS_DROPPED} event; the demand of the
+     * subscriber is respected because no extra event is delivered
+     **/
+    private static final class ResyncSubscriber implements Flow.Subscriber<TxNotesEvent> {
+
+        /**
+         * {@code subscriber} is instance that memorizes subscriber that receives the events
+         **/
+        private final Flow.Subscriber<? super TxNotesEvent> subscriber;
+
+        /**
+         * {@code eventsDropped} is instance that memorizes flag that indicates if events have been dropped since the
+         * last event delivered
+         **/
+        private final AtomicBoolean eventsDropped = new AtomicBoolean();
+
+        /**
+         * Constructor to init {@link ResyncSubscriber}
+         *
+         * @param subscriber: subscriber that receives the events
+         **/
+        private ResyncSubscriber(Flow.Subscriber<? super TxNotesEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * This method is used to pass the subscription to the wrapped subscriber
+         *
+         * @param subscription: subscription of the wrapped subscriber
+         **/
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscriber.onSubscribe(subscription);
+        }
+
+        /**
+         * This method is used to deliver an event to the wrapped subscriber
+         *
+         * @param event: event to deliver, replaced when events have been dropped
+         **/
+        @Override
+        public void onNext(TxNotesEvent event) {
+            if (eventsDropped.getAndSet(false))
+                event = TxNotesEvent.eventsDropped();
+            subscriber.onNext(event);
+        }
+
+        /**
+         * This method is used to report an error to the wrapped subscriber
+         *
+         * @param throwable: error to report
+         **/
+        @Override
+        public void onError(Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        /**
+         * This method is used to complete the wrapped subscriber <br>
+         * Any params required
+         **/
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * The {@code TxNotesHashRing} class is useful to assign keys, es. the accounts of the fetchers, to a set of nodes
+ * with consistent hashing. <br>
+ * Each node is placed on the ring with {@link #virtualNodes} points and a key is owned by the first point that
+ * follows its hash, so when a node joins or leaves only the keys of that node move
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote nodes with the same list of nodes assign the keys in the same way, without any coordination
+ **/
+
+public class TxNotesHashRing {
+
+    /**
+     * {@code DEFAULT_VIRTUAL_NODES} is instance that memorizes default number of points of each node on the ring
+     **/
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    /**
+     * {@code virtualNodes} is instance that memorizes number of points of each node on the ring
+     **/
+    private final int virtualNodes;
+
+    /**
+     * {@code ring} is instance that memorizes nodes with the hash of their points as key
+     **/
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * {@code nodes} is instance that memorizes nodes on the ring
+     **/
+    private final TreeSet<String> nodes = new TreeSet<>();
+
+    /**
+     * Constructor to init {@link TxNotesHashRing} <br>
+     * Any params required
+     *
+     * @implNote {@link #DEFAULT_VIRTUAL_NODES} will be used as number of points of each node
+     **/
+    public TxNotesHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesHashRing}
+     *
+     * @param virtualNodes: number of points of each node on the ring
+     * @throws IllegalArgumentException when virtualNodes is not positive
+     **/
+    public TxNotesHashRing(int virtualNodes) {
+        if (virtualNodes <= 0)
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * This method is used to add a node on the ring
+     *
+     * @param node: identifier of the node es. 127.0.0.1:7001
+     * @return whether the node has been added as boolean
+     **/
+    public synchronized boolean addNode(String node) {
+        if (!nodes.add(node))
+            return false;
+        for (int j = 0; j < virtualNodes; j++)
+            ring.putIfAbsent(hash(node + "#" + j), node);
+        return true;
+    }
+
+    /**
+     * This method is used to remove a node from the ring
+     *
+     * @param node: identifier of the node
+     * @return whether the node has been removed as boolean
+     **/
+    public synchronized boolean removeNode(String node) {
+        if (!nodes.remove(node))
+            return false;
+        ring.values().removeIf(node::equals);
+        return true;
+    }
+
+    /**
+     * This method is used to set the nodes on the ring
+     *
+     * @param nodes: identifiers of the nodes, the ones not in the list are removed
+     * @return whether the nodes on the ring have been changed as boolean
+     **/
+    public synchronized boolean setNodes(Collection<String> nodes) {
+        boolean changed = false;
+        for (String node : new ArrayList<>(this.nodes))
+            if (!nodes.contains(node))
+                changed |= removeNode(node);
+        for (String node : nodes)
+            changed |= addNode(node);
+        return changed;
+    }
+
+    /**
+     * This method is used to get the node that owns a key
+     *
+     * @param key: key to assign es. the account of a fetcher
+     * @return identifier of the node as {@link String}, null if the ring is empty
+     **/
+    public synchronized String getNode(String key) {
+        if (ring.isEmpty())
+            return null;
+        Map.Entry<Long, String> point = ring.ceilingEntry(hash(key));
+        if (point == null)
+            point = ring.firstEntry();
+        return point.getValue();
+    }
+
+    /**
+     * This method is used to get the nodes on the ring <br>
+     * Any params required
+     *
+     * @return identifiers of the nodes as {@link Set} of {@link String}
+     **/
+    public synchronized Set<String> getNodes() {
+        return new TreeSet<>(nodes);
+    }
+
+    /**
+     * Method to get {@link #virtualNodes} instance <br>
+     * Any params required
+     *
+     * @return {@link #virtualNodes} instance as int
+     **/
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * This method is used to compute the position of a value on the ring
+     *
+     * @param value: value to hash
+     * @return position as long
+     **/
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int j = 0; j < Long.BYTES; j++)
+                hash = (hash << 8) | (digest[j] & 0xFF);
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code TxNotesLazyInit} class is useful to create an instance that requires slow operations, es. the network
+ * requests to create an exchange client, only once and only when it is needed. <br>
+ * The creation starts with the first {@link #get()} in the thread that calls it, or before with
+ * {@link #start(Executor)} in background, and all the other callers wait for the same result
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the callers waiting for a creation that fails receive its exception, then the creation is made again
+ * by the next {@link #get()} or {@link #start(Executor)}, so a temporary failure, es. a network error, is not kept
+ * forever
+ **/
+
+public class TxNotesLazyInit<T> {
+
+    /**
+     * {@code loader} is instance helpful to create the instance
+     **/
+    private final Callable<? extends T> loader;
+
+    /**
+     * {@code future} is instance that memorizes result of the current creation
+     *
+     * @implNote it is replaced with a new one when the creation fails
+     **/
+    private volatile CompletableFuture<T> future = new CompletableFuture<>();
+
+    /**
+     * {@code started} is instance that memorizes flag that indicates if the creation has been started
+     **/
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Constructor to init {@link TxNotesLazyInit}
+     *
+     * @param loader: loader to create the instance
+     **/
+    public TxNotesLazyInit(Callable<? extends T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * This method is used to create a {@link TxNotesLazyInit} with an instance already created
+     *
+     * @param value: instance already created
+     * @return lazy init as {@link TxNotesLazyInit}
+     **/
+    public static <T> TxNotesLazyInit<T> completed(T value) {
+        TxNotesLazyInit<T> lazyInit = new TxNotesLazyInit<>(() -> value);
+        lazyInit.started.set(true);
+        lazyInit.future.complete(value);
+        return lazyInit;
+    }
+
+    /**
+     * This method is used to start the creation in background
+     *
+     * @param executor: executor where run the creation
+     * @return whether the creation has been started by this call as boolean
+     * @implNote if the executor rejects the creation it will be made with the first {@link #get()}
+     **/
+    public boolean start(Executor executor) {
+        if (!started.compareAndSet(false, true))
+            return false;
+        CompletableFuture<T> attempt = future;
+        try {
+            executor.execute(() -> load(attempt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            started.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to get the instance, it is created in the current thread if the creation has not been
+     * started yet <br>
+     * Any params required
+     *
+     * @return instance as {@link T}
+     * @throws Exception when the creation fails
+     **/
+    public T get() throws Exception {
+        CompletableFuture<T> attempt;
+        if (started.compareAndSet(false, true))
+            load(attempt = future);
+        else
+            attempt = future;
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception)
+                throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to create the instance and complete the current creation
+     *
+     * @param attempt: future of the current creation
+     * @implNote when the creation fails {@link #future} is replaced before {@link #started} is reset, so the next
+     * creation never completes the future of the failed one
+     **/
+    private void load(CompletableFuture<T> attempt) {
+        T value;
+        try {
+            value = loader.call();
+        } catch (Throwable e) {
+            future = new CompletableFuture<>();
+            started.set(false);
+            attempt.completeExceptionally(e);
+            return;
+        }
+        attempt.complete(value);
+    }
+
+    /**
+     * This method is used to get if the creation has been completed successfully <br>
+     * Any params required
+     *
+     * @return whether the instance has been created as boolean
+     **/
+    public boolean isReady() {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * This method is used to get if the creation has been started <br>
+     * Any params required
+     *
+     * @return whether the creation has been started as boolean
+     **/
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    /**
+     * Method to get {@link #future} instance <br>
+     * Any params required
+     *
+     * @return {@link #future} instance as {@link CompletableFuture} of {@link T}
+     * @implNote the future does not start the creation, it is completed only after {@link #get()} or
+     * {@link #start(Executor)}; a future requested after a failure is the one of the next creation
+     **/
+    public CompletableFuture<T> getFuture() {
+        return future;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+/**
+ * The {@code TxNotesRefreshScheduler} class is useful to adapt the refresh time of a fetcher to the activity of the
+ * account. <br>
+ * When new transactions arrive or prices move sharply the refresh time goes back to its minimum value, when nothing
+ * happens it grows at each cycle until its maximum value.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesRefreshScheduler {
+
+    /**
+     * {@code MIN_REFRESH_TIME} is instance that memorizes min refresh time allowed in seconds
+     **/
+    public static final int MIN_REFRESH_TIME = 5;
+
+    /**
+     * {@code MAX_REFRESH_TIME} is instance that memorizes max refresh time allowed in seconds
+     **/
+    public static final int MAX_REFRESH_TIME = 3600;
+
+    /**
+     * {@code DEFAULT_PRICE_CHANGE_THRESHOLD} is instance that memorizes default price change percent considered as
+     * sharp move
+     **/
+    public static final double DEFAULT_PRICE_CHANGE_THRESHOLD = 1;
+
+    /**
+     * {@code DEFAULT_BACK_OFF_FACTOR} is instance that memorizes default factor applied to the refresh time in quiet
+     * cycles
+     **/
+    public static final double DEFAULT_BACK_OFF_FACTOR = 2;
+
+    /**
+     * {@code minRefreshTime} is instance that memorizes min refresh time in seconds
+     **/
+    private final int minRefreshTime;
+
+    /**
+     * {@code maxRefreshTime} is instance that memorizes max refresh time in seconds
+     **/
+    private final int maxRefreshTime;
+
+    /**
+     * {@code priceChangeThreshold} is instance that memorizes price change percent considered as sharp move
+     **/
+    private final double priceChangeThreshold;
+
+    /**
+     * {@code backOffFactor} is instance that memorizes factor applied to the refresh time in quiet cycles
+     **/
+    private final double backOffFactor;
+
+    /**
+     * {@code refreshTime} is instance that memorizes current refresh time in seconds
+     **/
+    private volatile int refreshTime;
+
+    /**
+     * Constructor to init {@link TxNotesRefreshScheduler}
+     *
+     * @param minRefreshTime:       min refresh time in seconds
+     * @param maxRefreshTime:       max refresh time in seconds
+     * @param priceChangeThreshold: price change percent considered as sharp move es. 1 for 1%
+     * @param backOffFactor:        factor applied to the refresh time in quiet cycles
+     * @throws IllegalArgumentException when refresh times are not between 5(5s) and 3600(1h), when minRefreshTime is
+     *                                  bigger than maxRefreshTime, when priceChangeThreshold is negative or when
+     *                                  backOffFactor is less than 1
+     **/
+    public TxNotesRefreshScheduler(int minRefreshTime, int maxRefreshTime, double priceChangeThreshold,
+                                   double backOffFactor) {
+        if (minRefreshTime < MIN_REFRESH_TIME || maxRefreshTime > MAX_REFRESH_TIME)
+            throw new IllegalArgumentException("Refresh time must be more than 5 (5s) and less than 3600 (1h)");
+        if (minRefreshTime > maxRefreshTime)
+            throw new IllegalArgumentException("Min refresh time cannot be bigger than max refresh time");
+        if (priceChangeThreshold < 0)
+            throw new IllegalArgumentException("Price change threshold cannot be negative");
+        if (backOffFactor < 1)
+            throw new IllegalArgumentException("Back off factor cannot be less than 1");
+        this.minRefreshTime = minRefreshTime;
+        this.maxRefreshTime = maxRefreshTime;
+        this.priceChangeThreshold = priceChangeThreshold;
+        this.backOffFactor = backOffFactor;
+        refreshTime = minRefreshTime;
+    }
+
+    /**
+     * Constructor to init {@link TxNotesRefreshScheduler}
+     *
+     * @param minRefreshTime: min refresh time in seconds
+     * @param maxRefreshTime: max refresh time in seconds
+     * @throws IllegalArgumentException when refresh times are not between 5(5s) and 3600(1h) or when minRefreshTime is
+     *                                  bigger than maxRefreshTime
+     **/
+    public TxNotesRefreshScheduler(int minRefreshTime, int maxRefreshTime) {
+        this(minRefreshTime, maxRefreshTime, DEFAULT_PRICE_CHANGE_THRESHOLD, DEFAULT_BACK_OFF_FACTOR);
+    }
+
+    /**
+     * This method is used to compute the refresh time to wait before the next cycle
+     *
+     * @param newTxNotes:  number of new transactions found in the last cycle
+     * @param priceChange: max price change percent, in absolute value, found in the last cycle
+     * @return refresh time in seconds as int
+     **/
+    public synchronized int computeRefreshTime(int newTxNotes, double priceChange) {
+        if (newTxNotes > 0 || Math.abs(priceChange) >= priceChangeThreshold)
+            refreshTime = minRefreshTime;
+        else
+            refreshTime = (int) Math.min(maxRefreshTime, Math.ceil(refreshTime * backOffFactor));
+        return refreshTime;
+    }
+
+    /**
+     * This method is used to bring back the refresh time to its min value <br>
+     * Any params required
+     **/
+    public void reset() {
+        refreshTime = minRefreshTime;
+    }
+
+    /**
+     * Method to get {@link #refreshTime} instance <br>
+     * Any params required
+     *
+     * @return {@link #refreshTime} instance as int
+     **/
+    public int getRefreshTime() {
+        return refreshTime;
+    }
+
+    /**
+     * Method to get {@link #minRefreshTime} instance <br>
+     * Any params required
+     *
+     * @return {@link #minRefreshTime} instance as int
+     **/
+    public int getMinRefreshTime() {
+        return minRefreshTime;
+    }
+
+    /**
+     * Method to get {@link #maxRefreshTime} instance <br>
+     * Any params required
+     *
+     * @return {@link #maxRefreshTime} instance as int
+     **/
+    public int getMaxRefreshTime() {
+        return maxRefreshTime;
+    }
+
+    /**
+     * Method to get {@link #priceChangeThreshold} instance <br>
+     * Any params required
+     *
+     * @return {@link #priceChangeThreshold} instance as double
+     **/
+    public double getPriceChangeThreshold() {
+        return priceChangeThreshold;
+    }
+
+    /**
+     * Method to get {@link #backOffFactor} instance <br>
+     * Any params required
+     *
+     * @return {@link #backOffFactor} instance as double
+     **/
+    public double getBackOffFactor() {
+        return backOffFactor;
+    }
+
+}
@@ -0,0 +1,439 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import com.tecknobit.traderbot.traders.interfaces.CoinbaseTraderBot;
+
+import java.util.EnumMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code TxNotesRequestGovernor} class is useful to pace the requests made to an exchange with a token bucket. <br>
+ * Each request consumes its weight from the bucket, that is refilled at a constant rate; when the budget is not
+ * enough the request waits in a queue where transactions requests are served before the prices ones. <br>
+ * A governor is shared by all fetchers that work on the same exchange, see {@link #getGovernor(String)}.
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the weights are an approximation of the requests made by {@code TraderBot} library, that does not expose
+ * them: a transactions list is charged for each symbol queried, counting the symbols found in the previous lists
+ **/
+
+public class TxNotesRequestGovernor {
+
+    /**
+     * {@code DEFAULT_CAPACITY} is instance that memorizes default max weight of the bucket
+     *
+     * @apiNote it is the Binance limit of 1200 weight each minute
+     **/
+    public static final int DEFAULT_CAPACITY = 1200;
+
+    /**
+     * {@code DEFAULT_REFILL_RATE} is instance that memorizes default weight refilled each second
+     **/
+    public static final double DEFAULT_REFILL_RATE = 20;
+
+    /**
+     * {@code COINBASE_CAPACITY} is instance that memorizes max weight of the bucket of the Coinbase governors
+     *
+     * @apiNote Coinbase limits the requests by number and not by weight, so each request of Coinbase weighs 1
+     **/
+    public static final int COINBASE_CAPACITY = 15;
+
+    /**
+     * {@code COINBASE_REFILL_RATE} is instance that memorizes weight refilled each second of the Coinbase governors
+     *
+     * @apiNote it is the Coinbase limit of 10 public requests each second
+     **/
+    public static final double COINBASE_REFILL_RATE = 10;
+
+    /**
+     * {@code governors} is instance that memorizes governors shared with the exchange as key
+     **/
+    private static final ConcurrentHashMap<String, TxNotesRequestGovernor> governors = new ConcurrentHashMap<>();
+
+    /**
+     * {@code RequestType} list of available request types, sorted by priority
+     **/
+    public enum RequestType {
+
+        /**
+         * {@code TRANSACTIONS} request to fetch the transactions list, new fills are served first
+         *
+         * @implNote its weight is charged for each symbol queried to fetch the list
+         **/
+        TRANSACTIONS(10),
+
+        /**
+         * {@code LATEST_PRICES} request to refresh the latest prices of all the assets
+         **/
+        LATEST_PRICES(40),
+
+        /**
+         * {@code LAST_PRICE} request to get the last price of a single asset
+         **/
+        LAST_PRICE(1);
+
+        /**
+         * {@code defaultWeight} is instance that memorizes default weight of the request type
+         **/
+        private final int defaultWeight;
+
+        /**
+         * Constructor to init {@link RequestType}
+         *
+         * @param defaultWeight: default weight of the request type
+         **/
+        RequestType(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        /**
+         * Method to get {@link #defaultWeight} instance <br>
+         * Any params required
+         *
+         * @return {@link #defaultWeight} instance as int
+         **/
+        public int getDefaultWeight() {
+            return defaultWeight;
+        }
+
+    }
+
+    /**
+     * {@code capacity} is instance that memorizes max weight of the bucket
+     **/
+    private final int capacity;
+
+    /**
+     * {@code refillRate} is instance that memorizes weight refilled each second
+     **/
+    private final double refillRate;
+
+    /**
+     * {@code weights} is instance that memorizes weight of each {@link RequestType}
+     **/
+    private final EnumMap<RequestType, Integer> weights = new EnumMap<>(RequestType.class);
+
+    /**
+     * {@code lock} is instance helpful to guard the bucket
+     **/
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * {@code budgetChanged} is instance helpful to wake up the queued requests
+     **/
+    private final Condition budgetChanged = lock.newCondition();
+
+    /**
+     * {@code queue} is instance that memorizes the requests waiting for budget
+     **/
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>();
+
+    /**
+     * {@code tokens} is instance that memorizes weight currently available
+     **/
+    private double tokens;
+
+    /**
+     * {@code lastRefill} is instance that memorizes last time in nanoseconds when the bucket has been refilled
+     **/
+    private long lastRefill;
+
+    /**
+     * {@code ticketsNumber} is instance that memorizes number of tickets created, used to keep the arrival order
+     **/
+    private long ticketsNumber;
+
+    /**
+     * Constructor to init {@link TxNotesRequestGovernor}
+     *
+     * @param capacity:   max weight of the bucket
+     * @param refillRate: weight refilled each second
+     * @throws IllegalArgumentException when capacity or refillRate are not positive
+     **/
+    public TxNotesRequestGovernor(int capacity, double refillRate) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        if (refillRate <= 0)
+            throw new IllegalArgumentException("Refill rate must be positive");
+        this.capacity = capacity;
+        this.refillRate = refillRate;
+        for (RequestType type : RequestType.values())
+            weights.put(type, type.getDefaultWeight());
+        tokens = capacity;
+        lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Constructor to init {@link TxNotesRequestGovernor} with {@link #DEFAULT_CAPACITY} and
+     * {@link #DEFAULT_REFILL_RATE} <br>
+     * Any params required
+     **/
+    public TxNotesRequestGovernor() {
+        this(DEFAULT_CAPACITY, DEFAULT_REFILL_RATE);
+    }
+
+    /**
+     * This method is used to get the governor shared by all fetchers of an exchange
+     *
+     * @param exchange: identifier of the exchange, es. the name of the class of {@code CoinbaseTraderBot}
+     * @return governor as {@link TxNotesRequestGovernor}, created with the default limits of the exchange if not
+     * registered yet
+     **/
+    public static TxNotesRequestGovernor getGovernor(String exchange) {
+        return governors.computeIfAbsent(exchange, TxNotesRequestGovernor::createGovernor);
+    }
+
+    /**
+     * This method is used to create a governor with the default limits of an exchange
+     *
+     * @param exchange: identifier of the exchange
+     * @return governor as {@link TxNotesRequestGovernor}, with {@link #COINBASE_CAPACITY} for Coinbase and with
+     * {@link #DEFAULT_CAPACITY} for Binance and the other exchanges
+     **/
+    public static TxNotesRequestGovernor createGovernor(String exchange) {
+        if (!CoinbaseTraderBot.class.getName().equals(exchange))
+            return new TxNotesRequestGovernor();
+        TxNotesRequestGovernor governor = new TxNotesRequestGovernor(COINBASE_CAPACITY, COINBASE_REFILL_RATE);
+        for (RequestType type : RequestType.values())
+            governor.setWeight(type, 1);
+        return governor;
+    }
+
+    /**
+     * This method is used to register the governor shared by all fetchers of an exchange
+     *
+     * @param exchange: identifier of the exchange
+     * @param governor: governor to share
+     * @implNote fetchers already created will keep the governor they got
+     **/
+    public static void registerGovernor(String exchange, TxNotesRequestGovernor governor) {
+        governors.put(exchange, governor);
+    }
+
+    /**
+     * This method is used to wait until the budget is enough for a request, then consume its weight
+     *
+     * @param type: type of the request
+     * @throws InterruptedException when the current thread is interrupted while waiting
+     **/
+    public void acquire(RequestType type) throws InterruptedException {
+        acquire(type, getWeight(type));
+    }
+
+    /**
+     * This method is used to wait until the budget is enough for a request, then consume its weight
+     *
+     * @param type:   type of the request, used as priority
+     * @param weight: weight of the request
+     * @throws InterruptedException when the current thread is interrupted while waiting
+     * @implNote a weight bigger than {@link #capacity} is consumed in more parts, each one as big as the bucket
+     **/
+    public void acquire(RequestType type, int weight) throws InterruptedException {
+        int remainingWeight = Math.max(weight, 0);
+        do {
+            int requestWeight = Math.min(remainingWeight, capacity);
+            consume(type, requestWeight);
+            remainingWeight -= requestWeight;
+        } while (remainingWeight > 0);
+    }
+
+    /**
+     * This method is used to wait until the budget is enough for a part of a request, then consume it
+     *
+     * @param type:          type of the request, used as priority
+     * @param requestWeight: weight to consume, not bigger than {@link #capacity}
+     * @throws InterruptedException when the current thread is interrupted while waiting
+     **/
+    private void consume(RequestType type, int requestWeight) throws InterruptedException {
+        lock.lock();
+        try {
+            Ticket ticket = new Ticket(type, ticketsNumber++);
+            queue.add(ticket);
+            try {
+                while (true) {
+                    refill();
+                    if (queue.peek() == ticket && tokens >= requestWeight) {
+                        queue.poll();
+                        tokens -= requestWeight;
+                        return;
+                    }
+                    if (queue.peek() == ticket)
+                        budgetChanged.awaitNanos(getWaitTime(requestWeight));
+                    else
+                        budgetChanged.await();
+                }
+            } finally {
+                queue.remove(ticket);
+                budgetChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to consume the weight of a request only if the budget is enough and no request is waiting
+     *
+     * @param type: type of the request
+     * @return whether the weight has been consumed as boolean
+     **/
+    public boolean tryAcquire(RequestType type) {
+        int requestWeight = Math.min(getWeight(type), capacity);
+        lock.lock();
+        try {
+            refill();
+            if (!queue.isEmpty() || tokens < requestWeight)
+                return false;
+            tokens -= requestWeight;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to get the budget currently available <br>
+     * Any params required
+     *
+     * @return weight available as int
+     **/
+    public int getRemainingBudget() {
+        lock.lock();
+        try {
+            refill();
+            return (int) tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to get the number of requests waiting for budget <br>
+     * Any params required
+     *
+     * @return number of requests waiting as int
+     **/
+    public int getQueuedRequests() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to set the weight of a {@link RequestType}
+     *
+     * @param type:   type of the request
+     * @param weight: weight of the request
+     * @throws IllegalArgumentException when weight is negative
+     **/
+    public void setWeight(RequestType type, int weight) {
+        if (weight < 0)
+            throw new IllegalArgumentException("Weight cannot be negative");
+        synchronized (weights) {
+            weights.put(type, weight);
+        }
+    }
+
+    /**
+     * This method is used to get the weight of a {@link RequestType}
+     *
+     * @param type: type of the request
+     * @return weight of the request as int
+     **/
+    public int getWeight(RequestType type) {
+        synchronized (weights) {
+            return weights.get(type);
+        }
+    }
+
+    /**
+     * Method to get {@link #capacity} instance <br>
+     * Any params required
+     *
+     * @return {@link #capacity} instance as int
+     **/
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Method to get {@link #refillRate} instance <br>
+     * Any params required
+     *
+     * @return {@link #refillRate} instance as double
+     **/
+    public double getRefillRate() {
+        return refillRate;
+    }
+
+    /**
+     * This method is used to refill the bucket with the weight accumulated since the last refill <br>
+     * Any params required
+     *
+     * @implNote must be called holding {@link #lock}
+     **/
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillRate / TimeUnit.SECONDS.toNanos(1));
+        lastRefill = now;
+    }
+
+    /**
+     * This method is used to get the time to wait until the budget is enough for a request
+     *
+     * @param weight: weight of the request
+     * @return time to wait in nanoseconds as long
+     **/
+    private long getWaitTime(int weight) {
+        return Math.max(1, (long) Math.ceil((weight - tokens) / refillRate * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * The {@code Ticket} class defines a request waiting for budget
+     **/
+    private static class Ticket implements Comparable<Ticket> {
+
+        /**
+         * {@code type} is instance that memorizes type of the request
+         **/
+        private final RequestType type;
+
+        /**
+         * {@code order} is instance that memorizes arrival order of the request
+         **/
+        private final long order;
+
+        /**
+         * Constructor to init {@link Ticket}
+         *
+         * @param type:  type of the request
+         * @param order: arrival order of the request
+         **/
+        private Ticket(RequestType type, long order) {
+            this.type = type;
+            this.order = order;
+        }
+
+        /**
+         * This method is used to sort the tickets by priority and then by arrival order
+         *
+         * @param ticket: ticket to compare
+         * @return result of the comparison as int
+         **/
+        @Override
+        public int compareTo(Ticket ticket) {
+            int comparison = type.compareTo(ticket.type);
+            if (comparison != 0)
+                return comparison;
+            return Long.compare(order, ticket.order);
+        }
+
+    }
+
+}
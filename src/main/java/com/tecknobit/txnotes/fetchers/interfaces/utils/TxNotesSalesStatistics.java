@@ -0,0 +1,370 @@
+package com.tecknobit.txnotes.fetchers.interfaces.utils;
+
+import com.tecknobit.txnotes.records.TxNote;
+
+import java.util.IdentityHashMap;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+
+/**
+ * The {@code TxNotesSalesStatistics} class is useful to keep the statistics of the sales of a fetcher. <br>
+ * Counters and sums are updated each time a {@link TxNote} is added, replaced or removed, so all of them are
+ * available with a single {@link SalesSummary} without scanning the notes.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesSalesStatistics {
+
+    /**
+     * {@code DAY_MILLIS} is instance that memorizes milliseconds of a day
+     **/
+    private static final double DAY_MILLIS = 86400000;
+
+    /**
+     * {@code GAIN_SALE} is instance that memorizes category of a sale with a positive income
+     **/
+    private static final int GAIN_SALE = 0;
+
+    /**
+     * {@code LOSS_SALE} is instance that memorizes category of a sale with a negative income
+     **/
+    private static final int LOSS_SALE = 1;
+
+    /**
+     * {@code PAIR_SALE} is instance that memorizes category of a sale without income
+     **/
+    private static final int PAIR_SALE = 2;
+
+    /**
+     * {@code sales} is instance that memorizes contribution of each sale counted, as category, realized profit and
+     * holding time
+     *
+     * @implNote contributions are memorized so a removed note is subtracted with the same values it was added
+     **/
+    private final IdentityHashMap<TxNote, double[]> sales = new IdentityHashMap<>();
+
+    /**
+     * {@code counters} is instance that memorizes number of sales for each category
+     **/
+    private final int[] counters = new int[3];
+
+    /**
+     * {@code realizedGain} is instance that memorizes sum of the profits of the sales at gain
+     **/
+    private double realizedGain;
+
+    /**
+     * {@code realizedLoss} is instance that memorizes sum of the losses of the sales at loss
+     **/
+    private double realizedLoss;
+
+    /**
+     * {@code holdingMillis} is instance that memorizes sum of the time between buy and sell of the sales
+     **/
+    private double holdingMillis;
+
+    /**
+     * {@code summary} is instance that memorizes the last {@link SalesSummary} created
+     **/
+    private volatile SalesSummary summary = new SalesSummary(0, 0, 0, 0, 0, 0);
+
+    /**
+     * This method is used to count a {@link TxNote} added
+     *
+     * @param txNote: tx note added, notes not sold are ignored
+     **/
+    public synchronized void addTxNote(TxNote txNote) {
+        if (countSale(txNote))
+            publishSummary();
+    }
+
+    /**
+     * This method is used to remove a {@link TxNote} from the statistics
+     *
+     * @param txNote: tx note removed, notes not counted are ignored
+     **/
+    public synchronized void removeTxNote(TxNote txNote) {
+        if (uncountSale(txNote))
+            publishSummary();
+    }
+
+    /**
+     * This method is used to replace a {@link TxNote} in the statistics
+     *
+     * @param oldTxNote: tx note replaced, can be null
+     * @param newTxNote: tx note that replaces the old one, can be null
+     **/
+    public synchronized void replaceTxNote(TxNote oldTxNote, TxNote newTxNote) {
+        boolean changed = false;
+        if (oldTxNote != null)
+            changed = uncountSale(oldTxNote);
+        if (newTxNote != null)
+            changed |= countSale(newTxNote);
+        if (changed)
+            publishSummary();
+    }
+
+    /**
+     * This method is used to stop memorizing a {@link TxNote} counted, its contribution stays in the statistics
+     *
+     * @param txNote: tx note to archive, notes not counted are ignored
+     * @apiNote helpful to release a note moved out of the heap, it must be removed with
+     * {@link #removeArchivedTxNote(TxNote)}
+     **/
+    public synchronized void archiveTxNote(TxNote txNote) {
+        sales.remove(txNote);
+    }
+
+    /**
+     * This method is used to memorize again a {@link TxNote} archived, its contribution is not counted twice
+     *
+     * @param txNote: tx note archived with {@link #archiveTxNote(TxNote)}
+     **/
+    public synchronized void restoreTxNote(TxNote txNote) {
+        if (txNote.getStatus() == SELL)
+            sales.put(txNote, computeSale(txNote));
+    }
+
+    /**
+     * This method is used to remove a {@link TxNote} archived from the statistics
+     *
+     * @param txNote: tx note archived with {@link #archiveTxNote(TxNote)}
+     **/
+    public synchronized void removeArchivedTxNote(TxNote txNote) {
+        if (txNote.getStatus() != SELL)
+            return;
+        double[] sale = computeSale(txNote);
+        applySale((int) sale[0], sale[1], sale[2], -1);
+        publishSummary();
+    }
+
+    /**
+     * This method is used to remove all the notes from the statistics <br>
+     * Any params required
+     **/
+    public synchronized void clear() {
+        sales.clear();
+        counters[GAIN_SALE] = counters[LOSS_SALE] = counters[PAIR_SALE] = 0;
+        realizedGain = realizedLoss = holdingMillis = 0;
+        publishSummary();
+    }
+
+    /**
+     * This method is used to count a sale
+     *
+     * @param txNote: tx note to count
+     * @return whether the note has been counted as boolean
+     **/
+    private boolean countSale(TxNote txNote) {
+        if (txNote.getStatus() != SELL || sales.containsKey(txNote))
+            return false;
+        double[] sale = computeSale(txNote);
+        sales.put(txNote, sale);
+        applySale((int) sale[0], sale[1], sale[2], 1);
+        return true;
+    }
+
+    /**
+     * This method is used to compute the contribution of a sale
+     *
+     * @param txNote: tx note sold
+     * @return category, realized profit and holding time as double array
+     **/
+    private double[] computeSale(TxNote txNote) {
+        double incomePercent = txNote.getIncomePercent();
+        int category = incomePercent > 0 ? GAIN_SALE : incomePercent < 0 ? LOSS_SALE : PAIR_SALE;
+        double realized = txNote.getValue() - txNote.getInitialBalance();
+        double holding = Math.max(0, txNote.getSellDateTimestamp() - txNote.getBuyDateTimestamp());
+        return new double[]{category, realized, holding};
+    }
+
+    /**
+     * This method is used to remove a sale counted
+     *
+     * @param txNote: tx note to remove
+     * @return whether the note was counted as boolean
+     **/
+    private boolean uncountSale(TxNote txNote) {
+        double[] sale = sales.remove(txNote);
+        if (sale == null)
+            return false;
+        applySale((int) sale[0], sale[1], sale[2], -1);
+        return true;
+    }
+
+    /**
+     * This method is used to apply the contribution of a sale
+     *
+     * @param category: category of the sale
+     * @param realized: profit realized by the sale
+     * @param holding:  time between buy and sell of the sale
+     * @param sign:     1 to add the contribution, -1 to subtract it
+     **/
+    private void applySale(int category, double realized, double holding, int sign) {
+        counters[category] += sign;
+        if (category == GAIN_SALE)
+            realizedGain += sign * realized;
+        else if (category == LOSS_SALE)
+            realizedLoss += sign * realized;
+        holdingMillis += sign * holding;
+    }
+
+    /**
+     * This method is used to publish a new {@link SalesSummary} with the current values <br>
+     * Any params required
+     **/
+    private void publishSummary() {
+        int totalSales = counters[GAIN_SALE] + counters[LOSS_SALE] + counters[PAIR_SALE];
+        summary = new SalesSummary(counters[GAIN_SALE], counters[LOSS_SALE], counters[PAIR_SALE], realizedGain,
+                realizedLoss, totalSales > 0 ? holdingMillis / totalSales / DAY_MILLIS : 0);
+    }
+
+    /**
+     * Method to get {@link #summary} instance <br>
+     * Any params required
+     *
+     * @return {@link #summary} instance as {@link SalesSummary}
+     **/
+    public SalesSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * The {@code SalesSummary} class defines an immutable view of the sales statistics
+     **/
+    public static class SalesSummary {
+
+        /**
+         * {@code salesAtGain} is instance that memorizes number of sales at gain
+         **/
+        private final int salesAtGain;
+
+        /**
+         * {@code salesAtLoss} is instance that memorizes number of sales at loss
+         **/
+        private final int salesAtLoss;
+
+        /**
+         * {@code salesInPair} is instance that memorizes number of sales in pair
+         **/
+        private final int salesInPair;
+
+        /**
+         * {@code realizedGain} is instance that memorizes sum of the profits of the sales at gain
+         **/
+        private final double realizedGain;
+
+        /**
+         * {@code realizedLoss} is instance that memorizes sum of the losses of the sales at loss, as negative value
+         **/
+        private final double realizedLoss;
+
+        /**
+         * {@code averageHoldingDays} is instance that memorizes average days between buy and sell of the sales
+         **/
+        private final double averageHoldingDays;
+
+        /**
+         * Constructor to init {@link SalesSummary}
+         *
+         * @param salesAtGain:        number of sales at gain
+         * @param salesAtLoss:        number of sales at loss
+         * @param salesInPair:        number of sales in pair
+         * @param realizedGain:       sum of the profits of the sales at gain
+         * @param realizedLoss:       sum of the losses of the sales at loss
+         * @param averageHoldingDays: average days between buy and sell of the sales
+         **/
+        public SalesSummary(int salesAtGain, int salesAtLoss, int salesInPair, double realizedGain,
+                            double realizedLoss, double averageHoldingDays) {
+            this.salesAtGain = salesAtGain;
+            this.salesAtLoss = salesAtLoss;
+            this.salesInPair = salesInPair;
+            this.realizedGain = realizedGain;
+            this.realizedLoss = realizedLoss;
+            this.averageHoldingDays = averageHoldingDays;
+        }
+
+        /**
+         * Method to get {@link #salesAtGain} instance <br>
+         * Any params required
+         *
+         * @return {@link #salesAtGain} instance as int
+         **/
+        public int getSalesAtGain() {
+            return salesAtGain;
+        }
+
+        /**
+         * Method to get {@link #salesAtLoss} instance <br>
+         * Any params required
+         *
+         * @return {@link #salesAtLoss} instance as int
+         **/
+        public int getSalesAtLoss() {
+            return salesAtLoss;
+        }
+
+        /**
+         * Method to get {@link #salesInPair} instance <br>
+         * Any params required
+         *
+         * @return {@link #salesInPair} instance as int
+         **/
+        public int getSalesInPair() {
+            return salesInPair;
+        }
+
+        /**
+         * This method is used to get total number of sales <br>
+         * Any params required
+         *
+         * @return total number of sales as int
+         **/
+        public int getTotalSales() {
+            return salesAtGain + salesAtLoss + salesInPair;
+        }
+
+        /**
+         * Method to get {@link #realizedGain} instance <br>
+         * Any params required
+         *
+         * @return {@link #realizedGain} instance as double
+         **/
+        public double getRealizedGain() {
+            return realizedGain;
+        }
+
+        /**
+         * Method to get {@link #realizedLoss} instance <br>
+         * Any params required
+         *
+         * @return {@link #realizedLoss} instance as double
+         **/
+        public double getRealizedLoss() {
+            return realizedLoss;
+        }
+
+        /**
+         * This method is used to get net profit realized by all the sales <br>
+         * Any params required
+         *
+         * @return net realized profit as double
+         **/
+        public double getRealizedNet() {
+            return realizedGain + realizedLoss;
+        }
+
+        /**
+         * Method to get {@link #averageHoldingDays} instance <br>
+         * Any params required
+         *
+         * @return {@link #averageHoldingDays} instance as double
+         **/
+        public double getAverageHoldingDays() {
+            return averageHoldingDays;
+        }
+
+    }
+
+}
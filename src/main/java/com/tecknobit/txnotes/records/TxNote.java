@@ -2,11 +2,14 @@ package com.tecknobit.txnotes.records;
 
 import com.tecknobit.traderbot.records.portfolio.Transaction;
 import com.tecknobit.traderbot.routines.interfaces.RecordDetails;
-import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.text.ParseException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.tecknobit.apimanager.trading.TradingTools.*;
@@ -15,6 +18,8 @@ import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.*;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.BUY;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
 import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.*;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesDateCodec.formatDate;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesDateCodec.parseDate;
 import static java.lang.Math.toIntExact;
 import static java.lang.System.out;
 import static java.util.concurrent.TimeUnit.DAYS;
@@ -24,13 +29,21 @@ import static java.util.concurrent.TimeUnit.DAYS;
  * This object is useful to fetch and format transaction details.
  *
  * @author Tecknobit N7ghtm4r3
- * @implNote this class extends {@link Transaction} class of {@code TraderBot} library
+ * @implNote this class extends {@link Transaction} class of {@code TraderBot} library; a note is immutable once
+ * created, the setters left for compatibility are deprecated and are not used by the library
  * @apiNote origin library at: <a href="https://github.com/N7ghtm4r3/TraderBot">https://github.com/N7ghtm4r3/TraderBot</a>
  * @see Transaction
  **/
 
 public class TxNote extends Transaction implements RecordDetails {
 
+    /**
+     * {@code assetsPool} is instance that memorizes the canonical instance of each symbol and asset used by {@link TxNote}
+     *
+     * @implNote this pool allows all notes of the same asset to share a single {@link String} instance
+     **/
+    private static final ConcurrentHashMap<String, String> assetsPool = new ConcurrentHashMap<>();
+
     /**
      * {@code startPrice} is instance that memorizes start price value
      **/
@@ -51,11 +64,6 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     protected long sellDateTimestamp;
 
-    /**
-     * {@code sellDate} is instance that memorizes sell date value
-     **/
-    protected String sellDate;
-
     /**
      * {@code lastPrice} is instance that memorizes last price value
      **/
@@ -73,10 +81,10 @@ public class TxNote extends Transaction implements RecordDetails {
      * @throws IllegalArgumentException when parameters inserted do not respect right value form.
      **/
     public TxNote(String symbol, Side status, long buyDate, double initialBalance, double quantity, double lastPrice) {
-        super(symbol, null, buyDate, initialBalance, quantity);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity);
         this.status = status;
         this.lastPrice = lastPrice;
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -91,10 +99,10 @@ public class TxNote extends Transaction implements RecordDetails {
      * @throws IllegalArgumentException when parameters inserted do not respect right value form.
      **/
     public TxNote(String symbol, Side status, String buyDate, double initialBalance, double quantity, double lastPrice) {
-        super(symbol, null, buyDate, initialBalance, quantity);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity);
         this.status = status;
         this.lastPrice = lastPrice;
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -112,13 +120,12 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, long buyDate, double initialBalance, double quantity, double lastPrice,
                   double sellPrice, long sellDate) {
-        super(symbol, null, buyDate, initialBalance, quantity);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity);
         this.status = status;
         this.lastPrice = lastPrice;
         this.sellPrice = sellPrice;
         this.sellDateTimestamp = sellDate;
-        this.sellDate = getDate(sellDateTimestamp);
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -136,13 +143,12 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, String buyDate, double initialBalance, double quantity, double lastPrice,
                   double sellPrice, String sellDate) {
-        super(symbol, null, buyDate, initialBalance, quantity);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity);
         this.status = status;
         this.lastPrice = lastPrice;
         this.sellPrice = sellPrice;
-        this.sellDate = sellDate;
-        sellDateTimestamp = getDateTimestamp(sellDate);
-        startPrice = roundValue(initialBalance / quantity, 8);
+        sellDateTimestamp = parseDate(sellDate);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -160,10 +166,11 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, long buyDate, double initialBalance, double quantity, double lastPrice,
                   String baseAsset, String quoteAsset) {
-        super(symbol, null, buyDate, initialBalance, quantity, quoteAsset, baseAsset);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity, internAsset(quoteAsset),
+                internAsset(baseAsset));
         this.status = status;
         this.lastPrice = lastPrice;
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -181,10 +188,11 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, String buyDate, double initialBalance, double quantity, double lastPrice,
                   String baseAsset, String quoteAsset) {
-        super(symbol, null, buyDate, initialBalance, quantity, quoteAsset, baseAsset);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity, internAsset(quoteAsset),
+                internAsset(baseAsset));
         this.status = status;
         this.lastPrice = lastPrice;
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -204,13 +212,13 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, long buyDate, double initialBalance, double quantity, double lastPrice,
                   double sellPrice, long sellDate, String baseAsset, String quoteAsset) {
-        super(symbol, null, buyDate, initialBalance, quantity, quoteAsset, baseAsset);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity, internAsset(quoteAsset),
+                internAsset(baseAsset));
         this.status = status;
         this.lastPrice = lastPrice;
         this.sellPrice = sellPrice;
         this.sellDateTimestamp = sellDate;
-        this.sellDate = getDate(sellDateTimestamp);
-        startPrice = roundValue(initialBalance / quantity, 8);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -230,13 +238,13 @@ public class TxNote extends Transaction implements RecordDetails {
      **/
     public TxNote(String symbol, Side status, String buyDate, double initialBalance, double quantity, double lastPrice,
                   double sellPrice, String sellDate, String baseAsset, String quoteAsset) {
-        super(symbol, null, buyDate, initialBalance, quantity, quoteAsset, baseAsset);
+        super(internAsset(symbol), null, buyDate, initialBalance, quantity, internAsset(quoteAsset),
+                internAsset(baseAsset));
         this.status = status;
         this.lastPrice = lastPrice;
         this.sellPrice = sellPrice;
-        this.sellDate = sellDate;
-        sellDateTimestamp = getDateTimestamp(sellDate);
-        startPrice = roundValue(initialBalance / quantity, 8);
+        sellDateTimestamp = parseDate(sellDate);
+        startPrice = TxNotesFixedPoint.divide(initialBalance, quantity);
     }
 
     /**
@@ -255,6 +263,21 @@ public class TxNote extends Transaction implements RecordDetails {
         return "## " + tail + ": " + color + value + ANSI_RESET + "\n";
     }
 
+    /**
+     * This method is used to get the canonical instance of a symbol or of an asset
+     *
+     * @param asset: symbol or asset to get es. BTC
+     * @return canonical instance of the asset as {@link String}
+     **/
+    public static String internAsset(String asset) {
+        if (asset == null)
+            return null;
+        String canonicalAsset = assetsPool.putIfAbsent(asset, asset);
+        if (canonicalAsset == null)
+            return asset;
+        return canonicalAsset;
+    }
+
     /**
      * Method to get {@link #status} instance <br>
      * Any params required
@@ -342,7 +365,11 @@ public class TxNote extends Transaction implements RecordDetails {
      * Method to set {@link #sellPrice}
      *
      * @param sellPrice: sell price value
+     * @deprecated notes are shared by the published {@link TxNotesSnapshot} and by {@link TxNotesIndex}, so a note
+     * must not be changed after its creation: create a new {@link TxNote} with the constructors that take the sell
+     * details and replace the current one
      **/
+    @Deprecated
     public void setSellPrice(double sellPrice) {
         this.sellPrice = sellPrice;
     }
@@ -359,33 +386,39 @@ public class TxNote extends Transaction implements RecordDetails {
     }
 
     /**
-     * Method to get {@link #sellDate} instance <br>
+     * This method is used get sell date formatted as {@link String}<br>
      * Any params required
      *
-     * @return {@link #sellDate} instance as {@link String}
+     * @return sell date as {@link String}, null if the transaction has not been sold
+     * @implNote the date is formatted on demand from {@link #sellDateTimestamp}
      **/
     public String getSellDate() {
-        return sellDate;
+        if (sellDateTimestamp == 0)
+            return null;
+        return formatDate(sellDateTimestamp);
     }
 
     /**
-     * Method to set {@link #sellDate}
+     * Method to set {@link #sellDateTimestamp}
      *
      * @param sellDate: sell date value
+     * @deprecated {@link TxNotesIndex} sorts the notes by their dates, so they must not change after the creation,
+     * use the constructors that take the sell date
      **/
+    @Deprecated
     public void setSellDate(String sellDate) {
-        this.sellDate = sellDate;
-        sellDateTimestamp = getDateTimestamp(sellDate);
+        sellDateTimestamp = parseDate(sellDate);
     }
 
     /**
-     * Method to set {@link #sellDate}
+     * Method to set {@link #sellDateTimestamp}
      *
      * @param sellDate: sell date value
+     * @deprecated use the constructors that take the sell date, see {@link #setSellDate(String)}
      **/
+    @Deprecated
     public void setSellDate(long sellDate) {
         this.sellDateTimestamp = sellDate;
-        this.sellDate = getDate(sellDate);
     }
 
     /**
@@ -412,7 +445,10 @@ public class TxNote extends Transaction implements RecordDetails {
      * Method to set {@link #lastPrice}
      *
      * @param lastPrice: last price value
+     * @deprecated the last price of a note is given to its constructor, the current price of an asset is
+     * memorized by its {@link Wallet}
      **/
+    @Deprecated
     public void setLastPrice(double lastPrice) {
         this.lastPrice = lastPrice;
     }
@@ -443,7 +479,10 @@ public class TxNote extends Transaction implements RecordDetails {
      * Any params required
      *
      * @throws IllegalStateException when transaction is already in a SELL status
+     * @deprecated {@link TxNotesIndex} groups the notes by status, so it must not change after the creation, create
+     * a new {@link TxNote} with {@code SELL} as status instead
      **/
+    @Deprecated
     public void markAsSold() {
         if (!status.equals(SELL))
             status = SELL;
@@ -521,7 +560,7 @@ public class TxNote extends Transaction implements RecordDetails {
         double price = lastPrice;
         if (sellPrice != 0)
             price = sellPrice;
-        return roundValue(quantity * price, 8);
+        return TxNotesFixedPoint.multiply(quantity, price);
     }
 
     /**
@@ -564,13 +603,22 @@ public class TxNote extends Transaction implements RecordDetails {
      * @throws IllegalArgumentException if decimalDigits is negative
      **/
     public HashMap<String, Object> getTxNote(int decimals) {
-        HashMap<String, Object> txNote = new HashMap<>(getTxNote());
-        txNote.put(VALUE_KEY, getValue(decimals));
-        txNote.put(QUANTITY_KEY, getQuantity(decimals));
-        txNote.put(INCOME_PERCENT_KEY, getIncomePercentText(decimals));
+        HashMap<String, Object> txNote = new HashMap<>();
+        txNote.put(SYMBOL_KEY, symbol);
+        txNote.put(STATUS_KEY, status);
+        txNote.put(INITIAL_BALANCE_KEY, getInitialBalance(decimals));
+        txNote.put(BUY_DATE_KEY, getBuyDateTimestamp());
         txNote.put(FIRST_PRICE_KEY, getStartPrice(decimals));
+        txNote.put(BASE_ASSET_KEY, baseAsset);
+        txNote.put(QUOTE_ASSET_KEY, quoteAsset);
+        txNote.put(QUANTITY_KEY, getQuantity(decimals));
         txNote.put(LAST_PRICE_KEY, getLastPrice(decimals));
-        txNote.put(INITIAL_BALANCE_KEY, getInitialBalance(decimals));
+        txNote.put(VALUE_KEY, getValue(decimals));
+        txNote.put(INCOME_PERCENT_KEY, getIncomePercentText(decimals));
+        if (sellPrice != 0) {
+            txNote.put(SELL_DATE_KEY, sellDateTimestamp);
+            txNote.put(SELL_PRICE_KEY, sellPrice);
+        }
         return txNote;
     }
 
@@ -593,7 +641,7 @@ public class TxNote extends Transaction implements RecordDetails {
                 "## Base asset: " + baseAsset + "\n" +
                 "## Quote asset: " + quoteAsset + "\n";
         if (sellPrice != 0) {
-            txNote += "## Sell-Date: " + sellDate + "\n" +
+            txNote += "## Sell-Date: " + getSellDate() + "\n" +
                     "## Sell price: " + sellPrice + "\n" +
                     "## Days traded: " + getTradeDays() + "\n";
         }
@@ -605,9 +653,16 @@ public class TxNote extends Transaction implements RecordDetails {
      * Any params required
      *
      * @return a string representation of the object as {@link String}
+     * @implNote the representation is written by {@link TxNotesJsonStream}
      */
     public String prettyPrint() {
-        return new JSONObject(this).toString();
+        StringWriter writer = new StringWriter();
+        try {
+            TxNotesJsonStream.writeTxNote(this, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
     }
 
     /**
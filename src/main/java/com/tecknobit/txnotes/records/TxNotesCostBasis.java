@@ -0,0 +1,417 @@
+package com.tecknobit.txnotes.records;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+
+/**
+ * The {@code TxNotesCostBasis} class is useful to compute the cost basis of an asset and its realized and unrealized
+ * profit and loss. <br>
+ * Buys are memorized as lots sorted by their date, each sell consumes the lots chosen by the {@link CostBasisMethod}
+ * and moves their cost to the realized profit and loss, so each new fill is applied in O(log n) and the totals are
+ * always ready without scanning the history again.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesCostBasis {
+
+    /**
+     * {@code QUANTITY_TOLERANCE} is instance that memorizes quantity under which a lot is considered as empty
+     **/
+    public static final double QUANTITY_TOLERANCE = 1e-12;
+
+    /**
+     * {@code CostBasisMethod} list of available methods to choose which lots are sold
+     **/
+    public enum CostBasisMethod {
+
+        /**
+         * {@code FIFO} the oldest lots are sold first
+         **/
+        FIFO,
+
+        /**
+         * {@code LIFO} the newest lots are sold first
+         **/
+        LIFO,
+
+        /**
+         * {@code AVERAGE} every sell has the weighted-average cost of all the lots held
+         **/
+        AVERAGE
+
+    }
+
+    /**
+     * {@code method} is instance that memorizes method used to choose which lots are sold
+     **/
+    private final CostBasisMethod method;
+
+    /**
+     * {@code lots} is instance that memorizes lots held with their buy date as key
+     *
+     * @implNote not used with {@link CostBasisMethod#AVERAGE}, where only the totals are needed
+     **/
+    private final TreeMap<Long, Lot> lots = new TreeMap<>();
+
+    /**
+     * {@code openQuantity} is instance that memorizes quantity currently held
+     **/
+    private double openQuantity;
+
+    /**
+     * {@code openCost} is instance that memorizes cost of the quantity currently held
+     **/
+    private double openCost;
+
+    /**
+     * {@code realizedPnl} is instance that memorizes profit and loss realized by the sells
+     **/
+    private double realizedPnl;
+
+    /**
+     * {@code soldQuantity} is instance that memorizes total quantity sold
+     **/
+    private double soldQuantity;
+
+    /**
+     * {@code lastFillDate} is instance that memorizes date of the last fill applied with a {@link TxNote}
+     **/
+    private long lastFillDate = Long.MIN_VALUE;
+
+    /**
+     * {@code lastFillSold} is instance that memorizes flag that indicates if the last fill applied with a
+     * {@link TxNote} was a sell
+     **/
+    private boolean lastFillSold;
+
+    /**
+     * Constructor to init {@link TxNotesCostBasis}
+     *
+     * @param method: method used to choose which lots are sold
+     **/
+    public TxNotesCostBasis(CostBasisMethod method) {
+        this.method = method;
+    }
+
+    /**
+     * This method is used to create a {@link TxNotesCostBasis} from a list of {@link TxNote}
+     *
+     * @param method:  method used to choose which lots are sold
+     * @param txNotes: list of tx notes, a note with {@code SELL} as status is a buy followed by a sell
+     * @return cost basis as {@link TxNotesCostBasis}
+     * @implNote fills are applied in chronological order, buys before sells with the same date
+     **/
+    public static TxNotesCostBasis fromTxNotes(CostBasisMethod method, Collection<TxNote> txNotes) {
+        ArrayList<long[]> fills = new ArrayList<>();
+        ArrayList<TxNote> notes = new ArrayList<>(txNotes);
+        for (int j = 0; j < notes.size(); j++) {
+            TxNote txNote = notes.get(j);
+            fills.add(new long[]{txNote.getBuyDateTimestamp(), 0, j});
+            if (txNote.getStatus() == SELL)
+                fills.add(new long[]{txNote.getSellDateTimestamp(), 1, j});
+        }
+        fills.sort((first, second) -> {
+            int comparison = Long.compare(first[0], second[0]);
+            if (comparison != 0)
+                return comparison;
+            return Long.compare(first[1], second[1]);
+        });
+        TxNotesCostBasis costBasis = new TxNotesCostBasis(method);
+        for (long[] fill : fills) {
+            TxNote txNote = notes.get((int) fill[2]);
+            if (fill[1] == 0)
+                costBasis.buy(txNote.getBuyDateTimestamp(), txNote.getQuantity(), txNote.getInitialBalance());
+            else
+                costBasis.sell(txNote.getQuantity(), txNote.getQuantity() * txNote.getSellPrice());
+            costBasis.lastFillDate = fill[0];
+            costBasis.lastFillSold = fill[1] == 1;
+        }
+        return costBasis;
+    }
+
+    /**
+     * This method is used to apply a {@link TxNote} as new fill
+     *
+     * @param txNote: tx note to apply, a note with {@code SELL} as status is a buy followed by a sell
+     * @return whether the tx note has been applied as boolean, false when it comes before the fills already applied
+     * @implNote a tx note is applied only when its buy comes after the last fill applied, so the fills keep the same
+     * chronological order of {@link #fromTxNotes(CostBasisMethod, Collection)}; otherwise the sells already applied
+     * could have consumed other lots and the cost basis must be created again
+     **/
+    public synchronized boolean addTxNote(TxNote txNote) {
+        long buyDate = txNote.getBuyDateTimestamp();
+        if (buyDate < lastFillDate || (buyDate == lastFillDate && lastFillSold))
+            return false;
+        buy(buyDate, txNote.getQuantity(), txNote.getInitialBalance());
+        lastFillDate = buyDate;
+        lastFillSold = false;
+        if (txNote.getStatus() == SELL) {
+            sell(txNote.getQuantity(), txNote.getQuantity() * txNote.getSellPrice());
+            lastFillDate = Math.max(buyDate, txNote.getSellDateTimestamp());
+            lastFillSold = true;
+        }
+        return true;
+    }
+
+    /**
+     * This method is used to create a copy of the cost basis <br>
+     * Any params required
+     *
+     * @return copy of the cost basis as {@link TxNotesCostBasis}, the fills applied to one are not applied to the other
+     **/
+    public synchronized TxNotesCostBasis copy() {
+        TxNotesCostBasis costBasis = new TxNotesCostBasis(method);
+        for (Map.Entry<Long, Lot> lot : lots.entrySet())
+            costBasis.lots.put(lot.getKey(), new Lot(lot.getValue().quantity, lot.getValue().cost));
+        costBasis.openQuantity = openQuantity;
+        costBasis.openCost = openCost;
+        costBasis.realizedPnl = realizedPnl;
+        costBasis.soldQuantity = soldQuantity;
+        costBasis.lastFillDate = lastFillDate;
+        costBasis.lastFillSold = lastFillSold;
+        return costBasis;
+    }
+
+    /**
+     * This method is used to apply a buy fill
+     *
+     * @param buyDate:  timestamp of the buy
+     * @param quantity: quantity bought
+     * @param cost:     total cost of the buy in the quote asset
+     * @throws IllegalArgumentException when quantity or cost are negative
+     **/
+    public synchronized void buy(long buyDate, double quantity, double cost) {
+        if (quantity < 0 || cost < 0)
+            throw new IllegalArgumentException("Quantity and cost cannot be negative");
+        openQuantity += quantity;
+        openCost += cost;
+        if (method != CostBasisMethod.AVERAGE) {
+            Lot lot = lots.get(buyDate);
+            if (lot == null)
+                lots.put(buyDate, new Lot(quantity, cost));
+            else {
+                lot.quantity += quantity;
+                lot.cost += cost;
+            }
+        }
+    }
+
+    /**
+     * This method is used to apply a sell fill
+     *
+     * @param quantity: quantity sold
+     * @param proceeds: total value received by the sell in the quote asset
+     * @return profit and loss realized by the sell as double
+     * @throws IllegalArgumentException when quantity or proceeds are negative
+     * @implNote the quantity sold that exceeds the quantity held has a cost of 0, es. assets deposited on the account
+     **/
+    public synchronized double sell(double quantity, double proceeds) {
+        if (quantity < 0 || proceeds < 0)
+            throw new IllegalArgumentException("Quantity and proceeds cannot be negative");
+        double soldCost;
+        if (method == CostBasisMethod.AVERAGE) {
+            double matched = Math.min(quantity, openQuantity);
+            soldCost = openQuantity > 0 ? openCost * matched / openQuantity : 0;
+            openQuantity -= matched;
+            openCost -= soldCost;
+        } else
+            soldCost = consumeLots(quantity);
+        if (openQuantity <= QUANTITY_TOLERANCE) {
+            openQuantity = 0;
+            openCost = 0;
+        }
+        double pnl = proceeds - soldCost;
+        realizedPnl += pnl;
+        soldQuantity += quantity;
+        return pnl;
+    }
+
+    /**
+     * This method is used to consume the lots sold with {@link CostBasisMethod#FIFO} or {@link CostBasisMethod#LIFO}
+     *
+     * @param quantity: quantity sold
+     * @return cost of the lots consumed as double
+     **/
+    private double consumeLots(double quantity) {
+        double remaining = quantity;
+        double soldCost = 0;
+        while (remaining > QUANTITY_TOLERANCE) {
+            Map.Entry<Long, Lot> entry = method == CostBasisMethod.FIFO ? lots.firstEntry() : lots.lastEntry();
+            if (entry == null)
+                break;
+            Lot lot = entry.getValue();
+            double matched = Math.min(remaining, lot.quantity);
+            double matchedCost = lot.cost * matched / lot.quantity;
+            lot.quantity -= matched;
+            lot.cost -= matchedCost;
+            if (lot.quantity <= QUANTITY_TOLERANCE)
+                lots.remove(entry.getKey());
+            openQuantity -= matched;
+            openCost -= matchedCost;
+            soldCost += matchedCost;
+            remaining -= matched;
+        }
+        return soldCost;
+    }
+
+    /**
+     * Method to get {@link #method} instance <br>
+     * Any params required
+     *
+     * @return {@link #method} instance as {@link CostBasisMethod}
+     **/
+    public CostBasisMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * Method to get {@link #openQuantity} instance <br>
+     * Any params required
+     *
+     * @return {@link #openQuantity} instance as double
+     **/
+    public synchronized double getOpenQuantity() {
+        return openQuantity;
+    }
+
+    /**
+     * This method is used to get cost basis of the quantity currently held <br>
+     * Any params required
+     *
+     * @return cost basis as double
+     **/
+    public synchronized double getCostBasis() {
+        return openCost;
+    }
+
+    /**
+     * This method is used to get cost basis of the quantity currently held
+     *
+     * @param decimals: number of decimal digits es. 2
+     * @return cost basis as double
+     * @throws IllegalArgumentException if decimalDigits is negative
+     **/
+    public double getCostBasis(int decimals) {
+        return roundValue(getCostBasis(), decimals);
+    }
+
+    /**
+     * This method is used to get average cost of a unit of the quantity currently held <br>
+     * Any params required
+     *
+     * @return average cost as double, 0 if nothing is held
+     **/
+    public synchronized double getAverageCost() {
+        if (openQuantity == 0)
+            return 0;
+        return openCost / openQuantity;
+    }
+
+    /**
+     * Method to get {@link #realizedPnl} instance <br>
+     * Any params required
+     *
+     * @return {@link #realizedPnl} instance as double
+     **/
+    public synchronized double getRealizedPnl() {
+        return realizedPnl;
+    }
+
+    /**
+     * This method is used to get profit and loss realized by the sells
+     *
+     * @param decimals: number of decimal digits es. 2
+     * @return realized profit and loss as double
+     * @throws IllegalArgumentException if decimalDigits is negative
+     **/
+    public double getRealizedPnl(int decimals) {
+        return roundValue(getRealizedPnl(), decimals);
+    }
+
+    /**
+     * This method is used to get profit and loss not realized yet of the quantity currently held
+     *
+     * @param lastPrice: last price of the asset
+     * @return unrealized profit and loss as double
+     **/
+    public synchronized double getUnrealizedPnl(double lastPrice) {
+        return openQuantity * lastPrice - openCost;
+    }
+
+    /**
+     * This method is used to get profit and loss not realized yet of the quantity currently held
+     *
+     * @param lastPrice: last price of the asset
+     * @param decimals:  number of decimal digits es. 2
+     * @return unrealized profit and loss as double
+     * @throws IllegalArgumentException if decimalDigits is negative
+     **/
+    public double getUnrealizedPnl(double lastPrice, int decimals) {
+        return roundValue(getUnrealizedPnl(lastPrice), decimals);
+    }
+
+    /**
+     * This method is used to get total profit and loss, realized and unrealized
+     *
+     * @param lastPrice: last price of the asset
+     * @return total profit and loss as double
+     **/
+    public synchronized double getTotalPnl(double lastPrice) {
+        return realizedPnl + getUnrealizedPnl(lastPrice);
+    }
+
+    /**
+     * Method to get {@link #soldQuantity} instance <br>
+     * Any params required
+     *
+     * @return {@link #soldQuantity} instance as double
+     **/
+    public synchronized double getSoldQuantity() {
+        return soldQuantity;
+    }
+
+    /**
+     * This method is used to get number of lots currently held <br>
+     * Any params required
+     *
+     * @return number of lots as int, 0 with {@link CostBasisMethod#AVERAGE}
+     **/
+    public synchronized int getLotsNumber() {
+        return lots.size();
+    }
+
+    /**
+     * The {@code Lot} class defines a quantity bought not sold yet
+     **/
+    private static class Lot {
+
+        /**
+         * {@code quantity} is instance that memorizes quantity not sold yet
+         **/
+        private double quantity;
+
+        /**
+         * {@code cost} is instance that memorizes cost of {@link #quantity}
+         **/
+        private double cost;
+
+        /**
+         * Constructor to init {@link Lot}
+         *
+         * @param quantity: quantity bought
+         * @param cost:     cost of the quantity bought
+         **/
+        private Lot(double quantity, double cost) {
+            this.quantity = quantity;
+            this.cost = cost;
+        }
+
+    }
+
+}
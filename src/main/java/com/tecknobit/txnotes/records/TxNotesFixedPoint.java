@@ -0,0 +1,261 @@
+package com.tecknobit.txnotes.records;
+
+import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
+
+/**
+ * The {@code TxNotesFixedPoint} class is useful to compute quantities, balances and prices of {@link TxNote} and
+ * {@link Wallet} with fixed-point arithmetic. <br>
+ * A value is represented as {@code long} units of {@link #SCALE}, es. 0.5 BTC as 50000000 units, so sums and
+ * differences are exact, multiplications and divisions are rounded once to eight decimals, and no object is
+ * allocated as happens with {@link java.math.BigDecimal}
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the mode is disabled by default, so the records keep their double arithmetic rounded with
+ * {@code roundValue(value, 8)}; values are converted to units and back to double only at the edge of each method of the
+ * records, so the values stored and returned are the same types in both the modes. Values up to about 90 millions are
+ * converted exactly, bigger values are rounded by the double precision; when a value or a result is bigger than
+ * {@link #MAX_VALUE} it cannot be represented in units, so the methods that work with doubles fall back to the double
+ * arithmetic instead of throwing
+ **/
+
+public final class TxNotesFixedPoint {
+
+    /**
+     * {@code DECIMALS} is instance that memorizes number of decimal digits represented by a unit
+     **/
+    public static final int DECIMALS = 8;
+
+    /**
+     * {@code SCALE} is instance that memorizes number of units of a value equals to one
+     **/
+    public static final long SCALE = 100_000_000L;
+
+    /**
+     * {@code MAX_VALUE} is instance that memorizes max absolute value that can be represented in units, about 92 billions
+     **/
+    public static final double MAX_VALUE = Long.MAX_VALUE / (double) SCALE;
+
+    /**
+     * {@code enabled} is instance that memorizes flag that indicates if the fixed-point mode is enabled
+     **/
+    private static volatile boolean enabled;
+
+    /**
+     * Constructor to avoid instantiation
+     **/
+    private TxNotesFixedPoint() {
+    }
+
+    /**
+     * This method is used to enable or disable the fixed-point mode for all the records
+     *
+     * @param enabled: whether the fixed-point mode must be enabled
+     * @apiNote the mode should be set before creating the records, start prices already computed are not changed
+     **/
+    public static void setEnabled(boolean enabled) {
+        TxNotesFixedPoint.enabled = enabled;
+    }
+
+    /**
+     * This method is used to get if the fixed-point mode is enabled <br>
+     * Any params required
+     *
+     * @return whether the fixed-point mode is enabled as boolean
+     **/
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This method is used to get if a value can be represented in units
+     *
+     * @param value: value to check es. 0.5
+     * @return whether the value is a number smaller than {@link #MAX_VALUE} in absolute value as boolean
+     **/
+    public static boolean isRepresentable(double value) {
+        return Math.abs(value) < MAX_VALUE;
+    }
+
+    /**
+     * This method is used to convert a value in units
+     *
+     * @param value: value to convert es. 0.5
+     * @return value as long units es. 50000000
+     * @throws ArithmeticException when the value cannot be represented in units, see {@link #isRepresentable(double)}
+     **/
+    public static long toUnits(double value) {
+        if (!isRepresentable(value))
+            throw new ArithmeticException("Value " + value + " cannot be represented in units");
+        return Math.round(value * SCALE);
+    }
+
+    /**
+     * This method is used to add a value to a sum in units
+     *
+     * @param units: sum in units
+     * @param value: value to add es. 0.5
+     * @return sum in units as long
+     * @throws ArithmeticException when the value cannot be represented in units or the sum overflows
+     * @apiNote the callers should catch the exception and compute the sum with the double arithmetic
+     **/
+    public static long add(long units, double value) {
+        return Math.addExact(units, toUnits(value));
+    }
+
+    /**
+     * This method is used to round a value to eight decimals with the double arithmetic
+     *
+     * @param value: value to round
+     * @return value rounded as double
+     * @implNote values that cannot be represented in units are returned as they are, because the double precision of
+     * them is already coarser than eight decimals
+     **/
+    private static double round(double value) {
+        if (isRepresentable(value))
+            return roundValue(value, DECIMALS);
+        return value;
+    }
+
+    /**
+     * This method is used to convert units in a value
+     *
+     * @param units: units to convert es. 50000000
+     * @return value as double es. 0.5
+     **/
+    public static double toDouble(long units) {
+        return units / (double) SCALE;
+    }
+
+    /**
+     * This method is used to multiply two values in units, es. a quantity with a price
+     *
+     * @param first:  first value in units
+     * @param second: second value in units
+     * @return product in units rounded half up as long
+     * @throws ArithmeticException when the product cannot be represented in units
+     **/
+    public static long multiply(long first, long second) {
+        boolean negative = (first < 0) != (second < 0);
+        first = Math.abs(first);
+        second = Math.abs(second);
+        if (first < 0 || second < 0)
+            throw new ArithmeticException("Product cannot be represented in units");
+        long product;
+        if (Math.multiplyHigh(first, second) == 0 && first * second >= 0) {
+            product = first * second;
+            product = product / SCALE + (product % SCALE >= SCALE / 2 ? 1 : 0);
+        } else {
+            long firstHigh = first / SCALE, firstLow = first % SCALE;
+            long secondHigh = second / SCALE, secondLow = second % SCALE;
+            product = Math.multiplyExact(Math.multiplyExact(firstHigh, secondHigh), SCALE);
+            product = Math.addExact(product, Math.multiplyExact(firstHigh, secondLow));
+            product = Math.addExact(product, Math.multiplyExact(firstLow, secondHigh));
+            product = Math.addExact(product, (firstLow * secondLow + SCALE / 2) / SCALE);
+        }
+        return negative ? -product : product;
+    }
+
+    /**
+     * This method is used to divide two values in units, es. a balance by a quantity
+     *
+     * @param dividend: dividend in units
+     * @param divisor:  divisor in units
+     * @return quotient in units rounded half up as long
+     * @throws ArithmeticException when the divisor is zero or the quotient cannot be represented in units
+     **/
+    public static long divide(long dividend, long divisor) {
+        if (divisor == 0)
+            throw new ArithmeticException("Division by zero");
+        boolean negative = (dividend < 0) != (divisor < 0);
+        dividend = Math.abs(dividend);
+        divisor = Math.abs(divisor);
+        if (dividend < 0 || divisor < 0)
+            throw new ArithmeticException("Quotient cannot be represented in units");
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        for (int j = 0; j < DECIMALS; j++) {
+            remainder = Math.multiplyExact(remainder, 10);
+            quotient = Math.addExact(Math.multiplyExact(quotient, 10), remainder / divisor);
+            remainder %= divisor;
+        }
+        if (Math.multiplyExact(remainder, 2) >= divisor)
+            quotient++;
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * This method is used to compute the difference of two values with the current mode
+     *
+     * @param first:  first value es. a quantity bought
+     * @param second: value to subtract es. a quantity sold
+     * @return difference as double
+     * @implNote with the fixed-point mode the difference is exact at eight decimals, when the values or the difference
+     * cannot be represented in units it is computed with the double arithmetic
+     **/
+    public static double subtract(double first, double second) {
+        if (enabled && isRepresentable(first) && isRepresentable(second)) {
+            try {
+                return toDouble(Math.subtractExact(toUnits(first), toUnits(second)));
+            } catch (ArithmeticException ignored) {
+            }
+        }
+        return first - second;
+    }
+
+    /**
+     * This method is used to compare two values with the current mode
+     *
+     * @param first:  first value es. a quantity sold
+     * @param second: second value es. a quantity bought
+     * @return comparison as int, negative, zero or positive as {@link Double#compare(double, double)}
+     * @implNote with the fixed-point mode values equal at eight decimals are equal, when the values cannot be
+     * represented in units they are compared as doubles
+     **/
+    public static int compare(double first, double second) {
+        if (enabled && isRepresentable(first) && isRepresentable(second))
+            return Long.compare(toUnits(first), toUnits(second));
+        return Double.compare(first, second);
+    }
+
+    /**
+     * This method is used to compute the product of two values rounded to eight decimals with the current mode
+     *
+     * @param first:  first value es. a quantity
+     * @param second: second value es. a price
+     * @return product as double
+     * @implNote with the fixed-point mode, when the values or the product cannot be represented in units it is
+     * computed with the double arithmetic
+     **/
+    public static double multiply(double first, double second) {
+        if (enabled && isRepresentable(first) && isRepresentable(second)) {
+            try {
+                return toDouble(multiply(toUnits(first), toUnits(second)));
+            } catch (ArithmeticException ignored) {
+            }
+        }
+        return round(first * second);
+    }
+
+    /**
+     * This method is used to compute the quotient of two values rounded to eight decimals with the current mode
+     *
+     * @param dividend: dividend es. a balance
+     * @param divisor:  divisor es. a quantity
+     * @return quotient as double
+     * @implNote with the fixed-point mode, when the values or the quotient cannot be represented in units it is
+     * computed with the double arithmetic
+     **/
+    public static double divide(double dividend, double divisor) {
+        if (enabled && isRepresentable(dividend) && isRepresentable(divisor)) {
+            long divisorUnits = toUnits(divisor);
+            if (divisorUnits != 0) {
+                try {
+                    return toDouble(divide(toUnits(dividend), divisorUnits));
+                } catch (ArithmeticException ignored) {
+                }
+            }
+        }
+        return round(dividend / divisor);
+    }
+
+}
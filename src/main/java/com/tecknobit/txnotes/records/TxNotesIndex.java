@@ -0,0 +1,378 @@
+package com.tecknobit.txnotes.records;
+
+import com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+
+/**
+ * The {@code TxNotesIndex} class is useful to sort the {@link TxNote} by their status, base asset and dates. <br>
+ * Each note is indexed once when it is inserted, so a {@link TxNotesQuery} reads only the range of notes requested,
+ * es. the latest sells of an asset, without scanning all the history
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote indexes are concurrent sorted sets, so they can be read while notes are changed; dates of a note must not
+ * change after its insertion, a changed note must be replaced. A note archived out of the heap is removed from the
+ * indexes and it is read from the {@link #archive}, that keeps its own compact index, only when a query reaches it
+ **/
+
+public class TxNotesIndex {
+
+    /**
+     * {@code BUY_DATE_ORDER} is instance that memorizes order of the entries by buy date
+     **/
+    private static final Comparator<Entry> BUY_DATE_ORDER = Comparator.<Entry>comparingLong(entry -> entry.buyDate)
+            .thenComparing(entry -> entry.key);
+
+    /**
+     * {@code SELL_DATE_ORDER} is instance that memorizes order of the entries by sell date
+     **/
+    private static final Comparator<Entry> SELL_DATE_ORDER = Comparator.<Entry>comparingLong(entry -> entry.sellDate)
+            .thenComparing(entry -> entry.key);
+
+    /**
+     * {@code allNotes} is instance that memorizes indexes of all the notes
+     **/
+    private final Indexes allNotes = new Indexes();
+
+    /**
+     * {@code assetNotes} is instance that memorizes indexes of the notes of each base asset with the asset as key
+     **/
+    private final ConcurrentHashMap<String, Indexes> assetNotes = new ConcurrentHashMap<>();
+
+    /**
+     * {@code archive} is instance helpful to read the notes archived
+     *
+     * @apiNote default value is null, so archived notes are skipped by the queries
+     **/
+    private volatile Archive archive;
+
+    /**
+     * This method is used to index a {@link TxNote}
+     *
+     * @param key:    key of the tx note, base asset and buy date
+     * @param txNote: tx note to index
+     **/
+    public void addTxNote(String key, TxNote txNote) {
+        Entry entry = new Entry(key, txNote);
+        allNotes.add(entry);
+        assetNotes.computeIfAbsent(txNote.getBaseAsset(), asset -> new Indexes()).add(entry);
+    }
+
+    /**
+     * This method is used to remove a {@link TxNote} from the indexes
+     *
+     * @param key:    key of the tx note
+     * @param txNote: tx note to remove, notes not indexed are ignored
+     **/
+    public void removeTxNote(String key, TxNote txNote) {
+        Entry entry = new Entry(key, txNote);
+        allNotes.remove(entry);
+        Indexes indexes = assetNotes.get(txNote.getBaseAsset());
+        if (indexes != null)
+            indexes.remove(entry);
+    }
+
+    /**
+     * This method is used to replace a {@link TxNote} in the indexes
+     *
+     * @param key:       key of the tx note
+     * @param oldTxNote: tx note replaced, can be null
+     * @param newTxNote: tx note that replaces the old one, can be null
+     **/
+    public void replaceTxNote(String key, TxNote oldTxNote, TxNote newTxNote) {
+        if (oldTxNote != null)
+            removeTxNote(key, oldTxNote);
+        if (newTxNote != null)
+            addTxNote(key, newTxNote);
+    }
+
+    /**
+     * This method is used to remove from the indexes a {@link TxNote} moved in the {@link #archive}
+     *
+     * @param key:    key of the tx note
+     * @param txNote: tx note archived
+     * @implNote to index it again with its instance use {@link #replaceTxNote(String, TxNote, TxNote)}
+     **/
+    public void archiveTxNote(String key, TxNote txNote) {
+        removeTxNote(key, txNote);
+    }
+
+    /**
+     * Method to set {@link #archive} instance
+     *
+     * @param archive: archive of the notes moved out of the indexes, null to skip the archived notes
+     **/
+    public void setArchive(Archive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * This method is used to read lazily the notes archived sorted by a date
+     *
+     * @param asset:      base asset of the notes, null for all the assets
+     * @param bySellDate: whether the notes are sorted by sell date, else by buy date
+     * @param from:       min date included
+     * @param to:         max date included
+     * @param descending: whether the notes are sorted from the latest
+     * @return notes as {@link Iterator} of {@link TxNote}, empty if {@link #archive} is not set
+     **/
+    Iterator<TxNote> archived(String asset, boolean bySellDate, long from, long to, boolean descending) {
+        Archive current = archive;
+        if (current == null || from > to)
+            return Collections.emptyIterator();
+        return current.iterator(asset, bySellDate, from, to, descending);
+    }
+
+    /**
+     * This method is used to remove all the notes from the indexes <br>
+     * Any params required
+     **/
+    public void clear() {
+        allNotes.clear();
+        assetNotes.clear();
+    }
+
+    /**
+     * This method is used to create a new query on the notes indexed <br>
+     * Any params required
+     *
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery query() {
+        return new TxNotesQuery(this);
+    }
+
+    /**
+     * This method is used to get number of notes indexed <br>
+     * Any params required
+     *
+     * @return number of notes as int, the ones in the {@link #archive} included
+     **/
+    public int size() {
+        Archive current = archive;
+        return allNotes.byBuyDate.size() + (current == null ? 0 : current.size());
+    }
+
+    /**
+     * This method is used to get the notes sorted by buy date
+     *
+     * @param asset:  base asset of the notes, null for all the assets
+     * @param status: status of the notes, null for all the statuses
+     * @param from:   min buy date included
+     * @param to:     max buy date included
+     * @return notes as {@link NavigableSet} of {@link Entry}
+     **/
+    NavigableSet<Entry> byBuyDate(String asset, Side status, long from, long to) {
+        Indexes indexes = getIndexes(asset);
+        if (indexes == null || from > to)
+            return new ConcurrentSkipListSet<>(BUY_DATE_ORDER);
+        NavigableSet<Entry> order = status == null ? indexes.byBuyDate : indexes.byStatus.get(status);
+        if (order == null)
+            return new ConcurrentSkipListSet<>(BUY_DATE_ORDER);
+        return order.subSet(probe(from, from, ""), true, probe(to, to, null), true);
+    }
+
+    /**
+     * This method is used to get the notes sold sorted by sell date
+     *
+     * @param asset: base asset of the notes, null for all the assets
+     * @param from:  min sell date included
+     * @param to:    max sell date included
+     * @return notes as {@link NavigableSet} of {@link Entry}
+     **/
+    NavigableSet<Entry> bySellDate(String asset, long from, long to) {
+        Indexes indexes = getIndexes(asset);
+        if (indexes == null || from > to)
+            return new ConcurrentSkipListSet<>(SELL_DATE_ORDER);
+        return indexes.bySellDate.subSet(probe(from, from, ""), true, probe(to, to, null), true);
+    }
+
+    /**
+     * This method is used to get the indexes of an asset
+     *
+     * @param asset: base asset, null for all the assets
+     * @return indexes as {@link Indexes}, null if the asset has no notes
+     **/
+    private Indexes getIndexes(String asset) {
+        if (asset == null)
+            return allNotes;
+        return assetNotes.get(asset);
+    }
+
+    /**
+     * This method is used to create an entry to search in an index
+     *
+     * @param buyDate:  buy date to search
+     * @param sellDate: sell date to search
+     * @param key:      key to search, null to create an entry placed after all the ones with the same date
+     * @return entry as {@link Entry}
+     **/
+    private static Entry probe(long buyDate, long sellDate, String key) {
+        return new Entry(key == null ? String.valueOf(Character.MAX_VALUE) : key, buyDate, sellDate, null);
+    }
+
+    /**
+     * The {@code Archive} interface defines a storage of the notes moved out of the indexes, that sorts them with its
+     * own index
+     **/
+    public interface Archive {
+
+        /**
+         * This method is used to read lazily the notes archived sorted by a date
+         *
+         * @param asset:      base asset of the notes, null for all the assets
+         * @param bySellDate: whether the notes are sorted by sell date, else by buy date
+         * @param from:       min date included
+         * @param to:         max date included
+         * @param descending: whether the notes are sorted from the latest
+         * @return notes as {@link Iterator} of {@link TxNote}
+         **/
+        Iterator<TxNote> iterator(String asset, boolean bySellDate, long from, long to, boolean descending);
+
+        /**
+         * This method is used to get number of notes archived <br>
+         * Any params required
+         *
+         * @return number of notes as int
+         **/
+        int size();
+
+    }
+
+    /**
+     * The {@code Indexes} class defines the sorted indexes of a group of notes
+     **/
+    private static class Indexes {
+
+        /**
+         * {@code byBuyDate} is instance that memorizes all the notes sorted by buy date
+         **/
+        private final ConcurrentSkipListSet<Entry> byBuyDate = new ConcurrentSkipListSet<>(BUY_DATE_ORDER);
+
+        /**
+         * {@code byStatus} is instance that memorizes notes of each status sorted by buy date
+         **/
+        private final EnumMap<Side, ConcurrentSkipListSet<Entry>> byStatus = new EnumMap<>(Side.class);
+
+        /**
+         * {@code bySellDate} is instance that memorizes notes sold sorted by sell date
+         **/
+        private final ConcurrentSkipListSet<Entry> bySellDate = new ConcurrentSkipListSet<>(SELL_DATE_ORDER);
+
+        /**
+         * Constructor to init {@link Indexes} <br>
+         * Any params required
+         **/
+        private Indexes() {
+            for (Side side : Side.values())
+                byStatus.put(side, new ConcurrentSkipListSet<>(BUY_DATE_ORDER));
+        }
+
+        /**
+         * This method is used to add an entry in the indexes
+         *
+         * @param entry: entry to add
+         **/
+        private void add(Entry entry) {
+            byBuyDate.add(entry);
+            byStatus.get(entry.status).add(entry);
+            if (entry.status == SELL)
+                bySellDate.add(entry);
+        }
+
+        /**
+         * This method is used to remove an entry from the indexes
+         *
+         * @param entry: entry to remove
+         **/
+        private void remove(Entry entry) {
+            byBuyDate.remove(entry);
+            byStatus.get(entry.status).remove(entry);
+            if (entry.status == SELL)
+                bySellDate.remove(entry);
+        }
+
+        /**
+         * This method is used to remove all the entries from the indexes <br>
+         * Any params required
+         **/
+        private void clear() {
+            byBuyDate.clear();
+            for (ConcurrentSkipListSet<Entry> order : byStatus.values())
+                order.clear();
+            bySellDate.clear();
+        }
+
+    }
+
+    /**
+     * The {@code Entry} class defines a note indexed with its dates
+     **/
+    static class Entry {
+
+        /**
+         * {@code key} is instance that memorizes key of the note
+         **/
+        private final String key;
+
+        /**
+         * {@code buyDate} is instance that memorizes buy date of the note
+         **/
+        final long buyDate;
+
+        /**
+         * {@code sellDate} is instance that memorizes sell date of the note
+         **/
+        final long sellDate;
+
+        /**
+         * {@code status} is instance that memorizes status of the note
+         **/
+        final Side status;
+
+        /**
+         * {@code txNote} is instance that memorizes note indexed, null for the entries used to search
+         **/
+        final TxNote txNote;
+
+        /**
+         * Constructor to init {@link Entry}
+         *
+         * @param key:    key of the note
+         * @param txNote: note indexed
+         **/
+        private Entry(String key, TxNote txNote) {
+            this.key = key;
+            this.txNote = txNote;
+            buyDate = txNote.getBuyDateTimestamp();
+            sellDate = txNote.getSellDateTimestamp();
+            status = txNote.getStatus();
+        }
+
+        /**
+         * Constructor to init {@link Entry} used to search in an index
+         *
+         * @param key:      key of the note
+         * @param buyDate:  buy date of the note
+         * @param sellDate: sell date of the note
+         * @param status:   status of the note
+         **/
+        private Entry(String key, long buyDate, long sellDate, Side status) {
+            this.key = key;
+            this.buyDate = buyDate;
+            this.sellDate = sellDate;
+            this.status = status;
+            txNote = null;
+        }
+
+    }
+
+}
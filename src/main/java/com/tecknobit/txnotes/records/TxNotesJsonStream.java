@@ -0,0 +1,345 @@
+package com.tecknobit.txnotes.records;
+
+import com.tecknobit.txnotes.records.TxNotesValueSeries.Point;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.*;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesConstants.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code TxNotesJsonStream} class is useful to export and import {@link TxNote} and {@link Wallet} as JSON. <br>
+ * Records are written directly on a {@link Writer} or on an {@link OutputStream} without creating any intermediate
+ * map, and lists are read one record at a time, so large portfolios can be exported and imported with a bounded
+ * memory usage.
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote keys used are the same of {@link TxNote#getTxNote()} and {@link Wallet#getWallet()}
+ **/
+
+public class TxNotesJsonStream {
+
+    /**
+     * Constructor to avoid instantiation
+     **/
+    private TxNotesJsonStream() {
+    }
+
+    /**
+     * This method is used to write a {@link TxNote} as JSON object
+     *
+     * @param txNote: tx note to write
+     * @param writer: writer where write the tx note
+     * @throws IOException when an operation fails
+     **/
+    public static void writeTxNote(TxNote txNote, Writer writer) throws IOException {
+        writer.write('{');
+        writeField(SYMBOL_KEY, txNote.getSymbol(), writer, true);
+        writeField(STATUS_KEY, txNote.getStatus().name(), writer, false);
+        writeField(INITIAL_BALANCE_KEY, txNote.getInitialBalance(), writer);
+        writeField(BUY_DATE_KEY, txNote.getBuyDateTimestamp(), writer);
+        writeField(FIRST_PRICE_KEY, txNote.getStartPrice(), writer);
+        writeField(BASE_ASSET_KEY, txNote.getBaseAsset(), writer, false);
+        writeField(QUOTE_ASSET_KEY, txNote.getQuoteAsset(), writer, false);
+        writeField(QUANTITY_KEY, txNote.getQuantity(), writer);
+        writeField(LAST_PRICE_KEY, txNote.getLastPrice(), writer);
+        if (txNote.getSellPrice() != 0) {
+            writeField(SELL_DATE_KEY, txNote.getSellDateTimestamp(), writer);
+            writeField(SELL_PRICE_KEY, txNote.getSellPrice(), writer);
+        }
+        writer.write('}');
+    }
+
+    /**
+     * This method is used to write a list of {@link TxNote} as JSON array
+     *
+     * @param txNotes: list of tx notes to write
+     * @param writer:  writer where write the tx notes
+     * @throws IOException when an operation fails
+     **/
+    public static void writeTxNotes(Collection<TxNote> txNotes, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (TxNote txNote : txNotes) {
+            if (!first)
+                writer.write(',');
+            writeTxNote(txNote, writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    /**
+     * This method is used to write a list of {@link TxNote} as JSON array
+     *
+     * @param txNotes: list of tx notes to write
+     * @param stream:  stream where write the tx notes in UTF-8
+     * @throws IOException when an operation fails
+     * @implNote the stream will be flushed but not closed
+     **/
+    public static void writeTxNotes(Collection<TxNote> txNotes, OutputStream stream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+        writeTxNotes(txNotes, writer);
+        writer.flush();
+    }
+
+    /**
+     * This method is used to write a {@link Wallet} as JSON object
+     *
+     * @param wallet: wallet to write
+     * @param writer: writer where write the wallet
+     * @throws IOException when an operation fails
+     **/
+    public static void writeWallet(Wallet wallet, Writer writer) throws IOException {
+        writer.write('{');
+        writeField(SYMBOL_KEY, wallet.getIndex(), writer, true);
+        writeField(ASSET_NAME_KEY, wallet.getName(), writer, false);
+        writeField(LAST_PRICE_KEY, wallet.getLastPrice(), writer);
+        writeField(PRICE_CHANGE_PERCENT_KEY, wallet.getTrend(), writer);
+        writer.write(',');
+        JSONObject.quote(TRANSACTIONS_KEY, writer);
+        writer.write(':');
+        writeTxNotes(wallet.getTxNotes(), writer);
+        writer.write('}');
+    }
+
+    /**
+     * This method is used to write a list of {@link Wallet} as JSON array
+     *
+     * @param wallets: list of wallets to write
+     * @param writer:  writer where write the wallets
+     * @throws IOException when an operation fails
+     **/
+    public static void writeWallets(Collection<Wallet> wallets, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Wallet wallet : wallets) {
+            if (!first)
+                writer.write(',');
+            writeWallet(wallet, writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    /**
+     * This method is used to write a list of {@link Wallet} as JSON array
+     *
+     * @param wallets: list of wallets to write
+     * @param stream:  stream where write the wallets in UTF-8
+     * @throws IOException when an operation fails
+     * @implNote the stream will be flushed but not closed
+     **/
+    public static void writeWallets(Collection<Wallet> wallets, OutputStream stream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+        writeWallets(wallets, writer);
+        writer.flush();
+    }
+
+    /**
+     * This method is used to write the points of a {@link TxNotesValueSeries} as JSON array
+     *
+     * @param points: points to write
+     * @param writer: writer where write the points
+     * @throws IOException when an operation fails
+     **/
+    public static void writeValuePoints(Collection<Point> points, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Point point : points) {
+            if (!first)
+                writer.write(',');
+            writer.write('{');
+            JSONObject.quote(TIMESTAMP_KEY, writer);
+            writer.write(':');
+            writer.write(Long.toString(point.getTimestamp()));
+            writeField(BALANCE_KEY, point.getBalance(), writer);
+            writeField(QUANTITY_KEY, point.getQuantity(), writer);
+            writeField(INCOME_PERCENT_KEY, point.getIncomePercent(), writer);
+            writer.write('}');
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    /**
+     * This method is used to write a textual field of a JSON object
+     *
+     * @param key:    key of the field
+     * @param value:  value of the field
+     * @param writer: writer where write the field
+     * @param first:  whether is the first field of the object
+     * @throws IOException when an operation fails
+     **/
+    private static void writeField(String key, String value, Writer writer, boolean first) throws IOException {
+        if (!first)
+            writer.write(',');
+        JSONObject.quote(key, writer);
+        writer.write(':');
+        if (value == null)
+            writer.write("null");
+        else
+            JSONObject.quote(value, writer);
+    }
+
+    /**
+     * This method is used to write a numeric field of a JSON object
+     *
+     * @param key:    key of the field
+     * @param value:  value of the field
+     * @param writer: writer where write the field
+     * @throws IOException when an operation fails
+     **/
+    private static void writeField(String key, double value, Writer writer) throws IOException {
+        writer.write(',');
+        JSONObject.quote(key, writer);
+        writer.write(':');
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            writer.write("null");
+        else
+            writer.write(JSONObject.numberToString(value));
+    }
+
+    /**
+     * This method is used to write a timestamp field of a JSON object
+     *
+     * @param key:    key of the field
+     * @param value:  value of the field
+     * @param writer: writer where write the field
+     * @throws IOException when an operation fails
+     **/
+    private static void writeField(String key, long value, Writer writer) throws IOException {
+        writer.write(',');
+        JSONObject.quote(key, writer);
+        writer.write(':');
+        writer.write(Long.toString(value));
+    }
+
+    /**
+     * This method is used to create a {@link TxNote} from its JSON details
+     *
+     * @param txNote: tx note details as {@link JSONObject}
+     * @return transaction note as {@link TxNote} custom object
+     * @implNote when last price is not present its value will be 0
+     **/
+    public static TxNote readTxNote(JSONObject txNote) {
+        boolean sold = txNote.has(SELL_DATE_KEY);
+        return new TxNote(txNote.getString(SYMBOL_KEY),
+                Side.valueOf(txNote.getString(STATUS_KEY)),
+                txNote.getLong(BUY_DATE_KEY),
+                txNote.getDouble(INITIAL_BALANCE_KEY),
+                txNote.getDouble(QUANTITY_KEY),
+                txNote.optDouble(LAST_PRICE_KEY, 0),
+                sold ? txNote.getDouble(SELL_PRICE_KEY) : 0,
+                sold ? txNote.getLong(SELL_DATE_KEY) : 0,
+                txNote.getString(BASE_ASSET_KEY),
+                txNote.getString(QUOTE_ASSET_KEY)
+        );
+    }
+
+    /**
+     * This method is used to read a JSON array of {@link TxNote} one note at a time
+     *
+     * @param reader:   reader from read the tx notes
+     * @param consumer: consumer of each tx note read
+     * @return number of tx notes read as int
+     * @throws org.json.JSONException when the content is not a valid tx notes list
+     **/
+    public static int readTxNotes(Reader reader, Consumer<TxNote> consumer) {
+        return readArray(new JSONTokener(reader), item -> consumer.accept(readTxNote(item)));
+    }
+
+    /**
+     * This method is used to read a JSON array of {@link TxNote} one note at a time
+     *
+     * @param stream:   stream from read the tx notes in UTF-8
+     * @param consumer: consumer of each tx note read
+     * @return number of tx notes read as int
+     * @throws org.json.JSONException when the content is not a valid tx notes list
+     **/
+    public static int readTxNotes(InputStream stream, Consumer<TxNote> consumer) {
+        return readTxNotes(new BufferedReader(new InputStreamReader(stream, UTF_8)), consumer);
+    }
+
+    /**
+     * This method is used to create a {@link Wallet} from its JSON details
+     *
+     * @param wallet: wallet details as {@link JSONObject}
+     * @return wallet as {@link Wallet} custom object
+     **/
+    public static Wallet readWallet(JSONObject wallet) {
+        JSONArray notes = wallet.optJSONArray(TRANSACTIONS_KEY);
+        ArrayList<TxNote> txNotes = new ArrayList<>();
+        if (notes != null)
+            for (int j = 0; j < notes.length(); j++)
+                txNotes.add(readTxNote(notes.getJSONObject(j)));
+        return new Wallet(wallet.getString(SYMBOL_KEY),
+                wallet.optString(ASSET_NAME_KEY, null),
+                wallet.getDouble(LAST_PRICE_KEY),
+                wallet.getDouble(PRICE_CHANGE_PERCENT_KEY),
+                txNotes
+        );
+    }
+
+    /**
+     * This method is used to read a JSON array of {@link Wallet} one wallet at a time
+     *
+     * @param reader:   reader from read the wallets
+     * @param consumer: consumer of each wallet read
+     * @return number of wallets read as int
+     * @throws org.json.JSONException when the content is not a valid wallets list
+     **/
+    public static int readWallets(Reader reader, Consumer<Wallet> consumer) {
+        return readArray(new JSONTokener(reader), item -> consumer.accept(readWallet(item)));
+    }
+
+    /**
+     * This method is used to read a JSON array of {@link Wallet} one wallet at a time
+     *
+     * @param stream:   stream from read the wallets in UTF-8
+     * @param consumer: consumer of each wallet read
+     * @return number of wallets read as int
+     * @throws org.json.JSONException when the content is not a valid wallets list
+     **/
+    public static int readWallets(InputStream stream, Consumer<Wallet> consumer) {
+        return readWallets(new BufferedReader(new InputStreamReader(stream, UTF_8)), consumer);
+    }
+
+    /**
+     * This method is used to read a JSON array of objects one item at a time
+     *
+     * @param tokener:  tokener from read the array
+     * @param consumer: consumer of each item read
+     * @return number of items read as int
+     * @throws org.json.JSONException when the content is not a valid array of objects
+     **/
+    private static int readArray(JSONTokener tokener, Consumer<JSONObject> consumer) {
+        if (tokener.nextClean() != '[')
+            throw tokener.syntaxError("A JSON array text must start with '['");
+        int items = 0;
+        char next = tokener.nextClean();
+        if (next == ']')
+            return items;
+        tokener.back();
+        while (true) {
+            Object item = tokener.nextValue();
+            if (!(item instanceof JSONObject))
+                throw tokener.syntaxError("Every item of the array must be a JSON object");
+            consumer.accept((JSONObject) item);
+            items++;
+            next = tokener.nextClean();
+            if (next == ']')
+                return items;
+            if (next != ',')
+                throw tokener.syntaxError("Expected a ',' or ']'");
+        }
+    }
+
+}
@@ -0,0 +1,379 @@
+package com.tecknobit.txnotes.records;
+
+import com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side;
+import com.tecknobit.txnotes.records.TxNotesIndex.Entry;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.BUY;
+import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.SELL;
+
+/**
+ * The {@code TxNotesQuery} class is useful to search the {@link TxNote} of a {@link TxNotesIndex} with filters,
+ * sorting and pagination <br>
+ * The query reads the notes lazily from the narrowest index that matches its filters, so only the notes needed to
+ * fill the results are read, es. the latest 50 sells of an asset read 50 notes
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote filters on income percent are applied while reading the notes, because the income of a note changes with
+ * the last price of its asset; notes archived out of the heap are read back only when they match the other filters
+ **/
+
+public class TxNotesQuery {
+
+    /**
+     * {@code SortField} list of available fields to sort the notes by
+     **/
+    public enum SortField {
+
+        /**
+         * {@code BUY_DATE} sort by {@link TxNote#getBuyDateTimestamp()}
+         **/
+        BUY_DATE,
+
+        /**
+         * {@code SELL_DATE} sort by {@link TxNote#getSellDateTimestamp()}, only notes with {@code SELL} as status
+         * will be returned
+         **/
+        SELL_DATE
+
+    }
+
+    /**
+     * {@code index} is instance that memorizes index to search in
+     **/
+    private final TxNotesIndex index;
+
+    /**
+     * {@code asset} is instance that memorizes base asset of the notes to search
+     *
+     * @apiNote default value is null, so notes of all the assets are searched
+     **/
+    private String asset;
+
+    /**
+     * {@code status} is instance that memorizes status of the notes to search
+     *
+     * @apiNote default value is null, so notes with any status are searched
+     **/
+    private Side status;
+
+    /**
+     * {@code buyFrom} is instance that memorizes min buy date of the notes to search
+     **/
+    private long buyFrom = Long.MIN_VALUE;
+
+    /**
+     * {@code buyTo} is instance that memorizes max buy date of the notes to search
+     **/
+    private long buyTo = Long.MAX_VALUE;
+
+    /**
+     * {@code sellFrom} is instance that memorizes min sell date of the notes to search
+     **/
+    private long sellFrom = Long.MIN_VALUE;
+
+    /**
+     * {@code sellTo} is instance that memorizes max sell date of the notes to search
+     **/
+    private long sellTo = Long.MAX_VALUE;
+
+    /**
+     * {@code sellRange} is instance that memorizes whether a sell date range has been set
+     **/
+    private boolean sellRange;
+
+    /**
+     * {@code minIncomePercent} is instance that memorizes min income percent of the notes to search
+     **/
+    private double minIncomePercent = Double.NEGATIVE_INFINITY;
+
+    /**
+     * {@code maxIncomePercent} is instance that memorizes max income percent of the notes to search
+     **/
+    private double maxIncomePercent = Double.POSITIVE_INFINITY;
+
+    /**
+     * {@code sortField} is instance that memorizes field to sort the notes by
+     *
+     * @apiNote default value is {@link SortField#BUY_DATE}
+     **/
+    private SortField sortField = SortField.BUY_DATE;
+
+    /**
+     * {@code descending} is instance that memorizes whether the notes are sorted from the latest
+     **/
+    private boolean descending;
+
+    /**
+     * Constructor to init {@link TxNotesQuery}
+     *
+     * @param index: index to search in
+     **/
+    public TxNotesQuery(TxNotesIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * This method is used to search only the notes of a base asset
+     *
+     * @param asset: base asset of the notes es. BTC, null for all the assets
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery asset(String asset) {
+        this.asset = asset;
+        return this;
+    }
+
+    /**
+     * This method is used to search only the notes with a status
+     *
+     * @param status: status of the notes, null for any status
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery status(Side status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * This method is used to search only the notes bought in a range of dates
+     *
+     * @param from: min buy date included
+     * @param to:   max buy date included
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery boughtBetween(long from, long to) {
+        buyFrom = from;
+        buyTo = to;
+        return this;
+    }
+
+    /**
+     * This method is used to search only the notes sold in a range of dates
+     *
+     * @param from: min sell date included
+     * @param to:   max sell date included
+     * @return query as {@link TxNotesQuery}
+     * @implNote notes not sold are excluded
+     **/
+    public TxNotesQuery soldBetween(long from, long to) {
+        sellFrom = from;
+        sellTo = to;
+        sellRange = true;
+        return this;
+    }
+
+    /**
+     * This method is used to search only the notes with an income percent greater or equal to a threshold
+     *
+     * @param minIncomePercent: min income percent included es. 5
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery minIncomePercent(double minIncomePercent) {
+        this.minIncomePercent = minIncomePercent;
+        return this;
+    }
+
+    /**
+     * This method is used to search only the notes with an income percent less or equal to a threshold
+     *
+     * @param maxIncomePercent: max income percent included es. -5
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery maxIncomePercent(double maxIncomePercent) {
+        this.maxIncomePercent = maxIncomePercent;
+        return this;
+    }
+
+    /**
+     * This method is used to set the sorting of the notes
+     *
+     * @param sortField:  field to sort by
+     * @param descending: whether the notes are sorted from the latest
+     * @return query as {@link TxNotesQuery}
+     **/
+    public TxNotesQuery sortBy(SortField sortField, boolean descending) {
+        this.sortField = sortField;
+        this.descending = descending;
+        return this;
+    }
+
+    /**
+     * This method is used to read lazily the notes that match the query <br>
+     * Any params required
+     *
+     * @return notes as {@link Iterator} of {@link TxNote}
+     * @implNote notes changed while iterating may be or not be returned; the notes indexed and the ones archived are
+     * merged by the date used to sort
+     **/
+    public Iterator<TxNote> iterator() {
+        NavigableSet<Entry> source;
+        if (sellRange && status == BUY)
+            return Collections.emptyIterator();
+        boolean bySellDate = sortField == SortField.SELL_DATE;
+        if (bySellDate) {
+            if (status == BUY)
+                return Collections.emptyIterator();
+            source = index.bySellDate(asset, sellFrom, sellTo);
+        } else
+            source = index.byBuyDate(asset, sellRange ? SELL : status, buyFrom, buyTo);
+        Iterator<Entry> entries = descending ? source.descendingIterator() : source.iterator();
+        Iterator<TxNote> archived;
+        if (status == BUY)
+            archived = Collections.emptyIterator();
+        else if (bySellDate)
+            archived = index.archived(asset, true, sellFrom, sellTo, descending);
+        else
+            archived = index.archived(asset, false, buyFrom, buyTo, descending);
+        return new Iterator<TxNote>() {
+
+            private TxNote nextIndexed = advanceIndexed();
+
+            private TxNote nextArchived = advanceArchived();
+
+            @Override
+            public boolean hasNext() {
+                return nextIndexed != null || nextArchived != null;
+            }
+
+            @Override
+            public TxNote next() {
+                TxNote txNote;
+                if (nextArchived == null || (nextIndexed != null && !comesAfter(nextIndexed, nextArchived))) {
+                    if (nextIndexed == null)
+                        throw new NoSuchElementException();
+                    txNote = nextIndexed;
+                    nextIndexed = advanceIndexed();
+                } else {
+                    txNote = nextArchived;
+                    nextArchived = advanceArchived();
+                }
+                return txNote;
+            }
+
+            private TxNote advanceIndexed() {
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (matches(entry.status, entry.buyDate, entry.sellDate) && matchesIncome(entry.txNote))
+                        return entry.txNote;
+                }
+                return null;
+            }
+
+            private TxNote advanceArchived() {
+                while (archived.hasNext()) {
+                    TxNote txNote = archived.next();
+                    if (matches(txNote.getStatus(), txNote.getBuyDateTimestamp(), txNote.getSellDateTimestamp())
+                            && matchesIncome(txNote))
+                        return txNote;
+                }
+                return null;
+            }
+
+            private boolean comesAfter(TxNote first, TxNote second) {
+                long firstDate = bySellDate ? first.getSellDateTimestamp() : first.getBuyDateTimestamp();
+                long secondDate = bySellDate ? second.getSellDateTimestamp() : second.getBuyDateTimestamp();
+                return descending ? firstDate < secondDate : firstDate > secondDate;
+            }
+
+        };
+    }
+
+    /**
+     * This method is used to check if a note matches the filters of the query on status and dates
+     *
+     * @param status:   status of the note
+     * @param buyDate:  buy date of the note
+     * @param sellDate: sell date of the note
+     * @return whether the note matches as boolean
+     **/
+    private boolean matches(Side status, long buyDate, long sellDate) {
+        if (this.status != null && status != this.status)
+            return false;
+        if (buyDate < buyFrom || buyDate > buyTo)
+            return false;
+        return !sellRange || (status == SELL && sellDate >= sellFrom && sellDate <= sellTo);
+    }
+
+    /**
+     * This method is used to check if a note matches the filters of the query on income percent
+     *
+     * @param txNote: note to check
+     * @return whether the note matches as boolean
+     **/
+    private boolean matchesIncome(TxNote txNote) {
+        if (minIncomePercent == Double.NEGATIVE_INFINITY && maxIncomePercent == Double.POSITIVE_INFINITY)
+            return true;
+        double incomePercent = txNote.getIncomePercent();
+        return incomePercent >= minIncomePercent && incomePercent <= maxIncomePercent;
+    }
+
+    /**
+     * This method is used to read lazily the notes that match the query <br>
+     * Any params required
+     *
+     * @return notes as {@link Stream} of {@link TxNote}
+     **/
+    public Stream<TxNote> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * This method is used to get the first notes that match the query
+     *
+     * @param limit: max number of notes to get
+     * @return notes as {@link ArrayList} of {@link TxNote}
+     **/
+    public ArrayList<TxNote> limit(int limit) {
+        return collect(iterator(), 0, limit);
+    }
+
+    /**
+     * This method is used to get a page of the notes that match the query
+     *
+     * @param page:     number of the page, starting from 0
+     * @param pageSize: number of notes for each page
+     * @return notes of the page as {@link ArrayList} of {@link TxNote}
+     * @throws IllegalArgumentException when page is negative or pageSize is not positive
+     **/
+    public ArrayList<TxNote> page(int page, int pageSize) {
+        if (page < 0 || pageSize <= 0)
+            throw new IllegalArgumentException("Page cannot be negative and page size must be positive");
+        return collect(iterator(), (long) page * pageSize, pageSize);
+    }
+
+    /**
+     * This method is used to count the notes that match the query <br>
+     * Any params required
+     *
+     * @return number of notes as long
+     **/
+    public long count() {
+        long count = 0;
+        for (Iterator<TxNote> iterator = iterator(); iterator.hasNext(); iterator.next())
+            count++;
+        return count;
+    }
+
+    /**
+     * This method is used to collect the notes of an iterator
+     *
+     * @param iterator: iterator of the notes
+     * @param skip:     number of notes to skip
+     * @param limit:    max number of notes to collect
+     * @return notes collected as {@link ArrayList} of {@link TxNote}
+     **/
+    private ArrayList<TxNote> collect(Iterator<TxNote> iterator, long skip, int limit) {
+        ArrayList<TxNote> notes = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        for (long j = 0; j < skip && iterator.hasNext(); j++)
+            iterator.next();
+        while (notes.size() < limit && iterator.hasNext())
+            notes.add(iterator.next());
+        return notes;
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.tecknobit.txnotes.records;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The {@code TxNotesSnapshot} class defines an immutable and versioned view of the data processed by a fetcher. <br>
+ * Every completed refresh publishes a new snapshot, so readers can work on a consistent state without locks
+ * while the next refresh is still running.
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote the {@link Wallet} published are frozen, so they cannot be changed by the next refreshes, and the
+ * {@link TxNote} are not changed after their insertion by the fetchers; only the {@link TxNotesValueSeries} of a wallet
+ * is shared with the next refreshes, it is an history where the points are only appended
+ **/
+
+public class TxNotesSnapshot {
+
+    /**
+     * {@code EMPTY_SNAPSHOT} is instance that memorizes the snapshot published before any refresh
+     **/
+    public static final TxNotesSnapshot EMPTY_SNAPSHOT = new TxNotesSnapshot(0, new LinkedHashMap<>(),
+            new LinkedHashMap<>());
+
+    /**
+     * {@code version} is instance that memorizes version of this snapshot, it grows at each publication
+     **/
+    private final long version;
+
+    /**
+     * {@code publishTimestamp} is instance that memorizes timestamp when this snapshot has been published
+     **/
+    private final long publishTimestamp;
+
+    /**
+     * {@code txNotes} is instance that memorizes {@link TxNote} published with their key as key
+     **/
+    private final Map<String, TxNote> txNotes;
+
+    /**
+     * {@code txNotesView} is instance that memorizes the read-only view of {@link #txNotes} values
+     **/
+    private final Collection<TxNote> txNotesView;
+
+    /**
+     * {@code wallets} is instance that memorizes {@link Wallet} published with their index as key
+     **/
+    private final Map<String, Wallet> wallets;
+
+    /**
+     * {@code walletsView} is instance that memorizes the read-only view of {@link #wallets} values
+     **/
+    private final Collection<Wallet> walletsView;
+
+    /**
+     * Constructor to init {@link TxNotesSnapshot}
+     *
+     * @param version: version of this snapshot
+     * @param txNotes: copy of the {@link TxNote} to publish, it must not be modified after this call
+     * @param wallets: copy of the {@link Wallet} to publish, it must not be modified after this call
+     * @implNote each wallet is frozen with this call
+     **/
+    public TxNotesSnapshot(long version, LinkedHashMap<String, TxNote> txNotes, LinkedHashMap<String, Wallet> wallets) {
+        this.version = version;
+        publishTimestamp = System.currentTimeMillis();
+        this.txNotes = unmodifiableMap(txNotes);
+        txNotesView = unmodifiableCollection(txNotes.values());
+        for (Wallet wallet : wallets.values())
+            wallet.freeze();
+        this.wallets = unmodifiableMap(wallets);
+        walletsView = unmodifiableCollection(wallets.values());
+    }
+
+    /**
+     * Method to get {@link #version} instance <br>
+     * Any params required
+     *
+     * @return {@link #version} instance as long
+     **/
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Method to get {@link #publishTimestamp} instance <br>
+     * Any params required
+     *
+     * @return {@link #publishTimestamp} instance as long
+     **/
+    public long getPublishTimestamp() {
+        return publishTimestamp;
+    }
+
+    /**
+     * Method to get {@link #txNotesView} instance <br>
+     * Any params required
+     *
+     * @return {@link #txNotesView} instance as {@link Collection} of {@link TxNote}
+     **/
+    public Collection<TxNote> getTxNotes() {
+        return txNotesView;
+    }
+
+    /**
+     * This method is used to get a single {@link TxNote} from this snapshot
+     *
+     * @param asset:   identifier of the asset with transaction has been made
+     * @param buyDate: timestamp of the buy date of the transaction
+     * @return transaction note as {@link TxNote} custom object, null if not published
+     **/
+    public TxNote getTxNote(String asset, long buyDate) {
+        return txNotes.get(asset + buyDate);
+    }
+
+    /**
+     * Method to get {@link #walletsView} instance <br>
+     * Any params required
+     *
+     * @return {@link #walletsView} instance as {@link Collection} of {@link Wallet}
+     **/
+    public Collection<Wallet> getWallets() {
+        return walletsView;
+    }
+
+    /**
+     * This method is used to get a single {@link Wallet} from this snapshot
+     *
+     * @param index: index of the wallet to fetch es. BTC
+     * @return wallet as {@link Wallet} custom object, null if not published
+     **/
+    public Wallet getWallet(String index) {
+        return wallets.get(index);
+    }
+
+}
@@ -0,0 +1,443 @@
+package com.tecknobit.txnotes.records;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * The {@code TxNotesValueSeries} class is useful to keep the history of the values of a {@link Wallet}, its balance,
+ * its total quantity and its total income percent, to draw the charts of the wallet. <br>
+ * Each {@link Resolution} has a ring buffer with a fixed number of points, so the memory used does not grow with the
+ * history and the oldest points are overwritten by the new ones
+ *
+ * @author Tecknobit N7ghtm4r3
+ * @implNote a point keeps the last sample recorded in its period, es. the point of a day is the value at the last
+ * refresh of that day; samples older than the last point of a resolution are ignored
+ **/
+
+public class TxNotesValueSeries {
+
+    /**
+     * {@code Resolution} list of available resolutions of the series
+     **/
+    public enum Resolution {
+
+        /**
+         * {@code MINUTE} resolution, by default are kept the points of the last six hours
+         **/
+        MINUTE(60_000L, 360),
+
+        /**
+         * {@code HOUR} resolution, by default are kept the points of the last fourteen days
+         **/
+        HOUR(3_600_000L, 336),
+
+        /**
+         * {@code DAY} resolution, by default are kept the points of the last year
+         **/
+        DAY(86_400_000L, 365);
+
+        /**
+         * {@code period} is instance that memorizes period of each point in milliseconds
+         **/
+        private final long period;
+
+        /**
+         * {@code defaultCapacity} is instance that memorizes default number of points kept
+         **/
+        private final int defaultCapacity;
+
+        /**
+         * Constructor to init {@link Resolution}
+         *
+         * @param period:          period of each point in milliseconds
+         * @param defaultCapacity: default number of points kept
+         **/
+        Resolution(long period, int defaultCapacity) {
+            this.period = period;
+            this.defaultCapacity = defaultCapacity;
+        }
+
+        /**
+         * Method to get {@link #period} instance <br>
+         * Any params required
+         *
+         * @return {@link #period} instance as long
+         **/
+        public long getPeriod() {
+            return period;
+        }
+
+        /**
+         * Method to get {@link #defaultCapacity} instance <br>
+         * Any params required
+         *
+         * @return {@link #defaultCapacity} instance as int
+         **/
+        public int getDefaultCapacity() {
+            return defaultCapacity;
+        }
+
+    }
+
+    /**
+     * {@code buffers} is instance that memorizes ring buffers with their resolution as key
+     **/
+    private final EnumMap<Resolution, RingBuffer> buffers = new EnumMap<>(Resolution.class);
+
+    /**
+     * Constructor to init {@link TxNotesValueSeries} <br>
+     * Any params required
+     *
+     * @implNote the default capacity of each {@link Resolution} will be used
+     **/
+    public TxNotesValueSeries() {
+        this(Resolution.MINUTE.defaultCapacity, Resolution.HOUR.defaultCapacity, Resolution.DAY.defaultCapacity);
+    }
+
+    /**
+     * Constructor to init {@link TxNotesValueSeries}
+     *
+     * @param minutePoints: number of points kept with {@link Resolution#MINUTE} resolution
+     * @param hourPoints:   number of points kept with {@link Resolution#HOUR} resolution
+     * @param dayPoints:    number of points kept with {@link Resolution#DAY} resolution
+     * @throws IllegalArgumentException when a number of points is not positive
+     **/
+    public TxNotesValueSeries(int minutePoints, int hourPoints, int dayPoints) {
+        buffers.put(Resolution.MINUTE, new RingBuffer(Resolution.MINUTE.period, minutePoints));
+        buffers.put(Resolution.HOUR, new RingBuffer(Resolution.HOUR.period, hourPoints));
+        buffers.put(Resolution.DAY, new RingBuffer(Resolution.DAY.period, dayPoints));
+    }
+
+    /**
+     * This method is used to record the values of a {@link Wallet}
+     *
+     * @param timestamp: timestamp of the sample
+     * @param wallet:    wallet to record
+     **/
+    public void record(long timestamp, Wallet wallet) {
+        record(timestamp, wallet.getBalance(), wallet.getTotalQuantity(), wallet.getTotalIncomePercent());
+    }
+
+    /**
+     * This method is used to record a sample in all the resolutions
+     *
+     * @param timestamp:     timestamp of the sample
+     * @param balance:       balance of the wallet
+     * @param quantity:      total quantity of the wallet
+     * @param incomePercent: total income percent of the wallet
+     **/
+    public synchronized void record(long timestamp, double balance, double quantity, double incomePercent) {
+        for (RingBuffer buffer : buffers.values())
+            buffer.record(timestamp, balance, quantity, incomePercent);
+    }
+
+    /**
+     * This method is used to restore the points of a resolution, es. handed over by another process
+     *
+     * @param resolution: resolution of the points
+     * @param points:     points to restore from the oldest
+     * @implNote the points are recorded only in the resolution given, the points older than the last one recorded are
+     * skipped and only the last points that fit the capacity of the resolution are kept
+     **/
+    public synchronized void restorePoints(Resolution resolution, List<Point> points) {
+        RingBuffer buffer = buffers.get(resolution);
+        for (Point point : points)
+            buffer.record(point.getTimestamp(), point.getBalance(), point.getQuantity(), point.getIncomePercent());
+    }
+
+    /**
+     * This method is used to get all the points of a resolution
+     *
+     * @param resolution: resolution of the points
+     * @return points from the oldest as {@link List} of {@link Point}
+     **/
+    public List<Point> getPoints(Resolution resolution) {
+        return getPoints(resolution, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * This method is used to get the points of a resolution in a range
+     *
+     * @param resolution: resolution of the points
+     * @param from:       min timestamp of the points included
+     * @param to:         max timestamp of the points included
+     * @return points from the oldest as {@link List} of {@link Point}
+     * @implNote the first point is searched with a binary search, so the cost depends only on the points returned
+     **/
+    public synchronized List<Point> getPoints(Resolution resolution, long from, long to) {
+        return buffers.get(resolution).getPoints(from, to);
+    }
+
+    /**
+     * This method is used to get the last point of a resolution
+     *
+     * @param resolution: resolution of the point
+     * @return point as {@link Point}, null if no samples have been recorded
+     **/
+    public synchronized Point getLastPoint(Resolution resolution) {
+        RingBuffer buffer = buffers.get(resolution);
+        if (buffer.size == 0)
+            return null;
+        return buffer.getPoint(buffer.size - 1);
+    }
+
+    /**
+     * This method is used to get number of points of a resolution
+     *
+     * @param resolution: resolution of the points
+     * @return number of points as int
+     **/
+    public synchronized int size(Resolution resolution) {
+        return buffers.get(resolution).size;
+    }
+
+    /**
+     * This method is used to get max number of points of a resolution
+     *
+     * @param resolution: resolution of the points
+     * @return max number of points as int
+     **/
+    public int getCapacity(Resolution resolution) {
+        return buffers.get(resolution).periods.length;
+    }
+
+    /**
+     * This method is used to remove all the points <br>
+     * Any params required
+     **/
+    public synchronized void clear() {
+        for (RingBuffer buffer : buffers.values()) {
+            buffer.head = 0;
+            buffer.size = 0;
+        }
+    }
+
+    /**
+     * The {@code RingBuffer} class defines the points of a single resolution
+     **/
+    private static class RingBuffer {
+
+        /**
+         * {@code period} is instance that memorizes period of each point in milliseconds
+         **/
+        private final long period;
+
+        /**
+         * {@code periods} is instance that memorizes start timestamp of the period of each point
+         **/
+        private final long[] periods;
+
+        /**
+         * {@code balances} is instance that memorizes balance of each point
+         **/
+        private final double[] balances;
+
+        /**
+         * {@code quantities} is instance that memorizes total quantity of each point
+         **/
+        private final double[] quantities;
+
+        /**
+         * {@code incomes} is instance that memorizes total income percent of each point
+         **/
+        private final double[] incomes;
+
+        /**
+         * {@code head} is instance that memorizes position of the oldest point
+         **/
+        private int head;
+
+        /**
+         * {@code size} is instance that memorizes number of points
+         **/
+        private int size;
+
+        /**
+         * Constructor to init {@link RingBuffer}
+         *
+         * @param period:   period of each point in milliseconds
+         * @param capacity: max number of points
+         * @throws IllegalArgumentException when capacity is not positive
+         **/
+        private RingBuffer(long period, int capacity) {
+            if (capacity <= 0)
+                throw new IllegalArgumentException("Number of points must be positive");
+            this.period = period;
+            periods = new long[capacity];
+            balances = new double[capacity];
+            quantities = new double[capacity];
+            incomes = new double[capacity];
+        }
+
+        /**
+         * This method is used to record a sample
+         *
+         * @param timestamp:     timestamp of the sample
+         * @param balance:       balance of the wallet
+         * @param quantity:      total quantity of the wallet
+         * @param incomePercent: total income percent of the wallet
+         **/
+        private void record(long timestamp, double balance, double quantity, double incomePercent) {
+            long start = Math.floorDiv(timestamp, period) * period;
+            int position;
+            if (size > 0 && periods[slot(size - 1)] == start)
+                position = slot(size - 1);
+            else if (size > 0 && periods[slot(size - 1)] > start)
+                return;
+            else if (size < periods.length)
+                position = slot(size++);
+            else {
+                position = head;
+                head = (head + 1) % periods.length;
+            }
+            periods[position] = start;
+            balances[position] = balance;
+            quantities[position] = quantity;
+            incomes[position] = incomePercent;
+        }
+
+        /**
+         * This method is used to get the points in a range
+         *
+         * @param from: min timestamp of the points included
+         * @param to:   max timestamp of the points included
+         * @return points from the oldest as {@link List} of {@link Point}
+         **/
+        private List<Point> getPoints(long from, long to) {
+            int low = 0, high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (periods[slot(middle)] < from)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            ArrayList<Point> points = new ArrayList<>();
+            for (int j = low; j < size && periods[slot(j)] <= to; j++)
+                points.add(getPoint(j));
+            return points;
+        }
+
+        /**
+         * This method is used to get a point
+         *
+         * @param index: index of the point from the oldest
+         * @return point as {@link Point}
+         **/
+        private Point getPoint(int index) {
+            int position = slot(index);
+            return new Point(periods[position], balances[position], quantities[position], incomes[position]);
+        }
+
+        /**
+         * This method is used to get the position in the arrays of a point
+         *
+         * @param index: index of the point from the oldest
+         * @return position as int
+         **/
+        private int slot(int index) {
+            return (head + index) % periods.length;
+        }
+
+    }
+
+    /**
+     * The {@code Point} class defines a point of the series
+     **/
+    public static class Point {
+
+        /**
+         * {@code timestamp} is instance that memorizes start timestamp of the period of the point
+         **/
+        private final long timestamp;
+
+        /**
+         * {@code balance} is instance that memorizes balance of the wallet
+         **/
+        private final double balance;
+
+        /**
+         * {@code quantity} is instance that memorizes total quantity of the wallet
+         **/
+        private final double quantity;
+
+        /**
+         * {@code incomePercent} is instance that memorizes total income percent of the wallet
+         **/
+        private final double incomePercent;
+
+        /**
+         * Constructor to init {@link Point}
+         *
+         * @param timestamp:     start timestamp of the period of the point
+         * @param balance:       balance of the wallet
+         * @param quantity:      total quantity of the wallet
+         * @param incomePercent: total income percent of the wallet
+         **/
+        public Point(long timestamp, double balance, double quantity, double incomePercent) {
+            this.timestamp = timestamp;
+            this.balance = balance;
+            this.quantity = quantity;
+            this.incomePercent = incomePercent;
+        }
+
+        /**
+         * Method to get {@link #timestamp} instance <br>
+         * Any params required
+         *
+         * @return {@link #timestamp} instance as long
+         **/
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Method to get {@link #balance} instance <br>
+         * Any params required
+         *
+         * @return {@link #balance} instance as double
+         **/
+        public double getBalance() {
+            return balance;
+        }
+
+        /**
+         * Method to get {@link #quantity} instance <br>
+         * Any params required
+         *
+         * @return {@link #quantity} instance as double
+         **/
+        public double getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * Method to get {@link #incomePercent} instance <br>
+         * Any params required
+         *
+         * @return {@link #incomePercent} instance as double
+         **/
+        public double getIncomePercent() {
+            return incomePercent;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * Any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return "Point{" +
+                    "timestamp=" + timestamp +
+                    ", balance=" + balance +
+                    ", quantity=" + quantity +
+                    ", incomePercent=" + incomePercent +
+                    '}';
+        }
+
+    }
+
+}
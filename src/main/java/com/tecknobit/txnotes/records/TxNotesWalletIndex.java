@@ -0,0 +1,349 @@
+package com.tecknobit.txnotes.records;
+
+import java.util.*;
+
+/**
+ * The {@code TxNotesWalletIndex} class is useful to sort the {@link Wallet} by their aggregated values. <br>
+ * Each aggregated value is computed once when a wallet changes and memorized in an ordered index for each
+ * {@link WalletMetric}, so top, range and paginated queries read only the wallets requested without computing
+ * the values of all the wallets again.
+ *
+ * @author Tecknobit N7ghtm4r3
+ **/
+
+public class TxNotesWalletIndex {
+
+    /**
+     * {@code WalletMetric} list of available aggregated values of a {@link Wallet} to sort by
+     **/
+    public enum WalletMetric {
+
+        /**
+         * {@code BALANCE} sort by {@link Wallet#getBalance()}
+         **/
+        BALANCE,
+
+        /**
+         * {@code INITIAL_BALANCE} sort by {@link Wallet#getInitialBalance()}
+         **/
+        INITIAL_BALANCE,
+
+        /**
+         * {@code INCOME_PERCENT} sort by {@link Wallet#getTotalIncomePercent()}
+         **/
+        INCOME_PERCENT,
+
+        /**
+         * {@code TREND} sort by {@link Wallet#getTrend()}
+         **/
+        TREND,
+
+        /**
+         * {@code QUANTITY} sort by {@link Wallet#getTotalQuantity()}
+         **/
+        QUANTITY
+
+    }
+
+    /**
+     * {@code LOWER_BOUND} is instance that memorizes bound placed before all the entries with the same value
+     **/
+    private static final int LOWER_BOUND = -1;
+
+    /**
+     * {@code UPPER_BOUND} is instance that memorizes bound placed after all the entries with the same value
+     **/
+    private static final int UPPER_BOUND = 1;
+
+    /**
+     * {@code entries} is instance that memorizes entries indexed with the wallet index as key
+     **/
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    /**
+     * {@code orders} is instance that memorizes ordered indexes with their metric as key
+     **/
+    private final EnumMap<WalletMetric, TreeSet<Entry>> orders = new EnumMap<>(WalletMetric.class);
+
+    /**
+     * Constructor to init {@link TxNotesWalletIndex} <br>
+     * Any params required
+     **/
+    public TxNotesWalletIndex() {
+        for (WalletMetric metric : WalletMetric.values()) {
+            int position = metric.ordinal();
+            orders.put(metric, new TreeSet<>((first, second) -> compareEntries(first, second, position)));
+        }
+    }
+
+    /**
+     * Constructor to init {@link TxNotesWalletIndex}
+     *
+     * @param wallets: wallets to index
+     **/
+    public TxNotesWalletIndex(Collection<Wallet> wallets) {
+        this();
+        update(wallets);
+    }
+
+    /**
+     * This method is used to align the index with a list of {@link Wallet}
+     *
+     * @param wallets: current wallets
+     * @implNote the aggregated values are computed only for the wallets with a different instance from the one indexed,
+     * because the {@link Wallet} published are frozen, then only the wallets with different aggregated values are moved
+     * in the indexes, wallets not in the list are removed
+     **/
+    public synchronized void update(Collection<Wallet> wallets) {
+        HashSet<String> current = new HashSet<>();
+        for (Wallet wallet : wallets) {
+            String index = wallet.getIndex();
+            current.add(index);
+            Entry entry = entries.get(index);
+            if (entry != null && entry.wallet == wallet && wallet.isFrozen())
+                continue;
+            double[] values = computeValues(wallet);
+            if (entry != null) {
+                if (Arrays.equals(entry.values, values)) {
+                    entry.wallet = wallet;
+                    continue;
+                }
+                removeEntry(entry);
+            }
+            addEntry(new Entry(index, wallet, values));
+        }
+        if (current.size() != entries.size()) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (!current.contains(entry.index)) {
+                    iterator.remove();
+                    for (TreeSet<Entry> order : orders.values())
+                        order.remove(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to compute the aggregated values of a {@link Wallet}
+     *
+     * @param wallet: wallet to compute
+     * @return values sorted as {@link WalletMetric} as double array
+     **/
+    private double[] computeValues(Wallet wallet) {
+        double[] values = new double[WalletMetric.values().length];
+        values[WalletMetric.BALANCE.ordinal()] = wallet.getBalance();
+        values[WalletMetric.INITIAL_BALANCE.ordinal()] = wallet.getInitialBalance();
+        values[WalletMetric.INCOME_PERCENT.ordinal()] = wallet.getTotalIncomePercent();
+        values[WalletMetric.TREND.ordinal()] = wallet.getTrend();
+        values[WalletMetric.QUANTITY.ordinal()] = wallet.getTotalQuantity();
+        return values;
+    }
+
+    /**
+     * This method is used to add an entry in the indexes
+     *
+     * @param entry: entry to add
+     **/
+    private void addEntry(Entry entry) {
+        entries.put(entry.index, entry);
+        for (TreeSet<Entry> order : orders.values())
+            order.add(entry);
+    }
+
+    /**
+     * This method is used to remove an entry from the indexes
+     *
+     * @param entry: entry to remove
+     **/
+    private void removeEntry(Entry entry) {
+        entries.remove(entry.index);
+        for (TreeSet<Entry> order : orders.values())
+            order.remove(entry);
+    }
+
+    /**
+     * This method is used to get the wallets with the highest value of a metric
+     *
+     * @param metric: metric to sort by
+     * @param limit:  max number of wallets to get
+     * @return wallets sorted from the highest value as {@link ArrayList} of {@link Wallet}
+     **/
+    public synchronized ArrayList<Wallet> getTopWallets(WalletMetric metric, int limit) {
+        return collect(orders.get(metric).descendingIterator(), 0, limit);
+    }
+
+    /**
+     * This method is used to get the wallets with the lowest value of a metric
+     *
+     * @param metric: metric to sort by
+     * @param limit:  max number of wallets to get
+     * @return wallets sorted from the lowest value as {@link ArrayList} of {@link Wallet}
+     **/
+    public synchronized ArrayList<Wallet> getBottomWallets(WalletMetric metric, int limit) {
+        return collect(orders.get(metric).iterator(), 0, limit);
+    }
+
+    /**
+     * This method is used to get the wallets with the value of a metric in a range
+     *
+     * @param metric:    metric to sort by
+     * @param fromValue: min value included
+     * @param toValue:   max value included
+     * @return wallets sorted from the lowest value as {@link ArrayList} of {@link Wallet}
+     **/
+    public synchronized ArrayList<Wallet> getWalletsInRange(WalletMetric metric, double fromValue, double toValue) {
+        if (fromValue > toValue)
+            return new ArrayList<>();
+        NavigableSet<Entry> range = orders.get(metric).subSet(bound(metric, fromValue, LOWER_BOUND), true,
+                bound(metric, toValue, UPPER_BOUND), true);
+        return collect(range.iterator(), 0, range.size());
+    }
+
+    /**
+     * This method is used to get a page of the wallets sorted by a metric
+     *
+     * @param metric:     metric to sort by
+     * @param descending: whether the wallets are sorted from the highest value
+     * @param page:       number of the page, starting from 0
+     * @param pageSize:   number of wallets for each page
+     * @return wallets of the page as {@link ArrayList} of {@link Wallet}
+     * @throws IllegalArgumentException when page is negative or pageSize is not positive
+     **/
+    public synchronized ArrayList<Wallet> getWalletsPage(WalletMetric metric, boolean descending, int page,
+                                                         int pageSize) {
+        if (page < 0 || pageSize <= 0)
+            throw new IllegalArgumentException("Page cannot be negative and page size must be positive");
+        TreeSet<Entry> order = orders.get(metric);
+        return collect(descending ? order.descendingIterator() : order.iterator(), (long) page * pageSize, pageSize);
+    }
+
+    /**
+     * This method is used to get the value of a metric memorized for a wallet
+     *
+     * @param index:  index of the wallet es. BTC
+     * @param metric: metric to get
+     * @return value as double, {@link Double#NaN} if the wallet is not indexed
+     **/
+    public synchronized double getValue(String index, WalletMetric metric) {
+        Entry entry = entries.get(index);
+        if (entry == null)
+            return Double.NaN;
+        return entry.values[metric.ordinal()];
+    }
+
+    /**
+     * This method is used to get number of wallets indexed <br>
+     * Any params required
+     *
+     * @return number of wallets as int
+     **/
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * This method is used to collect the wallets of an index
+     *
+     * @param iterator: iterator of the index
+     * @param skip:     number of entries to skip
+     * @param limit:    max number of wallets to collect
+     * @return wallets collected as {@link ArrayList} of {@link Wallet}
+     **/
+    private ArrayList<Wallet> collect(Iterator<Entry> iterator, long skip, int limit) {
+        ArrayList<Wallet> wallets = new ArrayList<>(Math.max(0, Math.min(limit, entries.size())));
+        for (long j = 0; j < skip && iterator.hasNext(); j++)
+            iterator.next();
+        while (wallets.size() < limit && iterator.hasNext())
+            wallets.add(iterator.next().wallet);
+        return wallets;
+    }
+
+    /**
+     * This method is used to compare two entries of an index
+     *
+     * @param first:    first entry to compare
+     * @param second:   second entry to compare
+     * @param position: position of the value of the metric of the index
+     * @return result of the comparison as int
+     * @implNote entries are sorted by value, then by wallet index; a bound is placed before or after all the entries
+     * with its value
+     **/
+    private static int compareEntries(Entry first, Entry second, int position) {
+        int comparison = Double.compare(first.values[position], second.values[position]);
+        if (comparison != 0)
+            return comparison;
+        if (first.bound != 0 || second.bound != 0)
+            return Integer.compare(first.bound, second.bound);
+        return first.index.compareTo(second.index);
+    }
+
+    /**
+     * This method is used to create a bound to search in an index
+     *
+     * @param metric: metric of the index
+     * @param value:  value of the bound
+     * @param bound:  {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @return bound as {@link Entry}
+     **/
+    private static Entry bound(WalletMetric metric, double value, int bound) {
+        double[] values = new double[WalletMetric.values().length];
+        values[metric.ordinal()] = value;
+        return new Entry(null, null, values, bound);
+    }
+
+    /**
+     * The {@code Entry} class defines a wallet indexed with its aggregated values
+     **/
+    private static class Entry {
+
+        /**
+         * {@code index} is instance that memorizes index of the wallet
+         **/
+        private final String index;
+
+        /**
+         * {@code values} is instance that memorizes aggregated values sorted as {@link WalletMetric}
+         **/
+        private final double[] values;
+
+        /**
+         * {@code bound} is instance that memorizes type of bound of the entry, 0 for the wallets indexed
+         **/
+        private final int bound;
+
+        /**
+         * {@code wallet} is instance that memorizes the last instance of the wallet indexed
+         **/
+        private Wallet wallet;
+
+        /**
+         * Constructor to init {@link Entry}
+         *
+         * @param index:  index of the wallet
+         * @param wallet: wallet indexed
+         * @param values: aggregated values sorted as {@link WalletMetric}
+         **/
+        private Entry(String index, Wallet wallet, double[] values) {
+            this(index, wallet, values, 0);
+        }
+
+        /**
+         * Constructor to init {@link Entry}
+         *
+         * @param index:  index of the wallet, null for a bound
+         * @param wallet: wallet indexed, null for a bound
+         * @param values: aggregated values sorted as {@link WalletMetric}
+         * @param bound:  type of bound of the entry, 0 for the wallets indexed
+         **/
+        private Entry(String index, Wallet wallet, double[] values, int bound) {
+            this.index = index;
+            this.wallet = wallet;
+            this.values = values;
+            this.bound = bound;
+        }
+
+    }
+
+}
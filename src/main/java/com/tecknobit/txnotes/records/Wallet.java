@@ -1,19 +1,20 @@
 package com.tecknobit.txnotes.records;
 
 import com.tecknobit.traderbot.routines.interfaces.RecordDetails;
+import com.tecknobit.txnotes.records.TxNotesCostBasis.CostBasisMethod;
 import org.json.JSONArray;
-import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.*;
 
 import static com.tecknobit.apimanager.trading.CryptocurrencyTool.getCryptocurrencyName;
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
 import static com.tecknobit.apimanager.trading.TradingTools.textualizeAssetPercent;
-import static com.tecknobit.traderbot.records.portfolio.Transaction.getDateTimestamp;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.*;
 import static com.tecknobit.traderbot.routines.interfaces.TraderBotConstants.Side.BUY;
+import static com.tecknobit.txnotes.fetchers.interfaces.TxNotesDateCodec.parseDate;
 import static com.tecknobit.txnotes.records.TxNote.getDetailsColoured;
 import static java.lang.System.out;
 
@@ -48,9 +49,61 @@ public class Wallet implements RecordDetails {
     protected double trend;
 
     /**
-     * {@code txNotes} is instance that memorizes list of {@link TxNote}
+     * {@code txNotes} is instance that memorizes list of {@link TxNote} in insertion order
+     *
+     * @apiNote this field was an {@link ArrayList} in the previous versions, so the subclasses that use it must be
+     * recompiled
+     **/
+    protected final LinkedHashSet<TxNote> txNotes = new LinkedHashSet<>();
+
+    /**
+     * {@code txNotesView} is instance that memorizes the read-only list of {@link #txNotes}
+     *
+     * @implNote it is created when requested and discarded when {@link #txNotes} changes
+     **/
+    private volatile List<TxNote> txNotesView;
+
+    /**
+     * {@code buyDates} is instance that memorizes {@link TxNote} of {@link #txNotes} with their buy date as key
+     **/
+    private final DatesIndex buyDates = new DatesIndex();
+
+    /**
+     * {@code sellDates} is instance that memorizes sold {@link TxNote} of {@link #txNotes} with their sell date as key
+     **/
+    private final DatesIndex sellDates = new DatesIndex();
+
+    /**
+     * {@code costBases} is instance that memorizes {@link TxNotesCostBasis} already computed with their method as key
+     *
+     * @implNote they are updated when a {@link TxNote} is added after the fills already applied and computed again
+     * when a {@link TxNote} is removed or added before them
+     **/
+    private final EnumMap<CostBasisMethod, TxNotesCostBasis> costBases = new EnumMap<>(CostBasisMethod.class);
+
+    /**
+     * {@code archivedTxNotes} is instance that memorizes number of {@link TxNote} of the wallet archived out of
+     * {@link #txNotes}
      **/
-    protected ArrayList<TxNote> txNotes;
+    private int archivedTxNotes;
+
+    /**
+     * {@code archivedIncomePercent} is instance that memorizes sum of the income percent of the {@link TxNote} archived
+     **/
+    private double archivedIncomePercent;
+
+    /**
+     * {@code valueSeries} is instance that memorizes history of the values of the wallet
+     *
+     * @apiNote default value is null, the series is kept by the fetchers and moved to the wallet loaded by each refresh
+     **/
+    private volatile TxNotesValueSeries valueSeries;
+
+    /**
+     * {@code frozen} is instance that memorizes flag that indicates if the wallet has been published in a
+     * {@link TxNotesSnapshot}, so it cannot be changed anymore
+     **/
+    private volatile boolean frozen;
 
     /**
      * Constructor to init {@link Wallet}
@@ -61,12 +114,27 @@ public class Wallet implements RecordDetails {
      * @param trend:     trend value
      * @param txNotes:   {@link #txNotes}
      **/
-    public Wallet(String index, String name, double lastPrice, double trend, ArrayList<TxNote> txNotes) {
+    public Wallet(String index, String name, double lastPrice, double trend, Collection<TxNote> txNotes) {
         this.index = index;
         this.name = name;
         this.lastPrice = lastPrice;
         this.trend = trend;
-        this.txNotes = txNotes;
+        for (TxNote txNote : txNotes)
+            insertTxNote(txNote);
+    }
+
+    /**
+     * Constructor to init {@link Wallet}
+     *
+     * @param index:     index value es. BTC
+     * @param name:      name of the asset of this wallet es. Bitcoin
+     * @param lastPrice: last price value
+     * @param trend:     trend value
+     * @param txNotes:   {@link #txNotes}
+     * @apiNote kept with the {@link ArrayList} signature of the previous versions, so the compiled callers still link
+     **/
+    public Wallet(String index, String name, double lastPrice, double trend, ArrayList<TxNote> txNotes) {
+        this(index, name, lastPrice, trend, (Collection<TxNote>) txNotes);
     }
 
     /**
@@ -78,7 +146,7 @@ public class Wallet implements RecordDetails {
      * @param trend:     trend value
      **/
     public Wallet(String index, String name, double lastPrice, double trend) {
-        this(index, name, lastPrice, trend, new ArrayList<>());
+        this(index, name, lastPrice, trend, Collections.emptyList());
     }
 
     /**
@@ -90,10 +158,24 @@ public class Wallet implements RecordDetails {
      * @param txNotes:   {@link #txNotes}
      * @implSpec this constructor inserts automatically the name of the asset of this wallet es. Bitcoin
      **/
-    public Wallet(String index, double lastPrice, double trend, ArrayList<TxNote> txNotes) {
+    public Wallet(String index, double lastPrice, double trend, Collection<TxNote> txNotes) {
         this(index, getCryptocurrencyName(index), lastPrice, trend, txNotes);
     }
 
+    /**
+     * Constructor to init {@link Wallet}
+     *
+     * @param index:     index value es. BTC
+     * @param lastPrice: last price value
+     * @param trend:     trend value
+     * @param txNotes:   {@link #txNotes}
+     * @implSpec this constructor inserts automatically the name of the asset of this wallet es. Bitcoin
+     * @apiNote kept with the {@link ArrayList} signature of the previous versions, so the compiled callers still link
+     **/
+    public Wallet(String index, double lastPrice, double trend, ArrayList<TxNote> txNotes) {
+        this(index, getCryptocurrencyName(index), lastPrice, trend, (Collection<TxNote>) txNotes);
+    }
+
     /**
      * Constructor to init {@link Wallet}
      *
@@ -103,7 +185,7 @@ public class Wallet implements RecordDetails {
      * @implSpec this constructor inserts automatically the name of the asset of this wallet es. Bitcoin
      **/
     public Wallet(String index, double lastPrice, double trend) {
-        this(index, getCryptocurrencyName(index), lastPrice, trend, new ArrayList<>());
+        this(index, getCryptocurrencyName(index), lastPrice, trend, Collections.emptyList());
     }
 
     /**
@@ -142,6 +224,7 @@ public class Wallet implements RecordDetails {
      * @param lastPrice: last price value
      **/
     public void setLastPrice(double lastPrice) {
+        checkNotFrozen();
         this.lastPrice = lastPrice;
     }
 
@@ -172,6 +255,7 @@ public class Wallet implements RecordDetails {
      * @param trend: trend value
      **/
     public void setTrend(double trend) {
+        checkNotFrozen();
         this.trend = trend;
     }
 
@@ -215,6 +299,16 @@ public class Wallet implements RecordDetails {
      * @implNote balance is calculated only when {@link TxNote} has {@code BUY} as status
      **/
     public double getBalance() {
+        if (TxNotesFixedPoint.isEnabled()) {
+            try {
+                long balance = 0;
+                for (TxNote txNote : txNotes)
+                    if (txNote.getStatus().equals(BUY))
+                        balance = TxNotesFixedPoint.add(balance, txNote.getValue());
+                return TxNotesFixedPoint.toDouble(balance);
+            } catch (ArithmeticException ignored) {
+            }
+        }
         double balance = 0;
         for (TxNote txNote : txNotes)
             if (txNote.getStatus().equals(BUY))
@@ -242,6 +336,16 @@ public class Wallet implements RecordDetails {
      * @implNote initial balance is calculated only when {@link TxNote} has {@code BUY} as status
      **/
     public double getInitialBalance() {
+        if (TxNotesFixedPoint.isEnabled()) {
+            try {
+                long initialBalance = 0;
+                for (TxNote txNote : txNotes)
+                    if (txNote.getStatus().equals(BUY))
+                        initialBalance = TxNotesFixedPoint.add(initialBalance, txNote.getInitialBalance());
+                return TxNotesFixedPoint.toDouble(initialBalance);
+            } catch (ArithmeticException ignored) {
+            }
+        }
         double initialBalance = 0;
         for (TxNote txNote : txNotes)
             if (txNote.getStatus().equals(BUY))
@@ -266,9 +370,20 @@ public class Wallet implements RecordDetails {
      * Any params required
      *
      * @return quantity in the wallet as double
-     * @implNote quantity is calculated only when {@link TxNote} has {@code BUY} as status
+     * @implNote quantity is calculated only when {@link TxNote} has {@code BUY} as status, with the
+     * {@link TxNotesFixedPoint} mode the sum is exact and it is not rounded
      **/
     public double getTotalQuantity() {
+        if (TxNotesFixedPoint.isEnabled()) {
+            try {
+                long totalQuantity = 0;
+                for (TxNote txNote : txNotes)
+                    if (txNote.getStatus().equals(BUY))
+                        totalQuantity = TxNotesFixedPoint.add(totalQuantity, txNote.getQuantity());
+                return TxNotesFixedPoint.toDouble(totalQuantity);
+            } catch (ArithmeticException ignored) {
+            }
+        }
         double totalQuantity = 0;
         for (TxNote txNote : txNotes)
             if (txNote.getStatus().equals(BUY))
@@ -295,10 +410,10 @@ public class Wallet implements RecordDetails {
      * @return total income of the wallet as double
      **/
     public double getTotalIncomePercent() {
-        double totalIncomePercent = 0;
+        double totalIncomePercent = archivedIncomePercent;
         int notesSize = txNotes.size();
         if (notesSize == 0)
-            return 0;
+            return totalIncomePercent;
         for (TxNote txNote : txNotes)
             totalIncomePercent += txNote.getIncomePercent();
         return totalIncomePercent;
@@ -337,22 +452,63 @@ public class Wallet implements RecordDetails {
     }
 
     /**
-     * Method to get {@link #txNotes} instance <br>
+     * Method to get {@link #txNotesView} instance <br>
      * Any params required
      *
-     * @return {@link #txNotes} instance as {@link ArrayList} of {@link TxNote}
+     * @return {@link #txNotesView} instance as {@link List} of {@link TxNote}
+     * @implNote the list is read-only and keeps the insertion order, use {@link #addTxNote(TxNote)} and
+     * {@link #removeTxNote(TxNote)} to change it; it is created once after each change of {@link #txNotes}, so a
+     * published wallet creates it only once
+
+     * @apiNote this method returned a modifiable {@link ArrayList} in the previous versions: the return type has
+     * changed, so the callers compiled against those versions must be recompiled, and the ones that changed the
+     * returned list must use {@link #addTxNote(TxNote)}, {@link #removeTxNote(TxNote)} or a copy of the list
      **/
-    public ArrayList<TxNote> getTxNotes() {
-        return txNotes;
+    public List<TxNote> getTxNotes() {
+        List<TxNote> view = txNotesView;
+        if (view == null) {
+            view = Collections.unmodifiableList(new ArrayList<>(txNotes));
+            txNotesView = view;
+        }
+        return view;
+    }
+
+    /**
+     * This method is used to get if a {@link TxNote} is in {@link #txNotes}
+     *
+     * @param txNote: tx note to check
+     * @return whether the tx note is in {@link #txNotes} as boolean
+     **/
+    public boolean containsTxNote(TxNote txNote) {
+        return txNotes.contains(txNote);
     }
 
     /**
      * Method to set {@link #txNotes}
      *
      * @param txNotes: list of {@link TxNote}
+     * @apiNote kept with the {@link ArrayList} signature of the previous versions, so the compiled callers still link
      **/
     public void setTxNotes(ArrayList<TxNote> txNotes) {
-        this.txNotes = txNotes;
+        setTxNotes((Collection<TxNote>) txNotes);
+    }
+
+    /**
+     * Method to set {@link #txNotes}
+     *
+     * @param txNotes: list of {@link TxNote}
+     **/
+    public void setTxNotes(Collection<TxNote> txNotes) {
+        checkNotFrozen();
+        this.txNotes.clear();
+        txNotesView = null;
+        buyDates.clear();
+        sellDates.clear();
+        for (TxNote txNote : txNotes)
+            insertTxNote(txNote);
+        synchronized (costBases) {
+            costBases.clear();
+        }
     }
 
     /**
@@ -361,8 +517,50 @@ public class Wallet implements RecordDetails {
      * @param txNote: tx note to add to {@link #txNotes} list
      **/
     public void addTxNote(TxNote txNote) {
-        if (!txNotes.contains(txNote))
-            txNotes.add(txNote);
+        checkNotFrozen();
+        if (insertTxNote(txNote)) {
+            synchronized (costBases) {
+                costBases.values().removeIf(costBasis -> !costBasis.addTxNote(txNote));
+            }
+        }
+    }
+
+    /**
+     * This method is used to carry the {@link TxNotesCostBasis} already computed by the wallet loaded by a previous
+     * refresh
+     *
+     * @param pastWallet: wallet loaded by the previous refresh, null if not loaded
+     * @implNote the cost bases are copied, so the ones of the past wallet are not changed, and the {@link TxNote} not
+     * held by the past wallet are applied to the copies in order of buy date; when the past wallet holds a
+     * {@link TxNote} removed from this wallet, or a new {@link TxNote} comes before the fills already applied, the
+     * cost basis is not carried and it will be computed again when requested
+     **/
+    public void carryCostBases(Wallet pastWallet) {
+        checkNotFrozen();
+        if (pastWallet == null || pastWallet == this)
+            return;
+        Set<TxNote> pastTxNotes = pastWallet.txNotes;
+        if (pastTxNotes.size() > txNotes.size() || !txNotes.containsAll(pastTxNotes))
+            return;
+        ArrayList<TxNote> newTxNotes = new ArrayList<>();
+        for (TxNote txNote : txNotes)
+            if (!pastTxNotes.contains(txNote))
+                newTxNotes.add(txNote);
+        newTxNotes.sort(Comparator.comparingLong(TxNote::getBuyDateTimestamp));
+        EnumMap<CostBasisMethod, TxNotesCostBasis> pastCostBases;
+        synchronized (pastWallet.costBases) {
+            pastCostBases = new EnumMap<>(pastWallet.costBases);
+        }
+        synchronized (costBases) {
+            for (Map.Entry<CostBasisMethod, TxNotesCostBasis> entry : pastCostBases.entrySet()) {
+                TxNotesCostBasis costBasis = entry.getValue().copy();
+                boolean carried = true;
+                for (int j = 0; j < newTxNotes.size() && carried; j++)
+                    carried = costBasis.addTxNote(newTxNotes.get(j));
+                if (carried)
+                    costBases.putIfAbsent(entry.getKey(), costBasis);
+            }
+        }
     }
 
     /**
@@ -371,7 +569,73 @@ public class Wallet implements RecordDetails {
      * @param txNote: tx note to remove from {@link #txNotes} list
      **/
     public boolean removeTxNote(TxNote txNote) {
-        return txNotes.remove(txNote);
+        checkNotFrozen();
+        boolean removed = txNotes.remove(txNote);
+        if (removed) {
+            txNotesView = null;
+            buyDates.remove(txNote.getBuyDateTimestamp(), txNote);
+            if (txNote.getSellDateTimestamp() != 0)
+                sellDates.remove(txNote.getSellDateTimestamp(), txNote);
+            synchronized (costBases) {
+                costBases.clear();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * This method is used to insert a {@link TxNote} in {@link #txNotes} and in the dates indexes
+     *
+     * @param txNote: tx note to insert
+     * @return whether the tx note has been inserted as boolean, false if it was already in {@link #txNotes}
+     **/
+    private boolean insertTxNote(TxNote txNote) {
+        if (!txNotes.add(txNote))
+            return false;
+        txNotesView = null;
+        buyDates.put(txNote.getBuyDateTimestamp(), txNote);
+        long sellDate = txNote.getSellDateTimestamp();
+        if (sellDate != 0)
+            sellDates.put(sellDate, txNote);
+        return true;
+    }
+
+    /**
+     * This method is used get cost basis of the wallet
+     *
+     * @param method: method used to choose which lots are sold
+     * @return cost basis as {@link TxNotesCostBasis}
+     * @implNote the cost basis is computed once for each method, then it is updated with each {@link TxNote} added
+     **/
+    public TxNotesCostBasis getCostBasis(CostBasisMethod method) {
+        synchronized (costBases) {
+            TxNotesCostBasis costBasis = costBases.get(method);
+            if (costBasis == null) {
+                costBasis = TxNotesCostBasis.fromTxNotes(method, txNotes);
+                costBases.put(method, costBasis);
+            }
+            return costBasis;
+        }
+    }
+
+    /**
+     * This method is used get profit and loss realized by the sells of the wallet
+     *
+     * @param method: method used to choose which lots are sold
+     * @return realized profit and loss as double
+     **/
+    public double getRealizedPnl(CostBasisMethod method) {
+        return getCostBasis(method).getRealizedPnl();
+    }
+
+    /**
+     * This method is used get profit and loss not realized yet of the wallet, valued with {@link #lastPrice}
+     *
+     * @param method: method used to choose which lots are sold
+     * @return unrealized profit and loss as double
+     **/
+    public double getUnrealizedPnl(CostBasisMethod method) {
+        return getCostBasis(method).getUnrealizedPnl(lastPrice);
     }
 
     /**
@@ -384,6 +648,50 @@ public class Wallet implements RecordDetails {
         return txNotes.size();
     }
 
+    /**
+     * This method is used to set the aggregated values of the {@link TxNote} of the wallet archived
+     *
+     * @param archivedTxNotes:       number of tx notes archived
+     * @param archivedIncomePercent: sum of the income percent of the tx notes archived
+     * @implNote archived tx notes are closed sells, so only {@link #getTotalIncomePercent()} includes them, the cost
+     * basis is computed only with the tx notes in {@link #txNotes}
+     **/
+    public void setArchivedTxNotes(int archivedTxNotes, double archivedIncomePercent) {
+        checkNotFrozen();
+        this.archivedTxNotes = archivedTxNotes;
+        this.archivedIncomePercent = archivedIncomePercent;
+    }
+
+    /**
+     * Method to get {@link #archivedTxNotes} instance <br>
+     * Any params required
+     *
+     * @return {@link #archivedTxNotes} instance as int
+     **/
+    public int getArchivedTxNotes() {
+        return archivedTxNotes;
+    }
+
+    /**
+     * Method to get {@link #valueSeries} instance <br>
+     * Any params required
+     *
+     * @return {@link #valueSeries} instance as {@link TxNotesValueSeries}, null if the history is not kept
+     **/
+    public TxNotesValueSeries getValueSeries() {
+        return valueSeries;
+    }
+
+    /**
+     * Method to set {@link #valueSeries} instance
+     *
+     * @param valueSeries: history of the values of the wallet
+     **/
+    public void setValueSeries(TxNotesValueSeries valueSeries) {
+        checkNotFrozen();
+        this.valueSeries = valueSeries;
+    }
+
     /**
      * This method is used to fetch a transaction note from {@link #txNotes}
      *
@@ -392,10 +700,7 @@ public class Wallet implements RecordDetails {
      * @implNote this method search for both status of a transactions, so BUY and SELL
      **/
     public TxNote fetchTxNote(long checkDate) {
-        for (TxNote txNote : txNotes)
-            if (txNote.getBuyDateTimestamp() == checkDate)
-                return txNote;
-        return null;
+        return buyDates.get(checkDate);
     }
 
     /**
@@ -406,7 +711,7 @@ public class Wallet implements RecordDetails {
      * @implNote this method search for both status of a transactions, so BUY and SELL
      **/
     public TxNote fetchTxNote(String checkDate) {
-        return fetchTxNote(getDateTimestamp(checkDate));
+        return fetchTxNote(parseDate(checkDate));
     }
 
     /**
@@ -428,10 +733,9 @@ public class Wallet implements RecordDetails {
      * @implNote this method search only for SELL status of a transactions
      **/
     public TxNote fetchTxNoteSold(long checkDate) {
-        for (TxNote txNote : txNotes)
-            if (txNote.getSellDateTimestamp() == checkDate)
-                return txNote;
-        return null;
+        if (checkDate == 0)
+            return null;
+        return sellDates.get(checkDate);
     }
 
     /**
@@ -442,7 +746,7 @@ public class Wallet implements RecordDetails {
      * @implNote this method search only for SELL status of a transactions
      **/
     public TxNote fetchTxNoteSold(String checkDate) {
-        return fetchTxNoteSold(getDateTimestamp(checkDate));
+        return fetchTxNoteSold(parseDate(checkDate));
     }
 
     /**
@@ -464,10 +768,10 @@ public class Wallet implements RecordDetails {
      * @apiNote this method search only for the buy date of a transaction
      **/
     public boolean deleteTxNote(long removeDate) {
-        for (TxNote txNote : txNotes)
-            if (txNote.getBuyDateTimestamp() == removeDate)
-                return true;
-        return false;
+        TxNote txNote = buyDates.get(removeDate);
+        if (txNote == null)
+            return false;
+        return removeTxNote(txNote);
     }
 
     /**
@@ -478,7 +782,7 @@ public class Wallet implements RecordDetails {
      * @apiNote this method search only for the buy date of a transaction
      **/
     public boolean deleteTxNote(String removeDate) {
-        return deleteTxNote(getDateTimestamp(removeDate));
+        return deleteTxNote(parseDate(removeDate));
     }
 
     /**
@@ -492,6 +796,55 @@ public class Wallet implements RecordDetails {
         return deleteTxNote(removeDate.getTime());
     }
 
+    /**
+     * This method is used to create a copy of the wallet with other {@link TxNote}
+     *
+     * @param txNotes: tx notes to add to the ones of the wallet
+     * @return copy of the wallet as {@link Wallet}, it is not frozen
+     * @implNote the archived values and the {@link #valueSeries} are kept, this wallet is not changed
+     **/
+    public Wallet copyWith(Collection<TxNote> txNotes) {
+        Wallet wallet = new Wallet(index, name, lastPrice, trend, this.txNotes);
+        for (TxNote txNote : txNotes)
+            wallet.insertTxNote(txNote);
+        wallet.archivedTxNotes = archivedTxNotes;
+        wallet.archivedIncomePercent = archivedIncomePercent;
+        wallet.valueSeries = valueSeries;
+        return wallet;
+    }
+
+    /**
+     * This method is used to freeze the wallet when it is published in a {@link TxNotesSnapshot} <br>
+     * Any params required
+     *
+     * @implNote after this call all the methods that change the wallet throw an {@link IllegalStateException}
+     **/
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * This method is used to get if the wallet has been published in a {@link TxNotesSnapshot} <br>
+     * Any params required
+     *
+     * @return whether the wallet cannot be changed anymore as boolean
+     **/
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * This method is used to check that the wallet can be changed <br>
+     * Any params required
+     *
+     * @throws IllegalStateException when the wallet has been published in a {@link TxNotesSnapshot}
+     **/
+    private void checkNotFrozen() {
+        if (frozen)
+            throw new IllegalStateException("Wallet " + index + " has been published and cannot be changed, load a "
+                    + "new one instead");
+    }
+
     /**
      * This method is used to print details of {@link TxNote} object <br>
      * Any params required
@@ -557,9 +910,86 @@ public class Wallet implements RecordDetails {
      * Any params required
      *
      * @return a string representation of the object as {@link String}
+     * @implNote the representation is written by {@link TxNotesJsonStream}
      */
     public String prettyPrint() {
-        return new JSONObject(this).toString();
+        StringWriter writer = new StringWriter();
+        try {
+            TxNotesJsonStream.writeWallet(this, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * The {@code DatesIndex} class defines an index of {@link TxNote} by date
+     *
+     * @implNote the first tx note inserted with a date is the one returned, the other ones with the same date are
+     * memorized apart to take its place when it is removed, so no operation scans {@link #txNotes}
+     **/
+    private static class DatesIndex {
+
+        /**
+         * {@code firstTxNotes} is instance that memorizes first {@link TxNote} inserted with each date as key
+         **/
+        private final HashMap<Long, TxNote> firstTxNotes = new HashMap<>();
+
+        /**
+         * {@code otherTxNotes} is instance that memorizes the other {@link TxNote} inserted with each date as key
+         **/
+        private final HashMap<Long, ArrayDeque<TxNote>> otherTxNotes = new HashMap<>();
+
+        /**
+         * This method is used to insert a {@link TxNote} in the index
+         *
+         * @param date:   date of the tx note
+         * @param txNote: tx note to insert
+         **/
+        private void put(long date, TxNote txNote) {
+            if (firstTxNotes.putIfAbsent(date, txNote) != null)
+                otherTxNotes.computeIfAbsent(date, key -> new ArrayDeque<>()).add(txNote);
+        }
+
+        /**
+         * This method is used to get the {@link TxNote} with a date
+         *
+         * @param date: date of the tx note
+         * @return tx note as {@link TxNote}, null if not found
+         **/
+        private TxNote get(long date) {
+            return firstTxNotes.get(date);
+        }
+
+        /**
+         * This method is used to remove a {@link TxNote} from the index
+         *
+         * @param date:   date of the tx note
+         * @param txNote: tx note to remove
+         * @implNote when another tx note has the same date it takes the place of the removed one
+         **/
+        private void remove(long date, TxNote txNote) {
+            ArrayDeque<TxNote> others = otherTxNotes.get(date);
+            if (firstTxNotes.get(date) == txNote) {
+                if (others == null)
+                    firstTxNotes.remove(date);
+                else
+                    firstTxNotes.put(date, others.poll());
+            } else if (others != null)
+                others.remove(txNote);
+            if (others != null && others.isEmpty())
+                otherTxNotes.remove(date);
+        }
+
+        /**
+         * This method is used to clear the index <br>
+         * Any params required
+         **/
+        private void clear() {
+            firstTxNotes.clear();
+            otherTxNotes.clear();
+        }
+
     }
 
 }